@@ -0,0 +1,265 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * {@link Pageable} to page through results by seeking past the values of the sort properties of the last element seen
+ * (keyset or seek pagination) instead of skipping a number of rows. Thus the database doesn't have to read and discard
+ * all the rows of the previous pages. The {@link Sort} has to be defined on non-{@literal null} properties and will
+ * be completed with the identifier properties of the entity to make the order unique.
+ * <p>
+ * The request for the first page doesn't carry any keyset. The request for the following page is obtained from the
+ * {@link KeysetSlice} returned for the current one, hence only forward navigation is supported. Navigating backwards
+ * returns the request for the first page.
+ * 
+ * @author agent
+ * @since 1.9
+ */
+public class KeysetPageRequest implements Pageable, Serializable {
+
+	private static final long serialVersionUID = -3268733405069218613L;
+
+	private final int page;
+	private final int size;
+	private final Sort sort;
+	private final Map<String, Object> keyset;
+
+	/**
+	 * Creates a new {@link KeysetPageRequest} for the first page of the given size and {@link Sort}.
+	 * 
+	 * @param size must be greater than zero.
+	 * @param sort must not be {@literal null}.
+	 */
+	public KeysetPageRequest(int size, Sort sort) {
+		this(0, size, sort, Collections.<String, Object> emptyMap());
+	}
+
+	/**
+	 * Creates a new {@link KeysetPageRequest} for the page following the element with the given values of the sort
+	 * properties.
+	 * 
+	 * @param page the zero-based number of the page, must not be negative.
+	 * @param size must be greater than zero.
+	 * @param sort must not be {@literal null}.
+	 * @param keyset the values of the sort properties of the last element seen keyed by property, must not be
+	 *          {@literal null} or contain {@literal null} values. An empty {@link Map} indicates the first page.
+	 */
+	public KeysetPageRequest(int page, int size, Sort sort, Map<String, ?> keyset) {
+
+		Assert.isTrue(page >= 0, "Page index must not be less than zero!");
+		Assert.isTrue(size > 0, "Page size must be greater than zero!");
+		Assert.notNull(sort, "Sort must not be null!");
+		Assert.notNull(keyset, "Keyset must not be null!");
+
+		for (Map.Entry<String, ?> entry : keyset.entrySet()) {
+			Assert.notNull(entry.getValue(), String.format(
+					"Keyset value for property %s must not be null! Keyset pagination requires non-null sort properties.",
+					entry.getKey()));
+		}
+
+		this.page = page;
+		this.size = size;
+		this.sort = sort;
+		this.keyset = Collections.unmodifiableMap(new LinkedHashMap<String, Object>(keyset));
+	}
+
+	/**
+	 * Returns the values of the sort properties of the last element seen keyed by property.
+	 * 
+	 * @return will never be {@literal null}.
+	 */
+	public Map<String, Object> getKeyset() {
+		return keyset;
+	}
+
+	/**
+	 * Returns whether the request carries a keyset, i.e. whether it's not the request for the first page.
+	 * 
+	 * @return
+	 */
+	public boolean hasKeyset() {
+		return !keyset.isEmpty();
+	}
+
+	/**
+	 * Returns a {@link KeysetPageRequest} whose {@link Sort} is completed with ascending orders for the given properties
+	 * that are not already sorted by. Used to make the order unique using the identifier properties of an entity.
+	 * 
+	 * @param properties must not be {@literal null}.
+	 * @return
+	 */
+	public KeysetPageRequest withTiebreaker(Iterable<String> properties) {
+
+		Assert.notNull(properties, "Properties must not be null!");
+
+		List<Order> orders = new ArrayList<Order>();
+
+		for (String property : properties) {
+			if (sort.getOrderFor(property) == null) {
+				orders.add(new Order(Direction.ASC, property));
+			}
+		}
+
+		return orders.isEmpty() ? this : new KeysetPageRequest(page, size, sort.and(new Sort(orders)), keyset);
+	}
+
+	/**
+	 * Returns the {@link KeysetPageRequest} for the page following the element with the given values of the sort
+	 * properties.
+	 * 
+	 * @param keyset must not be {@literal null} or empty.
+	 * @return
+	 */
+	public KeysetPageRequest next(Map<String, ?> keyset) {
+
+		Assert.notEmpty(keyset, "Keyset must not be null or empty!");
+		return new KeysetPageRequest(page + 1, size, sort, keyset);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.Pageable#getPageNumber()
+	 */
+	public int getPageNumber() {
+		return page;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.Pageable#getPageSize()
+	 */
+	public int getPageSize() {
+		return size;
+	}
+
+	/**
+	 * Returns the logical offset of the page. Queries don't skip any rows for {@link KeysetPageRequest}s but restrict
+	 * the results using the keyset instead.
+	 * 
+	 * @see org.springframework.data.domain.Pageable#getOffset()
+	 */
+	public int getOffset() {
+		return page * size;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.Pageable#getSort()
+	 */
+	public Sort getSort() {
+		return sort;
+	}
+
+	/**
+	 * Not supported as the keyset for the next page can only be obtained from the content of the current one. Use
+	 * {@link KeysetSlice#nextPageable()} or {@link #next(Map)} to continue seeking through the results.
+	 * 
+	 * @throws UnsupportedOperationException always.
+	 * @see org.springframework.data.domain.Pageable#next()
+	 */
+	public Pageable next() {
+		throw new UnsupportedOperationException(
+				"The next keyset page request has to be obtained from KeysetSlice.nextPageable() or next(Map)!");
+	}
+
+	/**
+	 * Returns the request for the first page as keyset pagination can't navigate backwards, no matter which page the
+	 * current one is.
+	 * 
+	 * @see org.springframework.data.domain.Pageable#previousOrFirst()
+	 */
+	public Pageable previousOrFirst() {
+		return first();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.Pageable#first()
+	 */
+	public Pageable first() {
+		return new KeysetPageRequest(size, sort);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.Pageable#hasPrevious()
+	 */
+	public boolean hasPrevious() {
+		return page > 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+
+		if (this == obj) {
+			return true;
+		}
+
+		if (!(obj instanceof KeysetPageRequest)) {
+			return false;
+		}
+
+		KeysetPageRequest that = (KeysetPageRequest) obj;
+
+		return this.page == that.page && this.size == that.size && this.sort.equals(that.sort)
+				&& this.keyset.equals(that.keyset);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+
+		int result = 17;
+
+		result += 31 * page;
+		result += 31 * size;
+		result += 31 * sort.hashCode();
+		result += 31 * keyset.hashCode();
+
+		return result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("Keyset page request [number: %d, size %d, sort: %s, keyset: %s]", page, size, sort,
+				ObjectUtils.nullSafeToString(keyset));
+	}
+}
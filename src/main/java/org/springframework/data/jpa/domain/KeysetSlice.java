@@ -0,0 +1,78 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.data.util.DirectFieldAccessFallbackBeanWrapper;
+
+/**
+ * {@link Slice} obtained for a {@link KeysetPageRequest} that carries the request for the next page, i.e. the values
+ * of the sort properties of its last element.
+ * 
+ * @author agent
+ * @since 1.9
+ */
+public class KeysetSlice<T> extends SliceImpl<T> {
+
+	private static final long serialVersionUID = 4583429346406713846L;
+
+	private final KeysetPageRequest next;
+
+	/**
+	 * Creates a new {@link KeysetSlice} for the given content and {@link KeysetPageRequest}. The request is expected to
+	 * carry the unique {@link org.springframework.data.domain.Sort} the content was read with.
+	 * 
+	 * @param content must not be {@literal null}.
+	 * @param pageable must not be {@literal null}.
+	 * @param hasNext whether there's a next page.
+	 */
+	public KeysetSlice(List<T> content, KeysetPageRequest pageable, boolean hasNext) {
+
+		super(content, pageable, hasNext);
+
+		this.next = hasNext && !content.isEmpty() ? pageable.next(getKeyset(content.get(content.size() - 1), pageable))
+				: null;
+	}
+
+	/**
+	 * Returns the {@link KeysetPageRequest} for the next page or {@literal null} if the current one is the last one.
+	 * 
+	 * @see org.springframework.data.domain.SliceImpl#nextPageable()
+	 */
+	@Override
+	public KeysetPageRequest nextPageable() {
+		return next;
+	}
+
+	private static Map<String, Object> getKeyset(Object element, KeysetPageRequest pageable) {
+
+		BeanWrapper wrapper = new DirectFieldAccessFallbackBeanWrapper(element);
+		Map<String, Object> keyset = new LinkedHashMap<String, Object>();
+
+		for (Order order : pageable.getSort()) {
+			keyset.put(order.getProperty(), wrapper.getPropertyValue(order.getProperty()));
+		}
+
+		return keyset;
+	}
+}
@@ -18,17 +18,27 @@ package org.springframework.data.jpa.provider;
 import static org.springframework.data.jpa.provider.JpaClassUtils.*;
 import static org.springframework.data.jpa.provider.PersistenceProvider.Constants.*;
 
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.OptimisticLockException;
+import javax.persistence.PersistenceException;
 import javax.persistence.Query;
 import javax.persistence.metamodel.Metamodel;
 
 import org.apache.openjpa.enhance.PersistenceCapable;
+import org.apache.openjpa.persistence.OpenJPAEntityManager;
 import org.apache.openjpa.persistence.OpenJPAPersistence;
 import org.apache.openjpa.persistence.OpenJPAQuery;
 import org.apache.openjpa.persistence.jdbc.FetchDirection;
@@ -37,15 +47,20 @@ import org.apache.openjpa.persistence.jdbc.LRSSizeAlgorithm;
 import org.apache.openjpa.persistence.jdbc.ResultSetType;
 import org.eclipse.persistence.jpa.JpaQuery;
 import org.eclipse.persistence.queries.ScrollableCursor;
+import org.hibernate.HibernateException;
 import org.hibernate.ScrollMode;
 import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.StaleObjectStateException;
 import org.hibernate.ejb.HibernateQuery;
 import org.hibernate.proxy.HibernateProxy;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.DirectFieldAccessor;
 import org.springframework.data.util.CloseableIterator;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * Enumeration representing persistence providers to be used.
@@ -118,6 +133,198 @@ public enum PersistenceProvider implements QueryExtractor, ProxyIdAccessor {
 		public CloseableIterator<Object> executeQueryWithResultStream(Query jpaQuery) {
 			return new HibernateScrollableResultsIterator<Object>(jpaQuery);
 		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.provider.PersistenceProvider#getJdbcBatchSizePropertyName()
+		 */
+		@Override
+		String getJdbcBatchSizePropertyName() {
+			return "hibernate.jdbc.batch_size";
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.provider.PersistenceProvider#getReadOnlyHintName()
+		 */
+		@Override
+		String getReadOnlyHintName() {
+			return "org.hibernate.readOnly";
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.provider.PersistenceProvider#getFetchSizeHintName()
+		 */
+		@Override
+		String getFetchSizeHintName() {
+			return "org.hibernate.fetchSize";
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.provider.PersistenceProvider#setReadOnly(javax.persistence.EntityManager)
+		 */
+		@Override
+		public void setReadOnly(EntityManager em) {
+			em.unwrap(Session.class).setDefaultReadOnly(true);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.provider.PersistenceProvider#renderCriteriaQuery(javax.persistence.Query)
+		 */
+		@Override
+		public String renderCriteriaQuery(Query query) {
+
+			try {
+				return query.unwrap(org.hibernate.Query.class).getQueryString();
+			} catch (PersistenceException o_O) {
+				return null;
+			}
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.provider.PersistenceProvider#createOptimisticLockException(java.lang.Class, java.lang.Object, java.lang.Object)
+		 */
+		@Override
+		public OptimisticLockException createOptimisticLockException(Class<?> type, Object id, Object entity) {
+
+			StaleObjectStateException cause = new StaleObjectStateException(type.getName(),
+					id instanceof Serializable ? (Serializable) id : null);
+			return new OptimisticLockException(cause.getMessage(), cause, entity);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.provider.PersistenceProvider#getManagedEntities(javax.persistence.EntityManager, java.lang.Class, java.util.Collection)
+		 */
+		@Override
+		public <T> Map<Object, T> getManagedEntities(EntityManager em, Class<T> type, Collection<?> ids) {
+
+			// The SPI types moved packages between Hibernate 3.6 and 4, so we access them reflectively
+			Session session = em.unwrap(Session.class);
+			Object factory = invoke(session, "getFactory");
+			Object persister;
+
+			try {
+				persister = invoke(factory, "getEntityPersister", type.getName());
+			} catch (HibernateException o_O) {
+				return null;
+			}
+
+			Object persistenceContext = invoke(session, "getPersistenceContext");
+			Map<Object, T> result = new HashMap<Object, T>();
+
+			for (Object id : ids) {
+
+				if (!(id instanceof Serializable)) {
+					continue;
+				}
+
+				Object entity = invoke(persistenceContext, "getEntity", createEntityKey(session, (Serializable) id, persister));
+
+				if (!type.isInstance(entity)) {
+					continue;
+				}
+
+				Object entry = invoke(persistenceContext, "getEntry", entity);
+				String status = entry == null ? null : String.valueOf(invoke(entry, "getStatus"));
+
+				if (entry != null && !"DELETED".equals(status) && !"GONE".equals(status)) {
+					result.put(id, type.cast(entity));
+				}
+			}
+
+			return result;
+		}
+
+		/**
+		 * Creates the {@code EntityKey} for the given identifier and {@code EntityPersister}. Hibernate 4 creates keys
+		 * through the session, Hibernate 3.6 requires the entity mode to be given.
+		 * 
+		 * @param session must not be {@literal null}.
+		 * @param id must not be {@literal null}.
+		 * @param persister must not be {@literal null}.
+		 * @return
+		 */
+		private Object createEntityKey(Session session, Serializable id, Object persister) {
+
+			Method generateEntityKey = findMethod(session.getClass(), "generateEntityKey", id, persister);
+
+			if (generateEntityKey != null) {
+				return ReflectionUtils.invokeMethod(generateEntityKey, session, id, persister);
+			}
+
+			try {
+
+				Class<?> entityKeyType = ClassUtils.forName("org.hibernate.engine.EntityKey",
+						PersistenceProvider.class.getClassLoader());
+				Constructor<?> constructor = null;
+
+				for (Constructor<?> candidate : entityKeyType.getConstructors()) {
+					if (candidate.getParameterTypes().length == 3) {
+						constructor = candidate;
+					}
+				}
+
+				return BeanUtils.instantiateClass(constructor, id, persister, invoke(session, "getEntityMode"));
+
+			} catch (ClassNotFoundException o_O) {
+				throw new IllegalStateException("Unsupported Hibernate version!", o_O);
+			}
+		}
+
+		private Object invoke(Object target, String methodName, Object... arguments) {
+
+			Method method = findMethod(target.getClass(), methodName, arguments);
+
+			if (method == null) {
+				throw new IllegalStateException(String.format("Unsupported Hibernate version, %s.%s(…) not found!", target
+						.getClass().getName(), methodName));
+			}
+
+			ReflectionUtils.makeAccessible(method);
+
+			try {
+				return method.invoke(target, arguments);
+			} catch (InvocationTargetException o_O) {
+
+				if (o_O.getTargetException() instanceof RuntimeException) {
+					throw (RuntimeException) o_O.getTargetException();
+				}
+
+				throw new IllegalStateException(o_O.getTargetException());
+
+			} catch (IllegalAccessException o_O) {
+				throw new IllegalStateException(o_O);
+			}
+		}
+
+		private Method findMethod(Class<?> type, String methodName, Object... arguments) {
+
+			for (Method method : ReflectionUtils.getAllDeclaredMethods(type)) {
+
+				Class<?>[] parameterTypes = method.getParameterTypes();
+
+				if (!method.getName().equals(methodName) || parameterTypes.length != arguments.length || method.isBridge()) {
+					continue;
+				}
+
+				boolean matches = true;
+
+				for (int i = 0; i < parameterTypes.length; i++) {
+					matches &= ClassUtils.isAssignableValue(parameterTypes[i], arguments[i]);
+				}
+
+				if (matches) {
+					return method;
+				}
+			}
+
+			return null;
+		}
 	},
 
 	/**
@@ -164,6 +371,33 @@ public enum PersistenceProvider implements QueryExtractor, ProxyIdAccessor {
 		public CloseableIterator<Object> executeQueryWithResultStream(Query jpaQuery) {
 			return new EclipseLinkScrollableResultsIterator<Object>(jpaQuery);
 		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.provider.PersistenceProvider#getJdbcBatchSizePropertyName()
+		 */
+		@Override
+		String getJdbcBatchSizePropertyName() {
+			return "eclipselink.jdbc.batch-writing.size";
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.provider.PersistenceProvider#getReadOnlyHintName()
+		 */
+		@Override
+		String getReadOnlyHintName() {
+			return "eclipselink.read-only";
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.provider.PersistenceProvider#getFetchSizeHintName()
+		 */
+		@Override
+		String getFetchSizeHintName() {
+			return "eclipselink.jdbc.fetch-size";
+		}
 	},
 
 	/**
@@ -202,6 +436,37 @@ public enum PersistenceProvider implements QueryExtractor, ProxyIdAccessor {
 		public CloseableIterator<Object> executeQueryWithResultStream(Query jpaQuery) {
 			return new OpenJpaResultStreamingIterator<Object>(jpaQuery);
 		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.provider.PersistenceProvider#getFetchSizeHintName()
+		 */
+		@Override
+		String getFetchSizeHintName() {
+			return "openjpa.FetchPlan.FetchBatchSize";
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.provider.PersistenceProvider#getManagedEntities(javax.persistence.EntityManager, java.lang.Class, java.util.Collection)
+		 */
+		@Override
+		public <T> Map<Object, T> getManagedEntities(EntityManager em, Class<T> type, Collection<?> ids) {
+
+			OpenJPAEntityManager openJpaEntityManager = OpenJPAPersistence.cast(em);
+			Map<Object, T> result = new HashMap<Object, T>();
+
+			for (Object id : ids) {
+
+				T entity = openJpaEntityManager.findCached(type, id);
+
+				if (entity != null && !openJpaEntityManager.isRemoved(entity)) {
+					result.put(id, entity);
+				}
+			}
+
+			return result;
+		}
 	},
 
 	/**
@@ -354,6 +619,174 @@ public enum PersistenceProvider implements QueryExtractor, ProxyIdAccessor {
 				+ name());
 	}
 
+	/**
+	 * Returns the JDBC batch size configured for the persistence unit backing the given {@link EntityManager}. Falls
+	 * back to the given default if the {@link PersistenceProvider} does not expose such a setting or no valid value is
+	 * configured.
+	 * 
+	 * @param em must not be {@literal null}.
+	 * @param defaultBatchSize the batch size to use if none is configured.
+	 * @return
+	 * @since 1.9
+	 */
+	public int getJdbcBatchSize(EntityManager em, int defaultBatchSize) {
+
+		Assert.notNull(em, "EntityManager must not be null!");
+
+		String propertyName = getJdbcBatchSizePropertyName();
+		EntityManagerFactory factory = propertyName == null ? null : em.getEntityManagerFactory();
+
+		if (factory == null) {
+			return defaultBatchSize;
+		}
+
+		Object value = factory.getProperties().get(propertyName);
+
+		if (value == null) {
+			return defaultBatchSize;
+		}
+
+		try {
+
+			int batchSize = value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString()
+					.trim());
+			return batchSize > 0 ? batchSize : defaultBatchSize;
+
+		} catch (NumberFormatException o_O) {
+			return defaultBatchSize;
+		}
+	}
+
+	/**
+	 * Returns the query hints to load the entities returned by a query read-only, i.e. without the persistence provider
+	 * keeping snapshots of their state to detect modifications on flush. Modifications of entities loaded that way are
+	 * not written to the database. Returns an empty {@link Map} if the {@link PersistenceProvider} doesn't support
+	 * read-only queries.
+	 * 
+	 * @return will never be {@literal null}.
+	 * @since 1.9
+	 */
+	public Map<String, Object> getReadOnlyHints() {
+
+		String hintName = getReadOnlyHintName();
+
+		return hintName == null ? Collections.<String, Object> emptyMap() : Collections.<String, Object> singletonMap(
+				hintName, "true");
+	}
+
+	/**
+	 * Makes the given {@link EntityManager} load all entities read-only, as if the read-only hints returned by
+	 * {@link #getReadOnlyHints()} were applied to each of its queries. The default implementation sets the hints as
+	 * properties of the {@link EntityManager}.
+	 * 
+	 * @param em must not be {@literal null}.
+	 * @since 1.9
+	 */
+	public void setReadOnly(EntityManager em) {
+
+		Assert.notNull(em, "EntityManager must not be null!");
+
+		for (Map.Entry<String, Object> hint : getReadOnlyHints().entrySet()) {
+			em.setProperty(hint.getKey(), hint.getValue());
+		}
+	}
+
+	/**
+	 * Returns the query hints to make the JDBC driver fetch the given number of rows per round trip when reading the
+	 * results of a query. Returns an empty {@link Map} if the {@link PersistenceProvider} doesn't support configuring
+	 * the fetch size per query.
+	 * 
+	 * @param fetchSize must be greater than zero.
+	 * @return will never be {@literal null}.
+	 * @since 1.9
+	 */
+	public Map<String, Object> getFetchSizeHints(int fetchSize) {
+
+		Assert.isTrue(fetchSize > 0, "Fetch size must be greater than zero!");
+
+		String hintName = getFetchSizeHintName();
+
+		return hintName == null ? Collections.<String, Object> emptyMap() : Collections.<String, Object> singletonMap(
+				hintName, fetchSize);
+	}
+
+	/**
+	 * Returns the entities of the given type with one of the given identifiers that are already managed by the given
+	 * {@link EntityManager}, keyed by their identifier. Implementations must not hit the database to find out. The
+	 * default implementation returns {@literal null} as plain JPA doesn't allow to inspect the persistence context.
+	 * 
+	 * @param em must not be {@literal null}.
+	 * @param type must not be {@literal null}.
+	 * @param ids must not be {@literal null}.
+	 * @return the managed entities or {@literal null} if the {@link PersistenceProvider} can't inspect the persistence
+	 *         context.
+	 * @since 1.9
+	 */
+	public <T> Map<Object, T> getManagedEntities(EntityManager em, Class<T> type, Collection<?> ids) {
+		return null;
+	}
+
+	/**
+	 * Creates the exception to signal that the given entity couldn't be written as the row with its identifier and
+	 * version was updated or deleted concurrently. Mirrors the exception the {@link PersistenceProvider} raises when
+	 * merging or flushing a stale entity, so that it gets translated the same way.
+	 * 
+	 * @param type must not be {@literal null}.
+	 * @param id the identifier of the entity.
+	 * @param entity must not be {@literal null}.
+	 * @return
+	 * @since 1.9
+	 */
+	public OptimisticLockException createOptimisticLockException(Class<?> type, Object id, Object entity) {
+		return new OptimisticLockException(String.format(
+				"Row was updated or deleted by another transaction (or unsaved-value mapping was incorrect): [%s#%s]",
+				type.getName(), id), null, entity);
+	}
+
+	/**
+	 * Returns the JPQL the persistence provider rendered the given {@link Query} created from a
+	 * {@link javax.persistence.criteria.CriteriaQuery} into or {@literal null} if the {@link PersistenceProvider}
+	 * doesn't translate criteria queries into JPQL or doesn't expose it. Parameters named in the
+	 * {@link javax.persistence.criteria.CriteriaQuery} have to be rendered as named parameters of the same name.
+	 * 
+	 * @param query must not be {@literal null}.
+	 * @return the JPQL or {@literal null} if the query can't be rendered.
+	 * @since 1.9
+	 */
+	public String renderCriteriaQuery(Query query) {
+		return null;
+	}
+
+	/**
+	 * Returns the name of the persistence unit property the JDBC batch size is configured with or {@literal null} if the
+	 * {@link PersistenceProvider} doesn't support one.
+	 * 
+	 * @return
+	 */
+	String getJdbcBatchSizePropertyName() {
+		return null;
+	}
+
+	/**
+	 * Returns the name of the query hint to load entities read-only or {@literal null} if the {@link PersistenceProvider}
+	 * doesn't support one.
+	 * 
+	 * @return
+	 */
+	String getReadOnlyHintName() {
+		return null;
+	}
+
+	/**
+	 * Returns the name of the query hint to configure the JDBC fetch size with or {@literal null} if the
+	 * {@link PersistenceProvider} doesn't support one.
+	 * 
+	 * @return
+	 */
+	String getFetchSizeHintName() {
+		return null;
+	}
+
 	/**
 	 * {@link CloseableIterator} for Hibernate.
 	 * 
@@ -509,6 +942,9 @@ public enum PersistenceProvider implements QueryExtractor, ProxyIdAccessor {
 	 */
 	private static class OpenJpaResultStreamingIterator<T> implements CloseableIterator<T> {
 
+		// Used unless a fetch size was configured for the query or the persistence unit
+		private static final int DEFAULT_FETCH_SIZE = 20;
+
 		private final Iterator<T> iterator;
 
 		/**
@@ -522,7 +958,11 @@ public enum PersistenceProvider implements QueryExtractor, ProxyIdAccessor {
 			OpenJPAQuery kq = OpenJPAPersistence.cast(jpaQuery);
 
 			JDBCFetchPlan fetch = (JDBCFetchPlan) kq.getFetchPlan();
-			fetch.setFetchBatchSize(20);
+
+			if (fetch.getFetchBatchSize() <= 0) {
+				fetch.setFetchBatchSize(DEFAULT_FETCH_SIZE);
+			}
+
 			fetch.setResultSetType(ResultSetType.SCROLL_SENSITIVE);
 			fetch.setFetchDirection(FetchDirection.FORWARD);
 			fetch.setLRSSizeAlgorithm(LRSSizeAlgorithm.LAST);
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Annotation to cache the results of a query method keyed by the arguments of the invocation. It will be evaluated
+ * when using {@link Query} on a query method or if you derive the query from the method name. Only methods returning a
+ * collection or a single result are cached. Results are cached and returned as detached copies, which requires
+ * entities to consist of basic attributes exclusively, and are only served and cached outside of transactions and
+ * within read-only ones. The results cached are invalidated whenever a repository using the same
+ * {@link javax.persistence.EntityManagerFactory} writes entities of the domain type.
+ * 
+ * @author agent
+ * @since 1.9
+ */
+@Target({ ElementType.METHOD, ElementType.ANNOTATION_TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CachedQuery {
+
+	/**
+	 * The time the results are cached for.
+	 * 
+	 * @return
+	 */
+	long timeToLive() default 60;
+
+	/**
+	 * The {@link TimeUnit} of {@link #timeToLive()}.
+	 * 
+	 * @return
+	 */
+	TimeUnit unit() default TimeUnit.SECONDS;
+
+	/**
+	 * The maximum number of results, i.e. distinct argument combinations, to cache.
+	 * 
+	 * @return
+	 */
+	int maximumSize() default 1000;
+}
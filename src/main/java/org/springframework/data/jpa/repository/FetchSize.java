@@ -0,0 +1,45 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation to configure the number of rows the JDBC driver shall fetch per round trip when reading the results of a
+ * query method. It will be evaluated when using {@link Query} on a query method or if you derive the query from the
+ * method name and takes precedence over the fetch size configured for the repository. Query hints declared via
+ * {@link QueryHints} can still override it.
+ * 
+ * @author agent
+ * @since 1.9
+ * @see org.springframework.data.jpa.provider.PersistenceProvider#getFetchSizeHints(int)
+ */
+@Target({ ElementType.METHOD, ElementType.ANNOTATION_TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface FetchSize {
+
+	/**
+	 * The number of rows to fetch per round trip. Must be greater than zero.
+	 * 
+	 * @return
+	 */
+	int value();
+}
@@ -50,12 +50,52 @@ public interface JpaRepository<T, ID extends Serializable> extends PagingAndSort
 	 */
 	List<T> findAll(Iterable<ID> ids);
 
+	/**
+	 * Returns all instances of the type with the given ids in the order of the given ids. Entities already managed by
+	 * the current persistence context are returned without querying the database, the remaining ones are loaded in
+	 * chunks. Requires the identifier type to properly implement {@link Object#equals(Object)} and
+	 * {@link Object#hashCode()}.
+	 * 
+	 * @param ids must not be {@literal null}.
+	 * @param includeMissing whether to add {@literal null} for identifiers no entity can be found for instead of skipping
+	 *          them.
+	 * @return the entities found in the order of the given ids.
+	 * @since 1.9
+	 */
+	List<T> findAllInOrder(Iterable<ID> ids, boolean includeMissing);
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.repository.CrudRepository#save(java.lang.Iterable)
 	 */
 	<S extends T> List<S> save(Iterable<S> entities);
 
+	/**
+	 * Saves all given entities flushing and clearing the underlying {@link EntityManager} after each chunk of entities
+	 * of the repository's configured batch size. Returns the identifiers of the saved entities instead of the entities
+	 * themselves so that memory consumption stays flat regardless of the number of entities given. Note, that all
+	 * entities managed by the {@link EntityManager} will be detached after the call.
+	 * 
+	 * @param entities must not be {@literal null}.
+	 * @return the identifiers of the saved entities in the order of the given entities.
+	 * @since 1.9
+	 */
+	<S extends T> List<ID> saveInBatch(Iterable<S> entities);
+
+	/**
+	 * Saves all given entities flushing and clearing the underlying {@link EntityManager} after each chunk of
+	 * {@code batchSize} entities. Returns the identifiers of the saved entities instead of the entities themselves so
+	 * that memory consumption stays flat regardless of the number of entities given. Note, that all entities managed by
+	 * the {@link EntityManager} will be detached after the call.
+	 * 
+	 * @param entities must not be {@literal null}.
+	 * @param batchSize the number of entities to save before flushing and clearing the {@link EntityManager}, must be
+	 *          greater than zero.
+	 * @return the identifiers of the saved entities in the order of the given entities.
+	 * @since 1.9
+	 */
+	<S extends T> List<ID> saveInBatch(Iterable<S> entities, int batchSize);
+
 	/**
 	 * Flushes all pending changes to the database.
 	 */
@@ -16,11 +16,18 @@
 package org.springframework.data.jpa.repository;
 
 import java.util.List;
+import java.util.Map;
+
+import javax.persistence.Tuple;
+import javax.persistence.metamodel.SingularAttribute;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.KeysetPageRequest;
+import org.springframework.data.jpa.domain.KeysetSlice;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.util.CloseableIterator;
 
 /**
  * Interface to allow execution of {@link Specification}s based on the JPA criteria API.
@@ -63,6 +70,106 @@ public interface JpaSpecificationExecutor<T> {
 	 */
 	List<T> findAll(Specification<T> spec, Sort sort);
 
+	/**
+	 * Returns a {@link KeysetSlice} of entities matching the given {@link Specification} following the keyset of the
+	 * given {@link KeysetPageRequest}. The slice carries the request for the next slice.
+	 * 
+	 * @param spec
+	 * @param pageable must not be {@literal null}.
+	 * @return
+	 * @since 1.9
+	 */
+	KeysetSlice<T> findAll(Specification<T> spec, KeysetPageRequest pageable);
+
+	/**
+	 * Returns projections of all entities matching the given {@link Specification} in the order of the given
+	 * {@link Sort}. Only the properties backing the projection are selected, so neither entities are instantiated nor
+	 * registered with the persistence context. The projection type can either be an interface declaring accessor
+	 * methods for the properties to select or a class with a constructor annotated with
+	 * {@link java.beans.ConstructorProperties} listing them. Nested properties can be referred to using dots, e.g.
+	 * {@code address.city}.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @param projectionType must not be {@literal null}.
+	 * @param sort can be {@literal null}.
+	 * @return
+	 * @since 1.9
+	 */
+	<P> List<P> findAll(Specification<T> spec, Class<P> projectionType, Sort sort);
+
+	/**
+	 * Returns a {@link Page} of projections of the entities matching the given {@link Specification}.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @param projectionType must not be {@literal null}.
+	 * @param pageable can be {@literal null}.
+	 * @return
+	 * @see #findAll(Specification, Class, Sort)
+	 * @since 1.9
+	 */
+	<P> Page<P> findAll(Specification<T> spec, Class<P> projectionType, Pageable pageable);
+
+	/**
+	 * Returns {@link Tuple}s of the values of the given attributes of all entities matching the given
+	 * {@link Specification} in the order of the given {@link Sort}. The values are accessible by the attribute names as
+	 * aliases.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @param sort can be {@literal null}.
+	 * @param attributes must not be {@literal null} or empty.
+	 * @return
+	 * @since 1.9
+	 */
+	List<Tuple> findAll(Specification<T> spec, Sort sort, SingularAttribute<? super T, ?>... attributes);
+
+	/**
+	 * Returns a {@link CloseableIterator} over all entities matching the given {@link Specification} in the order of the
+	 * given {@link Sort} reading the results from the database as they're consumed. To keep the size of the persistence
+	 * context bounded, it's flushed and cleared periodically, which detaches the entities handed out, the ones loaded
+	 * along with them and all others managed by it, so later changes applied to them won't be persisted. The iterator
+	 * has to be consumed and closed within the surrounding transaction.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @param sort can be {@literal null}.
+	 * @return
+	 * @since 1.9
+	 */
+	CloseableIterator<T> stream(Specification<T> spec, Sort sort);
+
+	/**
+	 * Applies the given assignments to all entities matching the given {@link Specification} using a single bulk update
+	 * statement if the persistence provider supports JPA 2.1 {@code CriteriaUpdate}s. Otherwise the matching entities
+	 * are loaded and updated one by one. The version attribute of versioned entities is incremented unless it is
+	 * assigned explicitly. As a bulk update bypasses the persistence context, managed entities won't reflect the changes
+	 * unless it is cleared. For bulk updates the {@link Specification} is handed a throw-away
+	 * {@link javax.persistence.criteria.CriteriaQuery}, so modifications of it, e.g. making it distinct, are ignored.
+	 * 
+	 * @param spec can be {@literal null} to update all entities.
+	 * @param assignments the new values keyed by attribute name, must not be {@literal null} or empty.
+	 * @param clear whether to clear the persistence context and evict the domain type from the second level cache
+	 *          afterwards.
+	 * @return the number of entities updated.
+	 * @since 1.9
+	 */
+	int update(Specification<T> spec, Map<String, ?> assignments, boolean clear);
+
+	/**
+	 * Deletes all entities matching the given {@link Specification}. If the persistence provider supports JPA 2.1
+	 * {@code CriteriaDelete}s and the entity neither cascades removals, maps collections nor declares removal callbacks,
+	 * the entities are removed using a single bulk delete statement bypassing the persistence context, which is flushed
+	 * before and cleared afterwards. Otherwise the identifiers (or the entities themselves for composite identifiers) of
+	 * the matching entities are read in chunks of the configured batch size and the entities are removed through the
+	 * {@link javax.persistence.EntityManager} chunk by chunk, flushing and clearing the persistence context after each
+	 * one. Entities with composite identifiers are read ordered by the identifier attributes. For bulk deletes the
+	 * {@link Specification} is handed a throw-away {@link javax.persistence.criteria.CriteriaQuery}, so modifications of
+	 * it, e.g. making it distinct, are ignored.
+	 * 
+	 * @param spec can be {@literal null} to delete all entities.
+	 * @return the number of entities deleted.
+	 * @since 1.9
+	 */
+	long delete(Specification<T> spec);
+
 	/**
 	 * Returns the number of instances that the given {@link Specification} will return.
 	 * 
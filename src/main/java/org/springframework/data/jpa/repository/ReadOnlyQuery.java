@@ -0,0 +1,38 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation to load the entities returned by a query method read-only, i.e. without the persistence provider keeping
+ * snapshots of their state for dirty checking. Modifications of the entities returned are not written to the database.
+ * It will be evaluated when using {@link Query} on a query method or if you derive the query from the method name. The
+ * read-only hints of the persistence provider are applied before the ones declared via {@link QueryHints}, so the
+ * latter can still override them. Ignored for modifying queries and queries using a {@link Lock}.
+ * 
+ * @author agent
+ * @since 1.9
+ * @see org.springframework.data.jpa.provider.PersistenceProvider#getReadOnlyHints()
+ */
+@Target({ ElementType.METHOD, ElementType.ANNOTATION_TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadOnlyQuery {}
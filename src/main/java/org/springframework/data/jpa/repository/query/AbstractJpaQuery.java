@@ -15,6 +15,9 @@
  */
 package org.springframework.data.jpa.repository.query;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 import javax.persistence.EntityManager;
@@ -22,16 +25,29 @@ import javax.persistence.LockModeType;
 import javax.persistence.Query;
 import javax.persistence.QueryHint;
 import javax.persistence.TypedQuery;
+import javax.persistence.metamodel.IdentifiableType;
+import javax.persistence.metamodel.SingularAttribute;
 
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.KeysetPageRequest;
+import org.springframework.data.jpa.provider.PersistenceProvider;
+import org.springframework.data.jpa.repository.CachedQuery;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.FetchSize;
+import org.springframework.data.jpa.repository.ReadOnlyQuery;
 import org.springframework.data.jpa.repository.query.JpaQueryExecution.CollectionExecution;
+import org.springframework.data.jpa.repository.query.JpaQueryExecution.DeleteExecution;
 import org.springframework.data.jpa.repository.query.JpaQueryExecution.ModifyingExecution;
 import org.springframework.data.jpa.repository.query.JpaQueryExecution.PagedExecution;
 import org.springframework.data.jpa.repository.query.JpaQueryExecution.ProcedureExecution;
 import org.springframework.data.jpa.repository.query.JpaQueryExecution.SingleEntityExecution;
 import org.springframework.data.jpa.repository.query.JpaQueryExecution.SlicedExecution;
 import org.springframework.data.jpa.repository.query.JpaQueryExecution.StreamExecution;
+import org.springframework.data.jpa.repository.query.ParameterBinder.BindInstruction;
+import org.springframework.data.jpa.repository.query.QueryResultCache.Lookup;
+import org.springframework.data.repository.query.Parameter;
 import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 
 /**
@@ -45,6 +61,19 @@ public abstract class AbstractJpaQuery implements RepositoryQuery {
 	private final JpaQueryMethod method;
 	private final EntityManager em;
 
+	private ConcurrentCountExecutor countExecutor;
+	private QueryResultCache countCache;
+	private QueryResultCache entityCache;
+	private QueryResultCache queryCache;
+	private QueryResultCache resultCache;
+	private ResultCopier resultCopier;
+	private List<String> idAttributeNames;
+	private boolean readOnlyQueries = false;
+	private int fetchSize = 0;
+	private AdaptiveFetchSize adaptiveFetchSize;
+	private PersistenceProvider provider;
+	private volatile BindInstruction[] bindInstructions;
+
 	/**
 	 * Creates a new {@link AbstractJpaQuery} from the given {@link JpaQueryMethod}.
 	 * 
@@ -72,6 +101,102 @@ public abstract class AbstractJpaQuery implements RepositoryQuery {
 		return method;
 	}
 
+	/**
+	 * Configures the {@link ConcurrentCountExecutor} to run count queries for pages concurrently to the query reading the
+	 * page content. Queries binding SpEL expressions are always executed sequentially. Defaults to {@literal null},
+	 * i.e. both queries are executed sequentially.
+	 * 
+	 * @param countExecutor can be {@literal null}.
+	 * @since 1.9
+	 */
+	public void setCountExecutor(ConcurrentCountExecutor countExecutor) {
+		this.countExecutor = countExecutor;
+	}
+
+	/**
+	 * Configures the {@link QueryResultCache} to cache the totals of pages in. Modifying queries invalidate the totals
+	 * cached for the domain type of the query method. Defaults to {@literal null}, i.e. totals are not cached.
+	 * 
+	 * @param countCache can be {@literal null}.
+	 * @since 1.9
+	 */
+	public void setCountCache(QueryResultCache countCache) {
+		this.countCache = countCache;
+	}
+
+	/**
+	 * Configures the {@link QueryResultCache} holding the entities cached by the repository the query belongs to.
+	 * Modifying queries invalidate the entities cached for the domain type of the query method.
+	 * 
+	 * @param entityCache can be {@literal null}.
+	 * @since 1.9
+	 */
+	public void setEntityCache(QueryResultCache entityCache) {
+		this.entityCache = entityCache;
+	}
+
+	/**
+	 * Configures whether to apply the read-only hints of the {@link PersistenceProvider} to queries executed within
+	 * read-only transactions, so that the entities returned are loaded without snapshots for dirty checking. Note that
+	 * entities loaded that way stay read-only for the lifetime of the {@link EntityManager}, which might span subsequent
+	 * read-write transactions. Query methods annotated with {@link ReadOnlyQuery} always apply the hints. Defaults to
+	 * {@literal false}.
+	 * 
+	 * @param readOnlyQueries
+	 * @since 1.9
+	 */
+	public void setReadOnlyQueries(boolean readOnlyQueries) {
+		this.readOnlyQueries = readOnlyQueries;
+	}
+
+	/**
+	 * Configures the JDBC fetch size to use for the query unless the query method is annotated with {@link FetchSize}.
+	 * Defaults to {@literal 0}, i.e. the default of the JDBC driver is used.
+	 * 
+	 * @param fetchSize must not be negative.
+	 * @since 1.9
+	 */
+	public void setFetchSize(int fetchSize) {
+
+		Assert.isTrue(fetchSize >= 0, "Fetch size must not be negative!");
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * Configures whether to derive the JDBC fetch size for the query from the sizes of the results observed for previous
+	 * executions unless the query method is annotated with {@link FetchSize}. The fetch size configured via
+	 * {@link #setFetchSize(int)} is used until a result was observed. Defaults to {@literal false}.
+	 * 
+	 * @param adaptiveFetchSize
+	 * @since 1.9
+	 */
+	public void setAdaptiveFetchSize(boolean adaptiveFetchSize) {
+		this.adaptiveFetchSize = adaptiveFetchSize && method.getFetchSize() == null ? new AdaptiveFetchSize() : null;
+	}
+
+	/**
+	 * Configures the {@link QueryResultCache} to derive the cache for the results of the query from, in case the query
+	 * method is annotated with {@link CachedQuery}. Modifying queries invalidate the results cached for the domain type
+	 * of the query method.
+	 * 
+	 * @param queryCache can be {@literal null}.
+	 * @param resultCopier must not be {@literal null} if a {@link QueryResultCache} is given and the query method is
+	 *          annotated with {@link CachedQuery}.
+	 * @since 1.9
+	 */
+	public void setQueryCache(QueryResultCache queryCache, ResultCopier resultCopier) {
+
+		CachedQuery cachedQuery = method.getCachedQuery();
+
+		Assert.isTrue(queryCache == null || cachedQuery == null || resultCopier != null,
+				"ResultCopier must not be null!");
+
+		this.queryCache = queryCache;
+		this.resultCopier = resultCopier;
+		this.resultCache = queryCache == null || cachedQuery == null ? null : queryCache.createRegion(
+				cachedQuery.maximumSize(), cachedQuery.timeToLive(), cachedQuery.unit());
+	}
+
 	/**
 	 * @return the em
 	 */
@@ -88,7 +213,100 @@ public abstract class AbstractJpaQuery implements RepositoryQuery {
 	 * .lang.Object[])
 	 */
 	public Object execute(Object[] parameters) {
-		return doExecute(getExecution(), parameters);
+
+		JpaQueryExecution execution = getExecution();
+
+		if (execution instanceof ModifyingExecution || execution instanceof DeleteExecution) {
+			evictCaches();
+		}
+
+		if (resultCache != null && isCacheable(execution)) {
+			return doExecuteCached(execution, parameters);
+		}
+
+		return doExecute(execution, parameters);
+	}
+
+	/**
+	 * Returns whether the result of the given {@link JpaQueryExecution} can be served from and put into the result
+	 * cache. Requires a collection or single result to be read without a lock, outside of a transaction or within a
+	 * read-only one, as read-write transactions might see modifications not committed yet.
+	 * 
+	 * @param execution must not be {@literal null}.
+	 * @return
+	 */
+	private boolean isCacheable(JpaQueryExecution execution) {
+
+		if (!(execution instanceof CollectionExecution || execution instanceof SingleEntityExecution)) {
+			return false;
+		}
+
+		return method.getLockModeType() == null
+				&& (!TransactionSynchronizationManager.isActualTransactionActive() || TransactionSynchronizationManager
+						.isCurrentTransactionReadOnly());
+	}
+
+	/**
+	 * Serves the result of the given {@link JpaQueryExecution} from the result cache or executes it and caches a copy of
+	 * the result. Results that can be cached are returned as detached copies in both cases, so that callers see the same
+	 * state no matter whether the result was cached or not.
+	 * 
+	 * @param execution must not be {@literal null}.
+	 * @param values must not be {@literal null}.
+	 * @return
+	 */
+	private Object doExecuteCached(JpaQueryExecution execution, Object[] values) {
+
+		Object key = getCacheKey(method.getParameters(), values);
+		Lookup lookup = resultCache.lookup(method.getEntityInformation().getJavaType(), key);
+
+		if (lookup.isHit()) {
+			return resultCopier.copy(lookup.getValue());
+		}
+
+		Object result = doExecute(execution, values);
+
+		if (!resultCopier.supports(result)) {
+			return result;
+		}
+
+		Object copy = resultCopier.copy(result);
+		lookup.cache(copy);
+
+		return resultCopier.copy(copy);
+	}
+
+	/**
+	 * Returns the key to cache the results of the query executed with the given values with. Consists of the query
+	 * method and the values of the given parameters by default. Queries depending on further input have to include it.
+	 * 
+	 * @param parameters must not be {@literal null}.
+	 * @param values must not be {@literal null}.
+	 * @return
+	 */
+	Object getCacheKey(Iterable<? extends Parameter> parameters, Object[] values) {
+		return JpaQueryExecution.getCacheKey(method, parameters, values);
+	}
+
+	/**
+	 * Evicts the results cached for the domain type of the query method as they might be affected by the modifying
+	 * query.
+	 */
+	private void evictCaches() {
+
+		Class<?> domainType = method.getEntityInformation().getJavaType();
+
+		if (countCache != null) {
+			countCache.evict(domainType);
+		}
+
+		if (entityCache != null) {
+			entityCache.evict(domainType);
+		}
+
+		if (queryCache != null) {
+			queryCache.evict(domainType);
+		}
 	}
 
 	/**
@@ -97,7 +315,18 @@ public abstract class AbstractJpaQuery implements RepositoryQuery {
 	 * @return
 	 */
 	private Object doExecute(JpaQueryExecution execution, Object[] values) {
-		return execution.execute(this, values);
+
+		Object result = execution.execute(this, values);
+
+		if (adaptiveFetchSize != null) {
+			if (result instanceof Collection) {
+				adaptiveFetchSize.record(((Collection<?>) result).size());
+			} else if (result instanceof Slice) {
+				adaptiveFetchSize.record(((Slice<?>) result).getNumberOfElements());
+			}
+		}
+
+		return result;
 	}
 
 	protected JpaQueryExecution getExecution() {
@@ -111,7 +340,7 @@ public abstract class AbstractJpaQuery implements RepositoryQuery {
 		} else if (method.isSliceQuery()) {
 			return new SlicedExecution(method.getParameters());
 		} else if (method.isPageQuery()) {
-			return new PagedExecution(method.getParameters());
+			return new PagedExecution(method.getParameters(), countExecutor, countCache);
 		} else if (method.isModifyingQuery()) {
 			return method.getClearAutomatically() ? new ModifyingExecution(method, em) : new ModifyingExecution(method, null);
 		} else {
@@ -119,6 +348,40 @@ public abstract class AbstractJpaQuery implements RepositoryQuery {
 		}
 	}
 
+	/**
+	 * Returns the given {@link KeysetPageRequest} with its {@link org.springframework.data.domain.Sort} completed by the
+	 * identifier attributes of the domain type to make the order unique.
+	 * 
+	 * @param pageable must not be {@literal null}.
+	 * @return
+	 */
+	KeysetPageRequest withIdTiebreaker(KeysetPageRequest pageable) {
+
+		if (idAttributeNames == null) {
+			// lazy initialization with tolerable benign data-race
+			Class<?> domainType = method.getEntityInformation().getJavaType();
+			this.idAttributeNames = getIdAttributeNames(em.getMetamodel().entity(domainType));
+		}
+
+		return pageable.withTiebreaker(idAttributeNames);
+	}
+
+	private static List<String> getIdAttributeNames(IdentifiableType<?> type) {
+
+		List<String> names = new ArrayList<String>();
+
+		if (type.hasSingleIdAttribute()) {
+			names.add(type.getId(type.getIdType().getJavaType()).getName());
+			return names;
+		}
+
+		for (SingularAttribute<?, ?> attribute : type.getIdClassAttributes()) {
+			names.add(attribute.getName());
+		}
+
+		return names;
+	}
+
 	/**
 	 * Applies the declared query hints to the given query.
 	 * 
@@ -148,6 +411,83 @@ public abstract class AbstractJpaQuery implements RepositoryQuery {
 		query.setHint(hint.name(), hint.value());
 	}
 
+	/**
+	 * Returns whether the query binds the values of SpEL expressions, which might depend on state bound to the current
+	 * thread and thus have to be evaluated by it.
+	 * 
+	 * @return
+	 */
+	boolean hasExpressionBindings() {
+		return false;
+	}
+
+	/**
+	 * Applies the read-only hints of the {@link PersistenceProvider} to the given {@link Query} if the
+	 * {@link JpaQueryMethod} is annotated with {@link ReadOnlyQuery} or read-only queries are enabled and the current
+	 * transaction is read-only.
+	 * 
+	 * @param query must not be {@literal null}.
+	 * @param method must not be {@literal null}.
+	 * @return
+	 */
+	private Query applyReadOnlyHints(Query query, JpaQueryMethod method) {
+
+		if (method.isModifyingQuery() || method.getLockModeType() != null) {
+			return query;
+		}
+
+		if (!method.isReadOnlyQuery()
+				&& !(readOnlyQueries && TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+			return query;
+		}
+
+		for (Map.Entry<String, Object> hint : getPersistenceProvider().getReadOnlyHints().entrySet()) {
+			query.setHint(hint.getKey(), hint.getValue());
+		}
+
+		return query;
+	}
+
+	/**
+	 * Applies the fetch size configured for the {@link JpaQueryMethod} or the query to the given {@link Query}.
+	 * 
+	 * @param query must not be {@literal null}.
+	 * @param method must not be {@literal null}.
+	 * @return
+	 */
+	private Query applyFetchSize(Query query, JpaQueryMethod method) {
+
+		if (method.isModifyingQuery()) {
+			return query;
+		}
+
+		Integer fetchSize = method.getFetchSize();
+
+		if (fetchSize == null) {
+			fetchSize = adaptiveFetchSize == null ? this.fetchSize : adaptiveFetchSize.getFetchSize(this.fetchSize);
+		}
+
+		if (fetchSize <= 0) {
+			return query;
+		}
+
+		for (Map.Entry<String, Object> hint : getPersistenceProvider().getFetchSizeHints(fetchSize).entrySet()) {
+			query.setHint(hint.getKey(), hint.getValue());
+		}
+
+		return query;
+	}
+
+	private PersistenceProvider getPersistenceProvider() {
+
+		// lazy initialization with tolerable benign data-race
+		if (provider == null) {
+			this.provider = PersistenceProvider.fromEntityManager(em);
+		}
+
+		return provider;
+	}
+
 	/**
 	 * Applies the {@link LockModeType} provided by the {@link JpaQueryMethod} to the given {@link Query}.
 	 * 
@@ -162,11 +502,43 @@ public abstract class AbstractJpaQuery implements RepositoryQuery {
 	}
 
 	protected ParameterBinder createBinder(Object[] values) {
-		return new ParameterBinder(getQueryMethod().getParameters(), values);
+		return keepBindInstructions(new ParameterBinder(getQueryMethod().getParameters(), values, getBindInstructions()));
+	}
+
+	/**
+	 * Returns the {@link BindInstruction}s kept from the first {@link ParameterBinder} created for the query, to be
+	 * handed to the binders created subsequently, or {@literal null} if none were kept yet.
+	 * 
+	 * @return
+	 * @see #keepBindInstructions(ParameterBinder)
+	 */
+	protected BindInstruction[] getBindInstructions() {
+		return bindInstructions;
+	}
+
+	/**
+	 * Keeps the {@link BindInstruction}s of the given {@link ParameterBinder} supplied by the query implementation if
+	 * none were kept yet. As they only depend on the query method and declaration, all binders of the query can share
+	 * them.
+	 * 
+	 * @param binder must not be {@literal null}.
+	 * @return the given {@link ParameterBinder}.
+	 */
+	protected <T extends ParameterBinder> T keepBindInstructions(T binder) {
+
+		Assert.notNull(binder, "ParameterBinder must not be null!");
+
+		if (bindInstructions == null) {
+			this.bindInstructions = binder.getInstructions();
+		}
+
+		return binder;
 	}
 
 	protected Query createQuery(Object[] values) {
-		return applyLockMode(applyEntityGraphConfiguration(applyHints(doCreateQuery(values), method), method), method);
+
+		Query query = applyFetchSize(applyReadOnlyHints(doCreateQuery(values), method), method);
+		return applyLockMode(applyEntityGraphConfiguration(applyHints(query, method), method), method);
 	}
 
 	/**
@@ -15,15 +15,28 @@
  */
 package org.springframework.data.jpa.repository.query;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import javax.persistence.EntityManager;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.KeysetPageRequest;
+import org.springframework.data.jpa.repository.query.StringQuery.ParameterBinding;
 import org.springframework.data.repository.query.EvaluationContextProvider;
+import org.springframework.data.repository.query.Parameter;
 import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
 
 /**
  * Base class for {@link String} based JPA queries.
@@ -33,10 +46,13 @@ import org.springframework.util.Assert;
  */
 abstract class AbstractStringBasedJpaQuery extends AbstractJpaQuery {
 
+	private static final int MAX_CACHED_SORTS = 256;
+
 	private final StringQuery query;
 	private final StringQuery countQuery;
 	private final EvaluationContextProvider evaluationContextProvider;
-	private final SpelExpressionParser parser;
+	private final Set<String> joinAliases;
+	private final ConcurrentMap<Sort, String> sortedQueryStrings = new ConcurrentHashMap<Sort, String>();
 
 	/**
 	 * Creates a new {@link AbstractStringBasedJpaQuery} from the given {@link JpaQueryMethod}, {@link EntityManager} and
@@ -61,7 +77,7 @@ abstract class AbstractStringBasedJpaQuery extends AbstractJpaQuery {
 		this.query = new ExpressionBasedStringQuery(queryString, method.getEntityInformation(), parser);
 		this.countQuery = new StringQuery(method.getCountQuery() != null ? method.getCountQuery()
 				: QueryUtils.createCountQueryFor(this.query.getQueryString(), method.getCountQueryProjection()));
-		this.parser = parser;
+		this.joinAliases = QueryUtils.getOuterJoinAliases(this.query.getQueryString());
 	}
 
 	/*
@@ -72,21 +88,101 @@ abstract class AbstractStringBasedJpaQuery extends AbstractJpaQuery {
 	public Query doCreateQuery(Object[] values) {
 
 		ParameterAccessor accessor = new ParametersParameterAccessor(getQueryMethod().getParameters(), values);
-		String sortedQueryString = QueryUtils.applySorting(query.getQueryString(), accessor.getSort(), query.getAlias());
 
-		Query query = createJpaQuery(sortedQueryString);
+		Assert.isTrue(!(accessor.getPageable() instanceof KeysetPageRequest),
+				"Keyset pagination is not supported for string based queries!");
+
+		Query query = createJpaQuery(getSortedQueryString(accessor.getSort()));
 
 		return createBinder(values).bindAndPrepare(query);
 	}
 
+	/**
+	 * Returns the query string with the given {@link Sort} applied. Query strings are cached per {@link Sort}, so that
+	 * equal {@link Sort}s result in the very same query string handed to the persistence provider.
+	 * 
+	 * @param sort can be {@literal null}.
+	 * @return
+	 */
+	private String getSortedQueryString(Sort sort) {
+
+		String queryString = query.getQueryString();
+
+		if (sort == null || !sort.iterator().hasNext()) {
+			return queryString;
+		}
+
+		String sortedQueryString = sortedQueryStrings.get(sort);
+
+		if (sortedQueryString != null) {
+			return sortedQueryString;
+		}
+
+		sortedQueryString = QueryUtils.applySorting(queryString, sort, query.getAlias(), joinAliases);
+
+		// Sorts might be assembled from user input, so stop caching instead of growing without bounds
+		if (sortedQueryStrings.size() >= MAX_CACHED_SORTS) {
+			return sortedQueryString;
+		}
+
+		String existing = sortedQueryStrings.putIfAbsent(sort, sortedQueryString);
+		return existing == null ? sortedQueryString : existing;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.jpa.repository.query.AbstractJpaQuery#createBinder(java.lang.Object[])
 	 */
 	@Override
 	protected ParameterBinder createBinder(Object[] values) {
-		return new SpelExpressionStringQueryParameterBinder(getQueryMethod().getParameters(), values, query,
-				evaluationContextProvider, parser);
+		return keepBindInstructions(new SpelExpressionStringQueryParameterBinder(getQueryMethod().getParameters(), values,
+				query, evaluationContextProvider, getBindInstructions()));
+	}
+
+	/**
+	 * Includes the values of the SpEL expressions bound to the query in the key as they might depend on state other than
+	 * the method arguments, e.g. the current user.
+	 * 
+	 * @see org.springframework.data.jpa.repository.query.AbstractJpaQuery#getCacheKey(java.lang.Iterable, java.lang.Object[])
+	 */
+	@Override
+	Object getCacheKey(Iterable<? extends Parameter> parameters, Object[] values) {
+
+		Object key = super.getCacheKey(parameters, values);
+		EvaluationContext context = null;
+		List<Object> expressionValues = new ArrayList<Object>();
+
+		for (ParameterBinding binding : query.getParameterBindings()) {
+
+			if (!binding.isExpression()) {
+				continue;
+			}
+
+			if (context == null) {
+				context = evaluationContextProvider.getEvaluationContext(getQueryMethod().getParameters(), values);
+			}
+
+			Object value = binding.getParsedExpression().getValue(context, Object.class);
+			expressionValues.add(ObjectUtils.isArray(value) ? Arrays.asList(ObjectUtils.toObjectArray(value)) : value);
+		}
+
+		return expressionValues.isEmpty() ? key : Arrays.asList(key, expressionValues);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.query.AbstractJpaQuery#hasExpressionBindings()
+	 */
+	@Override
+	boolean hasExpressionBindings() {
+
+		for (ParameterBinding binding : query.getParameterBindings()) {
+			if (binding.isExpression()) {
+				return true;
+			}
+		}
+
+		return false;
 	}
 
 	/**
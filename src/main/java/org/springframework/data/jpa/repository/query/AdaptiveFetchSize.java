@@ -0,0 +1,66 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+/**
+ * Derives the JDBC fetch size for a query method from the sizes of the results it returned before. Keeps an
+ * exponentially weighted moving average of the result sizes observed and suggests a fetch size slightly above it, so
+ * that typical results are read in a single round trip while the fetch size stays bounded for large scans.
+ * 
+ * @author agent
+ * @since 1.9
+ */
+class AdaptiveFetchSize {
+
+	static final int MINIMUM_FETCH_SIZE = 10;
+	static final int MAXIMUM_FETCH_SIZE = 1000;
+
+	private volatile int average = -1;
+
+	/**
+	 * Records the size of a result read by the query.
+	 * 
+	 * @param resultSize must not be negative.
+	 */
+	public void record(int resultSize) {
+
+		int current = average;
+
+		// concurrent updates might get lost, which is tolerable for an estimate
+		this.average = current < 0 ? resultSize : (int) ((current * 7L + resultSize) / 8);
+	}
+
+	/**
+	 * Returns the fetch size to use for the next execution of the query.
+	 * 
+	 * @param defaultFetchSize the fetch size to use as long as no results have been recorded, {@literal 0} to use the
+	 *          default of the JDBC driver.
+	 * @return
+	 */
+	public int getFetchSize(int defaultFetchSize) {
+
+		int current = average;
+
+		if (current < 0) {
+			return defaultFetchSize;
+		}
+
+		// Leave some headroom so that results slightly above average still fit into a single round trip
+		long candidate = current + current / 4L + 1;
+
+		return (int) Math.min(MAXIMUM_FETCH_SIZE, Math.max(MINIMUM_FETCH_SIZE, candidate));
+	}
+}
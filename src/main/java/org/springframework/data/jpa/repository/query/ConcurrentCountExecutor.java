@@ -0,0 +1,232 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import java.sql.Connection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.LockModeType;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.jpa.provider.PersistenceProvider;
+import org.springframework.data.jpa.repository.query.PageableExecutionUtils.CancellableTotalSupplier;
+import org.springframework.data.jpa.repository.query.PageableExecutionUtils.TotalSupplier;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.EntityManagerProxy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+/**
+ * Executes count queries for pages concurrently to the query reading the page content. The count query is run on a
+ * bounded pool of worker threads, each using a separate {@link EntityManager} and thus a separate connection that is
+ * bound to the worker for the time of the execution. This only works for {@link EntityManager}s that are shared ones
+ * as created by Spring's {@code SharedEntityManagerCreator}, all others are used sequentially.
+ * <p>
+ * As the count query doesn't take part in the current transaction, it's executed sequentially inside transactions that
+ * are not read-only, use an isolation level stricter than read committed or pessimistic locks. The same applies if all
+ * workers are busy. The separate {@link EntityManager}s are switched to read-only using the
+ * {@link PersistenceProvider}. Callers have to execute counts depending on state bound to the calling thread, e.g.
+ * SpEL expressions or repository method metadata, sequentially themselves.
+ * 
+ * @author agent
+ * @since 1.9
+ */
+public class ConcurrentCountExecutor implements DisposableBean {
+
+	private final ExecutorService executor;
+	private final boolean shutdownOnDestroy;
+
+	/**
+	 * Creates a new {@link ConcurrentCountExecutor} running at most the given number of count queries in parallel.
+	 * 
+	 * @param parallelism must be greater than zero.
+	 */
+	public ConcurrentCountExecutor(int parallelism) {
+
+		Assert.isTrue(parallelism > 0, "Parallelism must be greater than zero!");
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("count-query-");
+		threadFactory.setDaemon(true);
+
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(parallelism), threadFactory);
+		executor.allowCoreThreadTimeOut(true);
+
+		this.executor = executor;
+		this.shutdownOnDestroy = true;
+	}
+
+	/**
+	 * Creates a new {@link ConcurrentCountExecutor} using the given {@link ExecutorService}. The lifecycle of the
+	 * {@link ExecutorService} has to be managed by the caller.
+	 * 
+	 * @param executor must not be {@literal null}.
+	 */
+	public ConcurrentCountExecutor(ExecutorService executor) {
+
+		Assert.notNull(executor, "ExecutorService must not be null!");
+
+		this.executor = executor;
+		this.shutdownOnDestroy = false;
+	}
+
+	/**
+	 * Starts the execution of the given {@link TotalSupplier} in the background if possible and returns a
+	 * {@link CancellableTotalSupplier} waiting for its result, that has to be cancelled if the total is not needed.
+	 * Returns the given {@link TotalSupplier} if it has to be executed sequentially.
+	 * 
+	 * @param em the {@link EntityManager} the given {@link TotalSupplier} uses, must not be {@literal null}.
+	 * @param lockModeType the {@link LockModeType} used by the current query, can be {@literal null}.
+	 * @param totalSupplier must not be {@literal null}.
+	 * @return
+	 */
+	public TotalSupplier submit(final EntityManager em, LockModeType lockModeType, final TotalSupplier totalSupplier) {
+
+		Assert.notNull(em, "EntityManager must not be null!");
+		Assert.notNull(totalSupplier, "TotalSupplier must not be null!");
+
+		if (!(em instanceof EntityManagerProxy) || requiresSequentialExecution(lockModeType)) {
+			return totalSupplier;
+		}
+
+		final Future<Long> future;
+
+		try {
+
+			future = executor.submit(new Callable<Long>() {
+
+				public Long call() throws Exception {
+					return executeInSeparateEntityManager((EntityManagerProxy) em, totalSupplier);
+				}
+			});
+
+		} catch (RejectedExecutionException o_O) {
+			return totalSupplier;
+		}
+
+		return new CancellableTotalSupplier() {
+
+			public long get() {
+
+				Long total = getResult(future);
+				return total == null ? totalSupplier.get() : total;
+			}
+
+			public void cancel() {
+				future.cancel(true);
+			}
+		};
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.DisposableBean#destroy()
+	 */
+	public void destroy() {
+
+		if (shutdownOnDestroy) {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Returns whether the count query has to be executed in the calling thread to see the same data as the content
+	 * query.
+	 * 
+	 * @param lockModeType can be {@literal null}.
+	 * @return
+	 */
+	private static boolean requiresSequentialExecution(LockModeType lockModeType) {
+
+		if (lockModeType == LockModeType.PESSIMISTIC_READ || lockModeType == LockModeType.PESSIMISTIC_WRITE
+				|| lockModeType == LockModeType.PESSIMISTIC_FORCE_INCREMENT) {
+			return true;
+		}
+
+		if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+			return false;
+		}
+
+		Integer isolationLevel = TransactionSynchronizationManager.getCurrentTransactionIsolationLevel();
+
+		return !TransactionSynchronizationManager.isCurrentTransactionReadOnly() || isolationLevel != null
+				&& isolationLevel != Connection.TRANSACTION_READ_COMMITTED;
+	}
+
+	/**
+	 * Binds a new read-only {@link EntityManager} to the current thread so that the given shared one delegates to it and invokes
+	 * the given {@link TotalSupplier}. Returns {@literal null} if the given {@link EntityManager} is not a shared one.
+	 * 
+	 * @param em must not be {@literal null}.
+	 * @param totalSupplier must not be {@literal null}.
+	 * @return
+	 */
+	private static Long executeInSeparateEntityManager(EntityManagerProxy em, TotalSupplier totalSupplier) {
+
+		EntityManagerFactory factory = em.getEntityManagerFactory();
+
+		if (TransactionSynchronizationManager.hasResource(factory)) {
+			return null;
+		}
+
+		EntityManager target = factory.createEntityManager();
+		TransactionSynchronizationManager.bindResource(factory, new EntityManagerHolder(target));
+
+		try {
+
+			PersistenceProvider.fromEntityManager(target).setReadOnly(target);
+
+			return em.getTargetEntityManager() == target ? totalSupplier.get() : null;
+		} finally {
+			TransactionSynchronizationManager.unbindResource(factory);
+			EntityManagerFactoryUtils.closeEntityManager(target);
+		}
+	}
+
+	private static Long getResult(Future<Long> future) {
+
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for count query!", e);
+		} catch (ExecutionException e) {
+
+			Throwable cause = e.getCause();
+
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+
+			throw new IllegalStateException("Could not execute count query!", cause);
+		}
+	}
+}
@@ -36,6 +36,7 @@ import org.springframework.util.Assert;
 class CriteriaQueryParameterBinder extends ParameterBinder {
 
 	private final Iterator<ParameterMetadata<?>> expressions;
+	private final boolean bindByName;
 
 	/**
 	 * Creates a new {@link CriteriaQueryParameterBinder} for the given {@link Parameters}, values and some
@@ -44,12 +45,37 @@ class CriteriaQueryParameterBinder extends ParameterBinder {
 	 * @param parameters
 	 * @param values
 	 * @param expressions
+	 * @param instructions the {@link BindInstruction}s previously obtained from a binder for the same query, can be
+	 *          {@literal null}.
 	 */
-	CriteriaQueryParameterBinder(JpaParameters parameters, Object[] values, Iterable<ParameterMetadata<?>> expressions) {
+	CriteriaQueryParameterBinder(JpaParameters parameters, Object[] values, Iterable<ParameterMetadata<?>> expressions,
+			BindInstruction[] instructions) {
 
-		super(parameters, values);
+		this(parameters, values, expressions, instructions, false);
+	}
+
+	/**
+	 * Creates a new {@link CriteriaQueryParameterBinder} for the given {@link Parameters}, values and some
+	 * {@link javax.persistence.criteria.ParameterExpression}, optionally binding the values by the names of the
+	 * expressions. The latter allows binding the parameters of a query created from the JPQL the {@link CriteriaQuery}
+	 * was rendered into.
+	 * 
+	 * @param parameters
+	 * @param values
+	 * @param expressions
+	 * @param instructions the {@link BindInstruction}s previously obtained from a binder for the same query, can be
+	 *          {@literal null}.
+	 * @param bindByName whether to bind the values by the names of the
+	 *          {@link javax.persistence.criteria.ParameterExpression}s.
+	 * @since 1.9
+	 */
+	CriteriaQueryParameterBinder(JpaParameters parameters, Object[] values, Iterable<ParameterMetadata<?>> expressions,
+			BindInstruction[] instructions, boolean bindByName) {
+
+		super(parameters, values, instructions);
 		Assert.notNull(expressions);
 		this.expressions = expressions.iterator();
+		this.bindByName = bindByName;
 	}
 
 	/*
@@ -66,6 +92,19 @@ class CriteriaQueryParameterBinder extends ParameterBinder {
 			return;
 		}
 
+		if (bindByName) {
+
+			String name = metadata.getExpression().getName();
+
+			if (parameter.isTemporalParameter()) {
+				query.setParameter(name, (Date) metadata.prepare(value), parameter.getTemporalType());
+			} else {
+				query.setParameter(name, metadata.prepare(value));
+			}
+
+			return;
+		}
+
 		if (parameter.isTemporalParameter()) {
 			query.setParameter((Parameter<Date>) (Object) metadata.getExpression(), (Date) metadata.prepare(value),
 					parameter.getTemporalType());
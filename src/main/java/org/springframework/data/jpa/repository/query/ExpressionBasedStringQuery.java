@@ -53,10 +53,10 @@ class ExpressionBasedStringQuery extends StringQuery {
 	 * 
 	 * @param query must not be {@literal null} or empty.
 	 * @param metadata must not be {@literal null}.
-	 * @param parser must not be {@literal null}.
+	 * @param parser must not be {@literal null}, also used to parse the expressions of the parameter bindings.
 	 */
 	public ExpressionBasedStringQuery(String query, JpaEntityMetadata<?> metadata, SpelExpressionParser parser) {
-		super(renderQueryIfExpressionOrReturnQuery(query, metadata, parser));
+		super(renderQueryIfExpressionOrReturnQuery(query, metadata, parser), parser);
 	}
 
 	/**
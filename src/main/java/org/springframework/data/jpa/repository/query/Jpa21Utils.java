@@ -77,6 +77,27 @@ public class Jpa21Utils {
 		return Collections.<String, Object> singletonMap(entityGraph.getType().getKey(), graph);
 	}
 
+	/**
+	 * Returns whether the persistence provider backing the given {@link EntityManager} implements the JPA 2.1 bulk
+	 * criteria operations, i.e. {@code CriteriaUpdate} and {@code CriteriaDelete}. The JPA 2.1 API being present on
+	 * the classpath is not sufficient as it might be combined with a JPA 2.0 implementation.
+	 * 
+	 * @param em must not be {@literal null}.
+	 * @return
+	 * @since 1.9
+	 */
+	public static boolean supportsBulkCriteria(EntityManager em) {
+
+		Assert.notNull(em, "EntityManager must not be null!");
+
+		if (!JPA21_AVAILABLE) {
+			return false;
+		}
+
+		Class<?> builderType = em.getCriteriaBuilder().getClass();
+		return ReflectionUtils.findMethod(builderType, "createCriteriaUpdate", Class.class) != null;
+	}
+
 	/**
 	 * Adds a JPA 2.1 fetch-graph or load-graph hint to the given {@link Query} if running under JPA 2.1.
 	 * 
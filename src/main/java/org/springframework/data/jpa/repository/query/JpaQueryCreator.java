@@ -28,6 +28,7 @@ import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.KeysetPageRequest;
 import org.springframework.data.jpa.repository.query.ParameterMetadataProvider.ParameterMetadata;
 import org.springframework.data.mapping.PropertyPath;
 import org.springframework.data.repository.query.parser.AbstractQueryCreator;
@@ -47,6 +48,7 @@ public class JpaQueryCreator extends AbstractQueryCreator<CriteriaQuery<Object>,
 	private final Root<?> root;
 	private final CriteriaQuery<Object> query;
 	private final ParameterMetadataProvider provider;
+	private final KeysetPageRequest keyset;
 
 	/**
 	 * Create a new {@link JpaQueryCreator}.
@@ -58,6 +60,22 @@ public class JpaQueryCreator extends AbstractQueryCreator<CriteriaQuery<Object>,
 	 */
 	public JpaQueryCreator(PartTree tree, Class<?> domainClass, CriteriaBuilder builder,
 			ParameterMetadataProvider provider) {
+		this(tree, domainClass, builder, provider, null);
+	}
+
+	/**
+	 * Create a new {@link JpaQueryCreator} restricting the results to the ones following the keyset of the given
+	 * {@link KeysetPageRequest}.
+	 * 
+	 * @param tree must not be {@literal null}.
+	 * @param domainClass must not be {@literal null}.
+	 * @param builder must not be {@literal null}.
+	 * @param provider must not be {@literal null}.
+	 * @param keyset can be {@literal null}.
+	 * @since 1.9
+	 */
+	public JpaQueryCreator(PartTree tree, Class<?> domainClass, CriteriaBuilder builder,
+			ParameterMetadataProvider provider, KeysetPageRequest keyset) {
 
 		super(tree);
 
@@ -65,6 +83,7 @@ public class JpaQueryCreator extends AbstractQueryCreator<CriteriaQuery<Object>,
 		this.query = builder.createQuery().distinct(tree.isDistinct());
 		this.root = query.from(domainClass);
 		this.provider = provider;
+		this.keyset = keyset;
 	}
 
 	/**
@@ -131,6 +150,12 @@ public class JpaQueryCreator extends AbstractQueryCreator<CriteriaQuery<Object>,
 			CriteriaBuilder builder, Root<?> root) {
 
 		CriteriaQuery<Object> select = this.query.select(root).orderBy(QueryUtils.toOrders(sort, root, builder));
+		Predicate keysetPredicate = keyset == null ? null : QueryUtils.toKeysetPredicate(keyset, root, builder);
+
+		if (keysetPredicate != null) {
+			predicate = predicate == null ? keysetPredicate : builder.and(predicate, keysetPredicate);
+		}
+
 		return predicate == null ? select : select.where(predicate);
 	}
 
@@ -15,29 +15,33 @@
  */
 package org.springframework.data.jpa.repository.query;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.Query;
 import javax.persistence.StoredProcedureQuery;
-import javax.persistence.TypedQuery;
 
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.support.ConfigurableConversionService;
 import org.springframework.core.convert.support.GenericConversionService;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.KeysetPageRequest;
+import org.springframework.data.jpa.domain.KeysetSlice;
 import org.springframework.data.jpa.provider.PersistenceProvider;
+import org.springframework.data.jpa.repository.query.PageableExecutionUtils.TotalSupplier;
+import org.springframework.data.repository.query.Parameter;
 import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.Parameters;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.util.CloseableIterator;
 import org.springframework.data.util.StreamUtils;
 import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
 
 /**
  * Set of classes to contain query execution strategies. Depending (mostly) on the return type of a
@@ -103,6 +107,29 @@ public abstract class JpaQueryExecution {
 	 */
 	protected abstract Object doExecute(AbstractJpaQuery query, Object[] values);
 
+	/**
+	 * Returns the key to cache the results of the given query method invoked with the given values with. Consists of the
+	 * query method and the values of the given parameters.
+	 * 
+	 * @param method must not be {@literal null}.
+	 * @param parameters must not be {@literal null}.
+	 * @param values must not be {@literal null}.
+	 * @return
+	 */
+	static Object getCacheKey(JpaQueryMethod method, Iterable<? extends Parameter> parameters, Object[] values) {
+
+		List<Object> key = new ArrayList<Object>();
+		key.add(method);
+
+		for (Parameter parameter : parameters) {
+
+			Object value = values[parameter.getIndex()];
+			key.add(ObjectUtils.isArray(value) ? Arrays.asList(ObjectUtils.toObjectArray(value)) : value);
+		}
+
+		return key;
+	}
+
 	/**
 	 * Executes the query to return a simple collection of entities.
 	 */
@@ -150,8 +177,14 @@ public abstract class JpaQueryExecution {
 
 			List<Object> resultList = createQuery.getResultList();
 			boolean hasNext = resultList.size() > pageSize;
+			List<Object> content = hasNext ? resultList.subList(0, pageSize) : resultList;
+
+			if (pageable instanceof KeysetPageRequest) {
 
-			return new SliceImpl<Object>(hasNext ? resultList.subList(0, pageSize) : resultList, pageable, hasNext);
+				return new KeysetSlice<Object>(content, query.withIdTiebreaker((KeysetPageRequest) pageable), hasNext);
+			}
+
+			return new SliceImpl<Object>(content, pageable, hasNext);
 		}
 	}
 
@@ -162,36 +195,81 @@ public abstract class JpaQueryExecution {
 	static class PagedExecution extends JpaQueryExecution {
 
 		private final Parameters<?, ?> parameters;
+		private final ConcurrentCountExecutor countExecutor;
+		private final QueryResultCache countCache;
 
 		public PagedExecution(Parameters<?, ?> parameters) {
+			this(parameters, null);
+		}
+
+		/**
+		 * Creates a new {@link PagedExecution} running the count query using the given {@link ConcurrentCountExecutor}.
+		 * 
+		 * @param parameters must not be {@literal null}.
+		 * @param countExecutor can be {@literal null}.
+		 */
+		public PagedExecution(Parameters<?, ?> parameters, ConcurrentCountExecutor countExecutor) {
+			this(parameters, countExecutor, null);
+		}
+
+		/**
+		 * Creates a new {@link PagedExecution} running the count query using the given {@link ConcurrentCountExecutor} and
+		 * caching the totals in the given {@link QueryResultCache}.
+		 * 
+		 * @param parameters must not be {@literal null}.
+		 * @param countExecutor can be {@literal null}.
+		 * @param countCache can be {@literal null}.
+		 */
+		public PagedExecution(Parameters<?, ?> parameters, ConcurrentCountExecutor countExecutor,
+				QueryResultCache countCache) {
 
 			this.parameters = parameters;
+			this.countExecutor = countExecutor;
+			this.countCache = countCache;
 		}
 
 		@Override
 		@SuppressWarnings("unchecked")
-		protected Object doExecute(AbstractJpaQuery repositoryQuery, Object[] values) {
+		protected Object doExecute(final AbstractJpaQuery repositoryQuery, final Object[] values) {
 
-			// Execute query to compute total
-			TypedQuery<Long> projection = repositoryQuery.createCountQuery(values);
+			ParameterAccessor accessor = new ParametersParameterAccessor(parameters, values);
 
-			List<Long> totals = projection.getResultList();
-			Long total = totals.size() == 1 ? totals.get(0) : totals.size();
+			Assert.isTrue(!(accessor.getPageable() instanceof KeysetPageRequest),
+					"Keyset pagination is not supported for pages, return a Slice from the query method instead!");
 
-			ParameterAccessor accessor = new ParametersParameterAccessor(parameters, values);
-			Pageable pageable = accessor.getPageable();
+			TotalSupplier totalSupplier = new TotalSupplier() {
 
-			if (total.equals(0L)) {
-				return new PageImpl<Object>(Collections.emptyList(), pageable, total);
+				public long get() {
+
+					List<Long> totals = repositoryQuery.createCountQuery(values).getResultList();
+					return totals.size() == 1 ? totals.get(0) : totals.size();
+				}
+			};
+
+			if (countCache != null) {
+
+				JpaQueryMethod method = repositoryQuery.getQueryMethod();
+				Object key = repositoryQuery.getCacheKey(parameters.getBindableParameters(), values);
+				QueryResultCache.Lookup lookup = countCache.lookup(method.getEntityInformation().getJavaType(), key);
+
+				if (lookup.isHit()) {
+					return PageableExecutionUtils.getPage(repositoryQuery.createQuery(values).getResultList(),
+							accessor.getPageable(), PageableExecutionUtils.getCachedTotal(lookup));
+				}
+
+				totalSupplier = PageableExecutionUtils.cachingTotal(lookup, totalSupplier);
 			}
 
-			Query query = repositoryQuery.createQuery(values);
+			if (countExecutor != null && !repositoryQuery.hasExpressionBindings()) {
+				totalSupplier = countExecutor.submit(repositoryQuery.getEntityManager(), repositoryQuery.getQueryMethod()
+						.getLockModeType(), totalSupplier);
+			}
 
-			List<Object> content = pageable == null || total > pageable.getOffset() ? query.getResultList() : Collections
-					.emptyList();
+			Query query = repositoryQuery.createQuery(values);
 
-			return new PageImpl<Object>(content, pageable, total);
+			return PageableExecutionUtils.getPage(query.getResultList(), accessor.getPageable(), totalSupplier);
 		}
+
 	}
 
 	/**
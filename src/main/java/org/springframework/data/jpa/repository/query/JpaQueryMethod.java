@@ -30,11 +30,14 @@ import javax.persistence.QueryHint;
 
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.data.jpa.provider.QueryExtractor;
+import org.springframework.data.jpa.repository.CachedQuery;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.FetchSize;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.jpa.repository.ReadOnlyQuery;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.query.Parameter;
 import org.springframework.data.repository.query.Parameters;
@@ -164,6 +167,46 @@ public class JpaQueryMethod extends QueryMethod {
 		return (LockModeType) AnnotationUtils.getValue(annotation);
 	}
 
+	/**
+	 * Returns the {@link CachedQuery} configuration of the query or {@literal null} if the results shall not be cached.
+	 * 
+	 * @return
+	 * @since 1.9
+	 */
+	CachedQuery getCachedQuery() {
+		return findAnnotation(method, CachedQuery.class);
+	}
+
+	/**
+	 * Returns the fetch size configured for the query method or {@literal null} if none is configured.
+	 * 
+	 * @return
+	 * @since 1.9
+	 */
+	Integer getFetchSize() {
+
+		FetchSize annotation = findAnnotation(method, FetchSize.class);
+
+		if (annotation == null) {
+			return null;
+		}
+
+		Assert.isTrue(annotation.value() > 0, String.format("Invalid fetch size %s on method %s!", annotation.value(),
+				method));
+
+		return annotation.value();
+	}
+
+	/**
+	 * Returns whether the query method is annotated to load the entities returned read-only.
+	 * 
+	 * @return
+	 * @since 1.9
+	 */
+	boolean isReadOnlyQuery() {
+		return findAnnotation(method, ReadOnlyQuery.class) != null;
+	}
+
 	/**
 	 * Returns the {@link EntityGraph} to be used for the query.
 	 * 
@@ -21,10 +21,14 @@ import javax.persistence.TypedQuery;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.KeysetPageRequest;
 import org.springframework.data.jpa.provider.QueryExtractor;
+import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.Parameters;
+import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.repository.query.QueryCreationException;
 import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.util.Assert;
 
 /**
  * Implementation of {@link RepositoryQuery} based on {@link javax.persistence.NamedQuery}s.
@@ -138,6 +142,11 @@ final class NamedQuery extends AbstractJpaQuery {
 	@Override
 	protected Query doCreateQuery(Object[] values) {
 
+		ParameterAccessor accessor = new ParametersParameterAccessor(getQueryMethod().getParameters(), values);
+
+		Assert.isTrue(!(accessor.getPageable() instanceof KeysetPageRequest),
+				"Keyset pagination is not supported for named queries!");
+
 		Query query = getEntityManager().createNamedQuery(queryName);
 		return createBinder(values).bindAndPrepare(query);
 	}
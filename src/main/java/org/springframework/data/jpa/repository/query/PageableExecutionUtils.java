@@ -0,0 +1,162 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.Assert;
+
+/**
+ * Support for query execution using {@link Pageable}. Assumes that reading the content of a page is cheaper than
+ * executing a count query and thus reads the content first. The total is then derived from the content whenever
+ * possible, i.e. if the page is the first one and isn't full or the page is a later one that isn't full but not
+ * empty either. Otherwise the count query is executed right after the content query, so that both run within the same
+ * transaction and the {@link Page} returned never triggers any queries itself.
+ * 
+ * @author agent
+ * @since 1.9
+ */
+public abstract class PageableExecutionUtils {
+
+	private PageableExecutionUtils() {}
+
+	/**
+	 * Constructs a {@link Page} based on the given {@code content}, {@link Pageable} and {@link TotalSupplier}. The
+	 * {@link TotalSupplier} is only invoked if the total can't be derived from the content and {@link Pageable}.
+	 * 
+	 * @param content must not be {@literal null}.
+	 * @param pageable can be {@literal null}.
+	 * @param totalSupplier must not be {@literal null}.
+	 * @return
+	 */
+	public static <T> Page<T> getPage(List<T> content, Pageable pageable, TotalSupplier totalSupplier) {
+
+		Assert.notNull(content, "Content must not be null!");
+		Assert.notNull(totalSupplier, "TotalSupplier must not be null!");
+
+		if (pageable == null || pageable.getOffset() == 0) {
+
+			if (pageable == null || pageable.getPageSize() > content.size()) {
+				return new PageImpl<T>(content, pageable, discard(totalSupplier, content.size()));
+			}
+
+			return new PageImpl<T>(content, pageable, totalSupplier.get());
+		}
+
+		if (content.size() != 0 && pageable.getPageSize() > content.size()) {
+			return new PageImpl<T>(content, pageable, discard(totalSupplier, pageable.getOffset() + content.size()));
+		}
+
+		return new PageImpl<T>(content, pageable, totalSupplier.get());
+	}
+
+	/**
+	 * Returns a {@link TotalSupplier} returning the total found by the given {@link QueryResultCache.Lookup}.
+	 * 
+	 * @param lookup must not be {@literal null} and must be a hit.
+	 * @return
+	 * @since 1.9
+	 */
+	public static TotalSupplier getCachedTotal(QueryResultCache.Lookup lookup) {
+
+		Assert.notNull(lookup, "Lookup must not be null!");
+
+		final long total = ((Number) lookup.getValue()).longValue();
+
+		return new TotalSupplier() {
+
+			public long get() {
+				return total;
+			}
+		};
+	}
+
+	/**
+	 * Returns a {@link TotalSupplier} caching the total calculated by the given {@link TotalSupplier} using the given
+	 * {@link QueryResultCache.Lookup} that missed.
+	 * 
+	 * @param lookup must not be {@literal null}.
+	 * @param totalSupplier must not be {@literal null}.
+	 * @return
+	 * @since 1.9
+	 */
+	public static TotalSupplier cachingTotal(final QueryResultCache.Lookup lookup, final TotalSupplier totalSupplier) {
+
+		Assert.notNull(lookup, "Lookup must not be null!");
+		Assert.notNull(totalSupplier, "TotalSupplier must not be null!");
+
+		return new TotalSupplier() {
+
+			public long get() {
+
+				long total = totalSupplier.get();
+				lookup.cache(total);
+
+				return total;
+			}
+		};
+	}
+
+	/**
+	 * Cancels the given {@link TotalSupplier} if it's a {@link CancellableTotalSupplier} as the total was derived from the
+	 * content.
+	 * 
+	 * @param totalSupplier must not be {@literal null}.
+	 * @param total the total derived.
+	 * @return the given total.
+	 */
+	private static long discard(TotalSupplier totalSupplier, long total) {
+
+		if (totalSupplier instanceof CancellableTotalSupplier) {
+			((CancellableTotalSupplier) totalSupplier).cancel();
+		}
+
+		return total;
+	}
+
+	/**
+	 * Callback to calculate the total number of elements, usually by executing a count query.
+	 * 
+	 * @author agent
+	 */
+	public interface TotalSupplier {
+
+		/**
+		 * Returns the total number of elements.
+		 * 
+		 * @return
+		 */
+		long get();
+	}
+
+	/**
+	 * {@link TotalSupplier} whose calculation was already started in the background and has to be cancelled if the total
+	 * is not needed.
+	 * 
+	 * @author agent
+	 * @since 1.9
+	 */
+	public interface CancellableTotalSupplier extends TotalSupplier {
+
+		/**
+		 * Cancels the calculation of the total.
+		 */
+		void cancel();
+	}
+}
@@ -15,13 +15,17 @@
  */
 package org.springframework.data.jpa.repository.query;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 import javax.persistence.Query;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.KeysetPageRequest;
 import org.springframework.data.jpa.repository.query.JpaParameters.JpaParameter;
+import org.springframework.data.jpa.repository.query.StringQuery.ParameterBinding;
 import org.springframework.data.repository.query.Parameters;
 import org.springframework.util.Assert;
 
@@ -37,6 +41,10 @@ public class ParameterBinder {
 	private final JpaParameters parameters;
 	private final Object[] values;
 
+	private BindInstruction[] instructions;
+	private Query inspectedQuery;
+	private boolean namedParameters;
+
 	/**
 	 * Creates a new {@link ParameterBinder}.
 	 * 
@@ -44,6 +52,19 @@ public class ParameterBinder {
 	 * @param values must not be {@literal null}.
 	 */
 	public ParameterBinder(JpaParameters parameters, Object[] values) {
+		this(parameters, values, null);
+	}
+
+	/**
+	 * Creates a new {@link ParameterBinder} using the given {@link BindInstruction}s previously obtained from a binder
+	 * for the same query via {@link #getInstructions()}.
+	 * 
+	 * @param parameters must not be {@literal null}.
+	 * @param values must not be {@literal null}.
+	 * @param instructions can be {@literal null}, the instructions will be created on demand in that case.
+	 * @since 1.9
+	 */
+	ParameterBinder(JpaParameters parameters, Object[] values, BindInstruction[] instructions) {
 
 		Assert.notNull(parameters);
 		Assert.notNull(values);
@@ -52,6 +73,7 @@ public class ParameterBinder {
 
 		this.parameters = parameters;
 		this.values = values.clone();
+		this.instructions = instructions;
 	}
 
 	ParameterBinder(JpaParameters parameters) {
@@ -99,22 +121,58 @@ public class ParameterBinder {
 	 */
 	public <T extends Query> T bind(T query) {
 
-		int methodParameterPosition = 0;
-		int queryParameterPosition = 1;
+		for (BindInstruction instruction : getInstructions()) {
+			bind(query, instruction.getParameter(), values[instruction.getIndex()], instruction.getPosition());
+		}
+
+		return query;
+	}
+
+	/**
+	 * Returns the {@link BindInstruction}s for the method parameters to be bound. As they only depend on the method
+	 * parameters and the query declaration, they can be handed to the binders created for subsequent invocations of the
+	 * same query.
+	 * 
+	 * @return
+	 * @since 1.9
+	 */
+	BindInstruction[] getInstructions() {
 
-		for (JpaParameter parameter : parameters) {
+		if (instructions == null) {
 
-			if (canBindParameter(parameter)) {
+			List<BindInstruction> result = new ArrayList<BindInstruction>();
 
-				Object value = values[methodParameterPosition];
+			int methodParameterPosition = 0;
+			int queryParameterPosition = 1;
 
-				bind(query, parameter, value, queryParameterPosition++);
+			for (JpaParameter parameter : parameters) {
+
+				if (canBindParameter(parameter)) {
+					result.add(new BindInstruction(parameter, methodParameterPosition, queryParameterPosition,
+							getBindingFor(parameter, queryParameterPosition)));
+					queryParameterPosition++;
+				}
+
+				methodParameterPosition++;
 			}
 
-			methodParameterPosition++;
+			this.instructions = result.toArray(new BindInstruction[result.size()]);
 		}
 
-		return query;
+		return instructions;
+	}
+
+	/**
+	 * Returns the {@link ParameterBinding} describing how to prepare the values bound for the given parameter at the
+	 * given query parameter position. The default implementation returns {@literal null}.
+	 * 
+	 * @param parameter will never be {@literal null}.
+	 * @param position the query parameter position.
+	 * @return
+	 * @since 1.9
+	 */
+	ParameterBinding getBindingFor(JpaParameter parameter, int position) {
+		return null;
 	}
 
 	/**
@@ -138,7 +196,7 @@ public class ParameterBinder {
 	protected void bind(Query query, JpaParameter parameter, Object value, int position) {
 
 		if (parameter.isTemporalParameter()) {
-			if (hasNamedParameter(query) && parameter.isNamedParameter()) {
+			if (parameter.isNamedParameter() && usesNamedParameters(query)) {
 				query.setParameter(parameter.getName(), (Date) value, parameter.getTemporalType());
 			} else {
 				query.setParameter(position, (Date) value, parameter.getTemporalType());
@@ -146,7 +204,7 @@ public class ParameterBinder {
 			return;
 		}
 
-		if (hasNamedParameter(query) && parameter.isNamedParameter()) {
+		if (parameter.isNamedParameter() && usesNamedParameters(query)) {
 			query.setParameter(parameter.getName(), value);
 		} else {
 			query.setParameter(position, value);
@@ -167,6 +225,23 @@ public class ParameterBinder {
 		return QueryUtils.hasNamedParameter(query);
 	}
 
+	/**
+	 * Returns whether the given {@link Query} uses named parameters, inspecting each {@link Query} only once instead of
+	 * for every parameter bound.
+	 * 
+	 * @param query must not be {@literal null}.
+	 * @return
+	 */
+	private boolean usesNamedParameters(Query query) {
+
+		if (query != inspectedQuery) {
+			this.namedParameters = hasNamedParameter(query);
+			this.inspectedQuery = query;
+		}
+
+		return namedParameters;
+	}
+
 	private Query bindAndPrepare(Query query, Parameters<?, ?> parameters) {
 
 		Query result = bind(query);
@@ -175,8 +250,10 @@ public class ParameterBinder {
 			return result;
 		}
 
-		result.setFirstResult(getPageable().getOffset());
-		result.setMaxResults(getPageable().getPageSize());
+		Pageable pageable = getPageable();
+
+		result.setFirstResult(pageable instanceof KeysetPageRequest ? 0 : pageable.getOffset());
+		result.setMaxResults(pageable.getPageSize());
 
 		return result;
 	}
@@ -198,4 +275,70 @@ public class ParameterBinder {
 	JpaParameters getParameters() {
 		return parameters;
 	}
+
+	/**
+	 * Instruction to bind the argument of a method parameter to a query parameter.
+	 * 
+	 * @author agent
+	 * @since 1.9
+	 */
+	static final class BindInstruction {
+
+		private final JpaParameter parameter;
+		private final int index;
+		private final int position;
+		private final ParameterBinding binding;
+
+		/**
+		 * Creates a new {@link BindInstruction}.
+		 * 
+		 * @param parameter must not be {@literal null}.
+		 * @param index the index of the method parameter.
+		 * @param position the position of the query parameter.
+		 * @param binding can be {@literal null}.
+		 */
+		BindInstruction(JpaParameter parameter, int index, int position, ParameterBinding binding) {
+
+			this.parameter = parameter;
+			this.index = index;
+			this.position = position;
+			this.binding = binding;
+		}
+
+		/**
+		 * Returns the method parameter to bind.
+		 * 
+		 * @return
+		 */
+		public JpaParameter getParameter() {
+			return parameter;
+		}
+
+		/**
+		 * Returns the index of the method parameter, i.e. of the value to bind.
+		 * 
+		 * @return
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * Returns the position of the query parameter to bind the value to.
+		 * 
+		 * @return
+		 */
+		public int getPosition() {
+			return position;
+		}
+
+		/**
+		 * Returns the {@link ParameterBinding} to prepare the value with or {@literal null} if the value is bound as is.
+		 * 
+		 * @return
+		 */
+		public ParameterBinding getBinding() {
+			return binding;
+		}
+	}
 }
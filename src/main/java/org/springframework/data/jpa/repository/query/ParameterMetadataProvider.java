@@ -49,6 +49,7 @@ class ParameterMetadataProvider {
 	private final List<ParameterMetadata<?>> expressions;
 	private final Iterator<Object> bindableParameterValues;
 	private final PersistenceProvider persistenceProvider;
+	private final boolean nameParameters;
 
 	/**
 	 * Creates a new {@link ParameterMetadataProvider} from the given {@link CriteriaBuilder} and
@@ -62,7 +63,25 @@ class ParameterMetadataProvider {
 	public ParameterMetadataProvider(CriteriaBuilder builder, ParametersParameterAccessor accessor,
 			PersistenceProvider provider) {
 
-		this(builder, accessor.iterator(), accessor.getParameters(), provider);
+		this(builder, accessor, provider, false);
+	}
+
+	/**
+	 * Creates a new {@link ParameterMetadataProvider} from the given {@link CriteriaBuilder} and
+	 * {@link ParametersParameterAccessor} with support for parameter value customizations via {@link PersistenceProvider}
+	 * , optionally naming all parameter expressions.
+	 * 
+	 * @param builder must not be {@literal null}.
+	 * @param accessor must not be {@literal null}.
+	 * @param provider must not be {@literal null}.
+	 * @param nameParameters whether to name the {@link ParameterExpression}s of parameters not named explicitly.
+	 * @see #getParameterName(int)
+	 * @since 1.9
+	 */
+	public ParameterMetadataProvider(CriteriaBuilder builder, ParametersParameterAccessor accessor,
+			PersistenceProvider provider, boolean nameParameters) {
+
+		this(builder, accessor.iterator(), accessor.getParameters(), provider, nameParameters);
 	}
 
 	/**
@@ -75,7 +94,25 @@ class ParameterMetadataProvider {
 	 */
 	public ParameterMetadataProvider(CriteriaBuilder builder, Parameters<?, ?> parameters, PersistenceProvider provider) {
 
-		this(builder, null, parameters, provider);
+		this(builder, parameters, provider, false);
+	}
+
+	/**
+	 * Creates a new {@link ParameterMetadataProvider} from the given {@link CriteriaBuilder} and {@link Parameters} with
+	 * support for parameter value customizations via {@link PersistenceProvider}, optionally naming all parameter
+	 * expressions.
+	 * 
+	 * @param builder must not be {@literal null}.
+	 * @param parameters must not be {@literal null}.
+	 * @param provider must not be {@literal null}.
+	 * @param nameParameters whether to name the {@link ParameterExpression}s of parameters not named explicitly.
+	 * @see #getParameterName(int)
+	 * @since 1.9
+	 */
+	public ParameterMetadataProvider(CriteriaBuilder builder, Parameters<?, ?> parameters, PersistenceProvider provider,
+			boolean nameParameters) {
+
+		this(builder, null, parameters, provider, nameParameters);
 	}
 
 	/**
@@ -87,9 +124,10 @@ class ParameterMetadataProvider {
 	 * @param bindableParameterValues may be {@literal null}.
 	 * @param parameters must not be {@literal null}.
 	 * @param provider must not be {@literal null}.
+	 * @param nameParameters whether to name the {@link ParameterExpression}s of parameters not named explicitly.
 	 */
 	private ParameterMetadataProvider(CriteriaBuilder builder, Iterator<Object> bindableParameterValues,
-			Parameters<?, ?> parameters, PersistenceProvider provider) {
+			Parameters<?, ?> parameters, PersistenceProvider provider, boolean nameParameters) {
 
 		Assert.notNull(builder);
 		Assert.notNull(parameters);
@@ -100,6 +138,7 @@ class ParameterMetadataProvider {
 		this.expressions = new ArrayList<ParameterMetadata<?>>();
 		this.bindableParameterValues = bindableParameterValues;
 		this.persistenceProvider = provider;
+		this.nameParameters = nameParameters;
 	}
 
 	/**
@@ -111,6 +150,20 @@ class ParameterMetadataProvider {
 		return Collections.unmodifiableList(expressions);
 	}
 
+	/**
+	 * Returns the name of the {@link ParameterExpression} with the given index if parameters are named but the query
+	 * method parameter isn't. Uses a prefix that doesn't clash with the names persistence providers generate for unnamed
+	 * parameters and literals when rendering a {@link javax.persistence.criteria.CriteriaQuery}, e.g. Hibernate's
+	 * {@code param0}.
+	 * 
+	 * @param index
+	 * @return
+	 * @since 1.9
+	 */
+	static String getParameterName(int index) {
+		return "__sdjpa_p" + index;
+	}
+
 	/**
 	 * Builds a new {@link ParameterMetadata} for given {@link Part} and the next {@link Parameter}.
 	 * 
@@ -159,6 +212,10 @@ class ParameterMetadataProvider {
 		@SuppressWarnings("unchecked")
 		Class<T> reifiedType = Expression.class.equals(type) ? (Class<T>) Object.class : type;
 
+		if (name == null && nameParameters) {
+			name = getParameterName(expressions.size());
+		}
+
 		ParameterExpression<T> expression = name == null ? builder.parameter(reifiedType) : builder.parameter(reifiedType,
 				name);
 		ParameterMetadata<T> value = new ParameterMetadata<T>(expression, part.getType(),
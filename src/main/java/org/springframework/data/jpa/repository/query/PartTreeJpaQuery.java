@@ -15,20 +15,30 @@
  */
 package org.springframework.data.jpa.repository.query;
 
+import java.util.BitSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.persistence.EntityManager;
+import javax.persistence.Parameter;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.KeysetPageRequest;
 import org.springframework.data.jpa.provider.PersistenceProvider;
 import org.springframework.data.jpa.repository.query.JpaQueryExecution.DeleteExecution;
 import org.springframework.data.jpa.repository.query.ParameterMetadataProvider.ParameterMetadata;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
 
 /**
  * A {@link AbstractJpaQuery} implementation based on a {@link PartTree}.
@@ -38,6 +48,9 @@ import org.springframework.data.repository.query.parser.PartTree;
  */
 public class PartTreeJpaQuery extends AbstractJpaQuery {
 
+	static final int DEFAULT_MAX_NULL_VALUE_VARIANTS = 32;
+	private static final int MAX_SORT_VARIANTS = 256;
+
 	private final Class<?> domainClass;
 	private final PartTree tree;
 	private final JpaParameters parameters;
@@ -46,6 +59,8 @@ public class PartTreeJpaQuery extends AbstractJpaQuery {
 	private final QueryPreparer countQuery;
 	private final EntityManager em;
 
+	private int maxNullValueVariants = DEFAULT_MAX_NULL_VALUE_VARIANTS;
+
 	/**
 	 * Creates a new {@link PartTreeJpaQuery}.
 	 * 
@@ -61,8 +76,23 @@ public class PartTreeJpaQuery extends AbstractJpaQuery {
 		this.tree = new PartTree(method.getName(), domainClass);
 		this.parameters = method.getParameters();
 
-		this.countQuery = new CountQueryPreparer(parameters.potentiallySortsDynamically());
-		this.query = tree.isCountProjection() ? countQuery : new QueryPreparer(parameters.potentiallySortsDynamically());
+		this.countQuery = new CountQueryPreparer();
+		this.query = tree.isCountProjection() ? countQuery : new QueryPreparer();
+	}
+
+	/**
+	 * Configures the maximum number of query variants to cache per query for invocations with {@literal null} arguments.
+	 * Such invocations require a different query as they have to be turned into {@code IS NULL} restrictions. The
+	 * variants are cached by the dynamic {@link Sort} and the combination of arguments being {@literal null}. Defaults to
+	 * {@value #DEFAULT_MAX_NULL_VALUE_VARIANTS}, {@literal 0} disables caching the variants.
+	 * 
+	 * @param maxNullValueVariants must not be negative.
+	 * @since 1.9
+	 */
+	public void setMaxNullValueVariants(int maxNullValueVariants) {
+
+		Assert.isTrue(maxNullValueVariants >= 0, "Maximum number of null value variants must not be negative!");
+		this.maxNullValueVariants = maxNullValueVariants;
 	}
 
 	/*
@@ -94,21 +124,24 @@ public class PartTreeJpaQuery extends AbstractJpaQuery {
 	}
 
 	/**
-	 * Query preparer to create {@link CriteriaQuery} instances and potentially cache them.
+	 * Query preparer to create {@link CriteriaQuery} instances and cache them. Cached queries are rendered into JPQL if
+	 * the {@link PersistenceProvider} supports that so that {@link Query} instances can be created from the JPQL
+	 * without synchronizing on the {@link CriteriaQuery}.
 	 * 
 	 * @author Oliver Gierke
 	 * @author Thomas Darimont
 	 */
 	private class QueryPreparer {
 
-		private final CriteriaQuery<?> cachedCriteriaQuery;
-		private final List<ParameterMetadata<?>> expressions;
+		private final QueryVariant defaultVariant;
+		private final ConcurrentMap<Sort, QueryVariant> sortVariants;
+		private final ConcurrentMap<VariantKey, QueryVariant> nullValueVariants;
 
-		public QueryPreparer(boolean recreateQueries) {
+		public QueryPreparer() {
 
-			JpaQueryCreator creator = createCreator(null);
-			this.cachedCriteriaQuery = recreateQueries ? null : creator.createQuery();
-			this.expressions = recreateQueries ? null : creator.getParameterExpressions();
+			this.sortVariants = new ConcurrentHashMap<Sort, QueryVariant>();
+			this.nullValueVariants = new ConcurrentHashMap<VariantKey, QueryVariant>();
+			this.defaultVariant = createVariant(null, null, true);
 		}
 
 		/**
@@ -119,19 +152,134 @@ public class PartTreeJpaQuery extends AbstractJpaQuery {
 		 */
 		public Query createQuery(Object[] values) {
 
-			CriteriaQuery<?> criteriaQuery = cachedCriteriaQuery;
-			List<ParameterMetadata<?>> expressions = this.expressions;
 			ParametersParameterAccessor accessor = new ParametersParameterAccessor(parameters, values);
+			Sort sort = getDynamicSort(accessor);
 
-			if (cachedCriteriaQuery == null || accessor.hasBindableNullValue()) {
-				JpaQueryCreator creator = createCreator(accessor);
-				criteriaQuery = creator.createQuery(getDynamicSort(values));
-				expressions = creator.getParameterExpressions();
+			QueryVariant variant = isCacheable(accessor) ? getVariant(accessor, sort) : createVariant(accessor, sort, false);
+			TypedQuery<?> jpaQuery = variant.createQuery(getEntityManager());
+			KeysetPageRequest keyset = getKeysetPageRequest(accessor);
+
+			if (keyset != null) {
+				QueryUtils.bindKeysetParameters(jpaQuery, keyset);
 			}
 
-			TypedQuery<?> jpaQuery = createQuery(criteriaQuery);
+			return restrictMaxResultsIfNecessary(invokeBinding(getBinder(values, variant), jpaQuery));
+		}
+
+		/**
+		 * Returns the {@link QueryVariant} for the given {@link Sort} and the combination of {@literal null} arguments of
+		 * the given {@link ParametersParameterAccessor}, creating and caching it if necessary.
+		 * 
+		 * @param accessor must not be {@literal null}.
+		 * @param sort can be {@literal null}.
+		 * @return
+		 */
+		private QueryVariant getVariant(ParametersParameterAccessor accessor, Sort sort) {
+
+			BitSet nullValues = new BitSet();
+			int index = 0;
+
+			for (Object value : accessor) {
+
+				if (value == null) {
+					nullValues.set(index);
+				}
+
+				index++;
+			}
+
+			if (!nullValues.isEmpty()) {
+				return getVariant(nullValueVariants, new VariantKey(sort, nullValues), maxNullValueVariants, accessor, sort);
+			}
+
+			return sort == null ? defaultVariant : getVariant(sortVariants, sort, MAX_SORT_VARIANTS, accessor, sort);
+		}
+
+		private <K> QueryVariant getVariant(ConcurrentMap<K, QueryVariant> variants, K key, int maxVariants,
+				ParametersParameterAccessor accessor, Sort sort) {
+
+			QueryVariant variant = variants.get(key);
+
+			if (variant != null) {
+				return variant;
+			}
+
+			if (variants.size() >= maxVariants) {
+				return createVariant(accessor, sort, false);
+			}
+
+			variant = createVariant(accessor, sort, true);
+			QueryVariant existing = variants.putIfAbsent(key, variant);
+
+			return existing == null ? variant : existing;
+		}
+
+		/**
+		 * Creates a new {@link QueryVariant} for the given {@link ParametersParameterAccessor} and {@link Sort}. Variants
+		 * to be cached get rendered into JPQL.
+		 * 
+		 * @param accessor can be {@literal null}.
+		 * @param sort can be {@literal null}.
+		 * @param cached whether the {@link QueryVariant} is going to be cached and thus potentially used concurrently.
+		 * @return
+		 */
+		private QueryVariant createVariant(ParametersParameterAccessor accessor, Sort sort, boolean cached) {
+
+			JpaQueryCreator creator = createCreator(accessor, cached);
+			CriteriaQuery<?> criteriaQuery = creator.createQuery(sort);
+			List<ParameterMetadata<?>> expressions = creator.getParameterExpressions();
 
-			return restrictMaxResultsIfNecessary(invokeBinding(getBinder(values, expressions), jpaQuery));
+			return new QueryVariant(criteriaQuery, cached ? render(criteriaQuery, expressions) : null, expressions, cached);
+		}
+
+		/**
+		 * Renders the given {@link CriteriaQuery} into JPQL using a dedicated {@link EntityManager}. The JPQL is only used
+		 * if it contains exactly the named parameters of the given {@link ParameterMetadata} that have to be bound.
+		 * 
+		 * @param criteriaQuery must not be {@literal null}.
+		 * @param expressions must not be {@literal null}.
+		 * @return the JPQL or {@literal null} if the {@link CriteriaQuery} can't be rendered.
+		 */
+		private String render(CriteriaQuery<?> criteriaQuery, List<ParameterMetadata<?>> expressions) {
+
+			EntityManager entityManager = getEntityManager();
+			PersistenceProvider provider = PersistenceProvider.fromEntityManager(entityManager);
+			EntityManager renderingEm = null;
+
+			try {
+
+				renderingEm = entityManager.getEntityManagerFactory().createEntityManager();
+				String queryString = provider.renderCriteriaQuery(renderingEm.createQuery(criteriaQuery));
+
+				if (queryString == null) {
+					return null;
+				}
+
+				Set<String> parameterNames = new HashSet<String>();
+
+				for (ParameterMetadata<?> expression : expressions) {
+					if (!expression.isIsNullParameter()) {
+						parameterNames.add(expression.getExpression().getName());
+					}
+				}
+
+				Set<String> renderedParameterNames = new HashSet<String>();
+
+				for (Parameter<?> parameter : renderingEm.createQuery(queryString, criteriaQuery.getResultType())
+						.getParameters()) {
+					renderedParameterNames.add(parameter.getName());
+				}
+
+				return parameterNames.equals(renderedParameterNames) ? queryString : null;
+
+			} catch (RuntimeException o_O) {
+				return null;
+			} finally {
+
+				if (renderingEm != null) {
+					renderingEm.close();
+				}
+			}
 		}
 
 		/**
@@ -164,35 +312,24 @@ public class PartTreeJpaQuery extends AbstractJpaQuery {
 		}
 
 		/**
-		 * Checks whether we are working with a cached {@link CriteriaQuery} and snychronizes the creation of a
-		 * {@link TypedQuery} instance from it. This is due to non-thread-safety in the {@link CriteriaQuery} implementation
-		 * of some persistence providers (i.e. Hibernate in this case).
+		 * Creates a {@link JpaQueryCreator} for the given {@link ParametersParameterAccessor}.
 		 * 
-		 * @see DATAJPA-396
-		 * @param criteriaQuery must not be {@literal null}.
+		 * @param accessor can be {@literal null}.
+		 * @param nameParameters whether to name all parameter expressions so that the query can be bound after being
+		 *          rendered into JPQL.
 		 * @return
 		 */
-		private TypedQuery<?> createQuery(CriteriaQuery<?> criteriaQuery) {
-
-			if (this.cachedCriteriaQuery != null) {
-				synchronized (this.cachedCriteriaQuery) {
-					return getEntityManager().createQuery(criteriaQuery);
-				}
-			}
-
-			return getEntityManager().createQuery(criteriaQuery);
-		}
-
-		protected JpaQueryCreator createCreator(ParametersParameterAccessor accessor) {
+		protected JpaQueryCreator createCreator(ParametersParameterAccessor accessor, boolean nameParameters) {
 
 			EntityManager entityManager = getEntityManager();
 			CriteriaBuilder builder = entityManager.getCriteriaBuilder();
 			PersistenceProvider persistenceProvider = PersistenceProvider.fromEntityManager(entityManager);
 
 			ParameterMetadataProvider provider = accessor == null ? new ParameterMetadataProvider(builder, parameters,
-					persistenceProvider) : new ParameterMetadataProvider(builder, accessor, persistenceProvider);
+					persistenceProvider, nameParameters) : new ParameterMetadataProvider(builder, accessor,
+					persistenceProvider, nameParameters);
 
-			return new JpaQueryCreator(tree, domainClass, builder, provider);
+			return new JpaQueryCreator(tree, domainClass, builder, provider, getKeysetPageRequest(accessor));
 		}
 
 		/**
@@ -207,14 +344,156 @@ public class PartTreeJpaQuery extends AbstractJpaQuery {
 			return binder.bindAndPrepare(query);
 		}
 
-		private ParameterBinder getBinder(Object[] values, List<ParameterMetadata<?>> expressions) {
-			return new CriteriaQueryParameterBinder(parameters, values, expressions);
+		/**
+		 * Returns whether the query for the given {@link ParametersParameterAccessor} can be cached. Queries for keyset
+		 * pagination contain the keyset values as literals and thus can't.
+		 * 
+		 * @param accessor must not be {@literal null}.
+		 * @return
+		 */
+		protected boolean isCacheable(ParametersParameterAccessor accessor) {
+			return getKeysetPageRequest(accessor) == null;
 		}
 
-		private Sort getDynamicSort(Object[] values) {
+		/**
+		 * Returns the {@link Sort} to be applied dynamically for the given {@link ParametersParameterAccessor}.
+		 * 
+		 * @param accessor must not be {@literal null}.
+		 * @return the {@link Sort} or {@literal null} if the query is not sorted dynamically.
+		 */
+		protected Sort getDynamicSort(ParametersParameterAccessor accessor) {
+
+			if (!parameters.potentiallySortsDynamically()) {
+				return null;
+			}
 
-			return parameters.potentiallySortsDynamically() ? new ParametersParameterAccessor(parameters, values).getSort()
-					: null;
+			KeysetPageRequest keyset = getKeysetPageRequest(accessor);
+
+			return keyset == null ? accessor.getSort() : keyset.getSort();
+		}
+
+		private ParameterBinder getBinder(Object[] values, QueryVariant variant) {
+			return keepBindInstructions(new CriteriaQueryParameterBinder(parameters, values, variant.expressions,
+					getBindInstructions(), variant.isRendered()));
+		}
+
+		/**
+		 * Returns the {@link KeysetPageRequest} handed into the method invocation with the {@link Sort} completed by the
+		 * identifier properties or {@literal null} if the invocation doesn't use keyset pagination.
+		 * 
+		 * @param accessor can be {@literal null}.
+		 * @return
+		 */
+		private KeysetPageRequest getKeysetPageRequest(ParametersParameterAccessor accessor) {
+
+			Pageable pageable = accessor == null ? null : accessor.getPageable();
+
+			return pageable instanceof KeysetPageRequest ? withIdTiebreaker((KeysetPageRequest) pageable) : null;
+		}
+	}
+
+	/**
+	 * A variant of a query for a particular dynamic {@link Sort} and combination of {@literal null} arguments. Cached
+	 * variants keep the JPQL the {@link CriteriaQuery} was rendered into if the {@link PersistenceProvider} supports
+	 * that.
+	 * 
+	 * @author agent
+	 * @since 1.9
+	 */
+	private static class QueryVariant {
+
+		private final CriteriaQuery<?> criteriaQuery;
+		private final String queryString;
+		private final List<ParameterMetadata<?>> expressions;
+		private final boolean cached;
+
+		public QueryVariant(CriteriaQuery<?> criteriaQuery, String queryString, List<ParameterMetadata<?>> expressions,
+				boolean cached) {
+
+			this.criteriaQuery = criteriaQuery;
+			this.queryString = queryString;
+			this.expressions = expressions;
+			this.cached = cached;
+		}
+
+		/**
+		 * Returns whether the variant was rendered into JPQL, i.e. its parameters have to be bound by name.
+		 * 
+		 * @return
+		 */
+		public boolean isRendered() {
+			return queryString != null;
+		}
+
+		/**
+		 * Creates a {@link TypedQuery} from the rendered JPQL or the {@link CriteriaQuery}. Creating it from a cached
+		 * {@link CriteriaQuery} is synchronized due to non-thread-safety in the {@link CriteriaQuery} implementation of
+		 * some persistence providers (i.e. Hibernate in this case).
+		 * 
+		 * @see DATAJPA-396
+		 * @param em must not be {@literal null}.
+		 * @return
+		 */
+		public TypedQuery<?> createQuery(EntityManager em) {
+
+			if (queryString != null) {
+				return em.createQuery(queryString, criteriaQuery.getResultType());
+			}
+
+			if (cached) {
+				synchronized (criteriaQuery) {
+					return em.createQuery(criteriaQuery);
+				}
+			}
+
+			return em.createQuery(criteriaQuery);
+		}
+	}
+
+	/**
+	 * Key of a {@link QueryVariant} for invocations with {@literal null} arguments.
+	 * 
+	 * @author agent
+	 * @since 1.9
+	 */
+	private static class VariantKey {
+
+		private final Sort sort;
+		private final BitSet nullValues;
+
+		public VariantKey(Sort sort, BitSet nullValues) {
+
+			this.sort = sort;
+			this.nullValues = nullValues;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof VariantKey)) {
+				return false;
+			}
+
+			VariantKey that = (VariantKey) obj;
+
+			return ObjectUtils.nullSafeEquals(this.sort, that.sort) && this.nullValues.equals(that.nullValues);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return 31 * ObjectUtils.nullSafeHashCode(sort) + nullValues.hashCode();
 		}
 	}
 
@@ -226,23 +505,20 @@ public class PartTreeJpaQuery extends AbstractJpaQuery {
 	 */
 	private class CountQueryPreparer extends QueryPreparer {
 
-		public CountQueryPreparer(boolean recreateQueries) {
-			super(recreateQueries);
-		}
-
 		/*
 		 * (non-Javadoc)
-		 * @see org.springframework.data.jpa.repository.query.PartTreeJpaQuery.QueryPreparer#createCreator(org.springframework.data.repository.query.ParametersParameterAccessor)
+		 * @see org.springframework.data.jpa.repository.query.PartTreeJpaQuery.QueryPreparer#createCreator(org.springframework.data.repository.query.ParametersParameterAccessor, boolean)
 		 */
 		@Override
-		protected JpaQueryCreator createCreator(ParametersParameterAccessor accessor) {
+		protected JpaQueryCreator createCreator(ParametersParameterAccessor accessor, boolean nameParameters) {
 
 			EntityManager entityManager = getEntityManager();
 			CriteriaBuilder builder = entityManager.getCriteriaBuilder();
 			PersistenceProvider persistenceProvider = PersistenceProvider.fromEntityManager(entityManager);
 
 			ParameterMetadataProvider provider = accessor == null ? new ParameterMetadataProvider(builder, parameters,
-					persistenceProvider) : new ParameterMetadataProvider(builder, accessor, persistenceProvider);
+					persistenceProvider, nameParameters) : new ParameterMetadataProvider(builder, accessor,
+					persistenceProvider, nameParameters);
 
 			return new JpaCountQueryCreator(tree, domainClass, builder, provider);
 		}
@@ -257,5 +533,25 @@ public class PartTreeJpaQuery extends AbstractJpaQuery {
 		protected Query invokeBinding(ParameterBinder binder, javax.persistence.TypedQuery<?> query) {
 			return binder.bind(query);
 		}
+
+		/**
+		 * Count queries don't consider keyset restrictions and can thus always be cached.
+		 * 
+		 * @see org.springframework.data.jpa.repository.query.PartTreeJpaQuery.QueryPreparer#isCacheable(org.springframework.data.repository.query.ParametersParameterAccessor)
+		 */
+		@Override
+		protected boolean isCacheable(ParametersParameterAccessor accessor) {
+			return true;
+		}
+
+		/**
+		 * Count queries don't need to be sorted.
+		 * 
+		 * @see org.springframework.data.jpa.repository.query.PartTreeJpaQuery.QueryPreparer#getDynamicSort(org.springframework.data.repository.query.ParametersParameterAccessor)
+		 */
+		@Override
+		protected Sort getDynamicSort(ParametersParameterAccessor accessor) {
+			return null;
+		}
 	}
 }
@@ -0,0 +1,692 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Size bounded cache for query results with a time to live. Entries are associated with the domain type they were
+ * read for and are invalidated by {@link #evict(Class)} for that type, one of its super types or one of its sub types
+ * or individually by {@link #evict(Class, Object)}. Evictions issued within a transaction are repeated after the
+ * transaction completes, so that results read concurrently before the commit don't survive it. Entries are distributed
+ * over a number of segments, each of which evicts its least recently used entries once it exceeds its share of the
+ * maximum size.
+ * 
+ * @author agent
+ * @since 1.9
+ */
+public class QueryResultCache {
+
+	private static final int MAX_SEGMENTS = 16;
+	private static final int STAMPS_PER_SEGMENT = 64;
+
+	private final Segment[] segments;
+	private final long timeToLive;
+	private final ConcurrentMap<Class<?>, AtomicLong> generations;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * Creates a new {@link QueryResultCache} holding the given maximum number of entries for the given time.
+	 * 
+	 * @param maximumSize must be greater than zero.
+	 * @param timeToLive must be greater than zero.
+	 * @param unit must not be {@literal null}.
+	 */
+	public QueryResultCache(int maximumSize, long timeToLive, TimeUnit unit) {
+		this(maximumSize, timeToLive, unit, new ConcurrentHashMap<Class<?>, AtomicLong>());
+	}
+
+	private QueryResultCache(int maximumSize, long timeToLive, TimeUnit unit,
+			ConcurrentMap<Class<?>, AtomicLong> generations) {
+
+		Assert.isTrue(maximumSize > 0, "Maximum size must be greater than zero!");
+		Assert.isTrue(timeToLive > 0, "Time to live must be greater than zero!");
+		Assert.notNull(unit, "TimeUnit must not be null!");
+
+		int numberOfSegments = Math.min(MAX_SEGMENTS, maximumSize);
+
+		this.segments = new Segment[numberOfSegments];
+		this.timeToLive = unit.toNanos(timeToLive);
+		this.generations = generations;
+
+		for (int i = 0; i < numberOfSegments; i++) {
+			segments[i] = new Segment(maximumSize / numberOfSegments + (i < maximumSize % numberOfSegments ? 1 : 0));
+		}
+	}
+
+	/**
+	 * Creates a new {@link QueryResultCache} with the given limits sharing the evictions of domain types with this one,
+	 * i.e. evicting a domain type from one of the caches invalidates the entries of all of them. Evictions of individual
+	 * keys are not shared.
+	 * 
+	 * @param maximumSize must be greater than zero.
+	 * @param timeToLive must be greater than zero.
+	 * @param unit must not be {@literal null}.
+	 * @return
+	 */
+	public QueryResultCache createRegion(int maximumSize, long timeToLive, TimeUnit unit) {
+		return new QueryResultCache(maximumSize, timeToLive, unit, generations);
+	}
+
+	/**
+	 * Looks up the value cached for the given domain type and key. The {@link Lookup} returned allows to cache the value
+	 * in case of a miss, unless the domain type got evicted since the lookup. Lookups within a transaction that already
+	 * evicted a domain type always miss.
+	 * 
+	 * @param domainType must not be {@literal null}.
+	 * @param key can be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	public Lookup lookup(Class<?> domainType, Object key) {
+
+		Assert.notNull(domainType, "Domain type must not be null!");
+
+		CacheKey cacheKey = new CacheKey(domainType, key);
+		Segment segment = getSegment(cacheKey);
+
+		long generation = getGeneration(domainType);
+		long stamp = segment.getStamp(cacheKey);
+
+		// Cached values don't reflect the uncommitted changes of the current transaction
+		if (TransactionSynchronizationManager.hasResource(generations)) {
+
+			misses.incrementAndGet();
+			return new Lookup(cacheKey, null, generation, stamp);
+		}
+
+		Entry entry = segment.get(cacheKey);
+
+		if (entry != null && entry.isValid(System.nanoTime(), generation)) {
+			hits.incrementAndGet();
+			return new Lookup(cacheKey, entry, generation, stamp);
+		}
+
+		if (entry != null) {
+			segment.remove(cacheKey, entry);
+		}
+
+		misses.incrementAndGet();
+		return new Lookup(cacheKey, null, generation, stamp);
+	}
+
+	/**
+	 * Returns the value cached for the given domain type and key or obtains it from the given {@link Loader} and caches
+	 * it. Values loaded while the domain type gets evicted are not cached.
+	 * 
+	 * @param domainType must not be {@literal null}.
+	 * @param key can be {@literal null}.
+	 * @param loader must not be {@literal null}.
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	public <V> V get(Class<?> domainType, Object key, Loader<V> loader) {
+
+		Assert.notNull(loader, "Loader must not be null!");
+
+		Lookup lookup = lookup(domainType, key);
+
+		if (lookup.isHit()) {
+			return (V) lookup.getValue();
+		}
+
+		V value = loader.load();
+		lookup.cache(value);
+
+		return value;
+	}
+
+	/**
+	 * Caches the given value for the given domain type and key. Values are not cached if the current transaction already
+	 * evicted a domain type as they might reflect its uncommitted changes.
+	 * 
+	 * @param domainType must not be {@literal null}.
+	 * @param key can be {@literal null}.
+	 * @param value can be {@literal null}.
+	 */
+	public void put(Class<?> domainType, Object key, Object value) {
+
+		Assert.notNull(domainType, "Domain type must not be null!");
+		put(domainType, key, value, getGeneration(domainType));
+	}
+
+	/**
+	 * Invalidates all entries cached for the given domain type, its super types and its sub types. If called within a
+	 * transaction, the entries cached until the transaction completes are invalidated as well.
+	 * 
+	 * @param domainType must not be {@literal null}.
+	 */
+	public void evict(Class<?> domainType) {
+
+		Assert.notNull(domainType, "Domain type must not be null!");
+
+		invalidate(domainType);
+
+		PendingEvictions pending = getPendingEvictions();
+
+		if (pending != null) {
+			pending.types.add(domainType);
+		}
+	}
+
+	/**
+	 * Invalidates the entry cached for the given domain type and key. If called within a transaction, the entry cached
+	 * until the transaction completes is invalidated as well.
+	 * 
+	 * @param domainType must not be {@literal null}.
+	 * @param key can be {@literal null}.
+	 */
+	public void evict(Class<?> domainType, Object key) {
+
+		Assert.notNull(domainType, "Domain type must not be null!");
+
+		CacheKey cacheKey = new CacheKey(domainType, key);
+		invalidate(cacheKey);
+
+		PendingEvictions pending = getPendingEvictions();
+
+		if (pending != null) {
+			pending.add(this, cacheKey);
+		}
+	}
+
+	/**
+	 * Removes all entries from the cache.
+	 */
+	public void clear() {
+
+		for (Segment segment : segments) {
+			segment.clear();
+		}
+	}
+
+	/**
+	 * Returns the number of lookups that found a valid entry.
+	 * 
+	 * @return
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * Returns the number of lookups that didn't find a valid entry.
+	 * 
+	 * @return
+	 */
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	/**
+	 * Returns the number of entries removed to stay within the maximum size.
+	 * 
+	 * @return
+	 */
+	public long getEvictionCount() {
+		return evictions.get();
+	}
+
+	/**
+	 * Returns the number of entries currently held, including expired ones not removed yet.
+	 * 
+	 * @return
+	 */
+	public int size() {
+
+		int size = 0;
+
+		for (Segment segment : segments) {
+			size += segment.size();
+		}
+
+		return size;
+	}
+
+	private void put(Class<?> domainType, Object key, Object value, long generation) {
+		put(new CacheKey(domainType, key), value, generation);
+	}
+
+	private void put(CacheKey cacheKey, Object value, long generation) {
+
+		// Don't expose results potentially reflecting uncommitted changes of the current transaction
+		if (TransactionSynchronizationManager.hasResource(generations)) {
+			return;
+		}
+
+		getSegment(cacheKey).put(cacheKey, new Entry(value, System.nanoTime() + timeToLive, generation));
+	}
+
+	/**
+	 * Caches the given value unless the given key was invalidated since its lookup, i.e. the stamp of the key changed.
+	 * 
+	 * @param cacheKey must not be {@literal null}.
+	 * @param value can be {@literal null}.
+	 * @param generation the generation of the domain type when looking up the key.
+	 * @param stamp the stamp of the key when looking it up.
+	 */
+	private void putIfUnchanged(CacheKey cacheKey, Object value, long generation, long stamp) {
+
+		if (TransactionSynchronizationManager.hasResource(generations)) {
+			return;
+		}
+
+		Entry entry = new Entry(value, System.nanoTime() + timeToLive, generation);
+		getSegment(cacheKey).putIfUnchanged(cacheKey, entry, stamp);
+	}
+
+	/**
+	 * Returns the evictions to be repeated on completion of the current transaction, registering them if necessary.
+	 * 
+	 * @return the {@link PendingEvictions} or {@literal null} if no transaction synchronization is active.
+	 */
+	private PendingEvictions getPendingEvictions() {
+
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return null;
+		}
+
+		PendingEvictions pending = (PendingEvictions) TransactionSynchronizationManager.getResource(generations);
+
+		if (pending != null) {
+			return pending;
+		}
+
+		final PendingEvictions evictions = new PendingEvictions();
+
+		TransactionSynchronizationManager.bindResource(generations, evictions);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+			@Override
+			public void afterCompletion(int status) {
+
+				TransactionSynchronizationManager.unbindResourceIfPossible(generations);
+
+				for (Class<?> type : evictions.types) {
+					invalidate(type);
+				}
+
+				for (Map.Entry<QueryResultCache, Set<CacheKey>> keys : evictions.keys.entrySet()) {
+					for (CacheKey key : keys.getValue()) {
+						keys.getKey().invalidate(key);
+					}
+				}
+			}
+		});
+
+		return evictions;
+	}
+
+	private Segment getSegment(CacheKey key) {
+		return segments[spread(key) % segments.length];
+	}
+
+	private static int spread(CacheKey key) {
+
+		int hash = key.hashCode();
+		hash ^= (hash >>> 16);
+
+		return hash & Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Returns the generation of the given domain type which is the sum of the number of invalidations of the type and
+	 * its super types. Thus invalidating a type changes the generation of all its sub types.
+	 * 
+	 * @param domainType must not be {@literal null}.
+	 * @return
+	 */
+	private long getGeneration(Class<?> domainType) {
+
+		long generation = 0;
+
+		for (Class<?> type = domainType; type != null && type != Object.class; type = type.getSuperclass()) {
+
+			AtomicLong counter = generations.get(type);
+			generation += counter == null ? 0 : counter.get();
+		}
+
+		return generation;
+	}
+
+	/**
+	 * Invalidates the entries of the given domain type and its sub types by incrementing its generation as well as the
+	 * ones of its super types.
+	 * 
+	 * @param domainType must not be {@literal null}.
+	 */
+	private void invalidate(Class<?> domainType) {
+
+		for (Class<?> type = domainType; type != null && type != Object.class; type = type.getSuperclass()) {
+
+			AtomicLong counter = generations.get(type);
+
+			if (counter == null) {
+				AtomicLong newCounter = new AtomicLong();
+				counter = generations.putIfAbsent(type, newCounter);
+				counter = counter == null ? newCounter : counter;
+			}
+
+			counter.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Removes the entry cached for the given key, if any, and changes the stamp of the key, so that values looked up
+	 * before can't be cached anymore.
+	 * 
+	 * @param key must not be {@literal null}.
+	 */
+	private void invalidate(CacheKey key) {
+		getSegment(key).invalidate(key);
+	}
+
+	/**
+	 * The result of a lookup in the cache.
+	 * 
+	 * @author agent
+	 */
+	public class Lookup {
+
+		private final CacheKey key;
+		private final Entry entry;
+		private final long generation;
+		private final long stamp;
+
+		private Lookup(CacheKey key, Entry entry, long generation, long stamp) {
+
+			this.key = key;
+			this.entry = entry;
+			this.generation = generation;
+			this.stamp = stamp;
+		}
+
+		/**
+		 * Returns whether a valid entry was found.
+		 * 
+		 * @return
+		 */
+		public boolean isHit() {
+			return entry != null;
+		}
+
+		/**
+		 * Returns the cached value.
+		 * 
+		 * @return
+		 * @throws IllegalStateException if no valid entry was found.
+		 */
+		public Object getValue() {
+
+			Assert.state(isHit(), "No value cached!");
+			return entry.get();
+		}
+
+		/**
+		 * Caches the given value unless the domain type or the key got evicted since the lookup.
+		 * 
+		 * @param value can be {@literal null}.
+		 */
+		public void cache(Object value) {
+			putIfUnchanged(key, value, generation, stamp);
+		}
+	}
+
+	/**
+	 * Callback to obtain a value not cached yet.
+	 * 
+	 * @author agent
+	 */
+	public interface Loader<V> {
+
+		/**
+		 * Loads the value to be cached.
+		 * 
+		 * @return
+		 */
+		V load();
+	}
+
+	/**
+	 * A segment of the cache evicting its least recently used entries once exceeding its capacity. Invalidations of
+	 * individual keys are tracked by a fixed number of stamps shared by the keys hashing to them, so that they don't take
+	 * up any capacity. Keys sharing a stamp merely prevent values looked up concurrently from being cached.
+	 * 
+	 * @author agent
+	 */
+	@SuppressWarnings("serial")
+	private class Segment extends LinkedHashMap<CacheKey, Entry> {
+
+		private final int capacity;
+		private final long[] stamps = new long[STAMPS_PER_SEGMENT];
+
+		public Segment(int capacity) {
+
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.HashMap#get(java.lang.Object)
+		 */
+		@Override
+		public synchronized Entry get(Object key) {
+			return super.get(key);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.HashMap#put(java.lang.Object, java.lang.Object)
+		 */
+		@Override
+		public synchronized Entry put(CacheKey key, Entry value) {
+			return super.put(key, value);
+		}
+
+		/**
+		 * Removes the given {@link Entry} if it's still the one cached for the given key.
+		 * 
+		 * @param key must not be {@literal null}.
+		 * @param entry must not be {@literal null}.
+		 */
+		public synchronized void remove(CacheKey key, Entry entry) {
+
+			if (super.get(key) == entry) {
+				super.remove(key);
+			}
+		}
+
+		/**
+		 * Returns the current stamp of the given key.
+		 * 
+		 * @param key must not be {@literal null}.
+		 * @return
+		 */
+		public synchronized long getStamp(CacheKey key) {
+			return stamps[spread(key) % stamps.length];
+		}
+
+		/**
+		 * Caches the given {@link Entry} for the given key if the stamp of the key is still the expected one.
+		 * 
+		 * @param key must not be {@literal null}.
+		 * @param entry must not be {@literal null}.
+		 * @param expectedStamp the stamp of the key when looking it up.
+		 */
+		public synchronized void putIfUnchanged(CacheKey key, Entry entry, long expectedStamp) {
+
+			if (stamps[spread(key) % stamps.length] == expectedStamp) {
+				super.put(key, entry);
+			}
+		}
+
+		/**
+		 * Removes the {@link Entry} cached for the given key, if any, and changes the stamp of the key.
+		 * 
+		 * @param key must not be {@literal null}.
+		 */
+		public synchronized void invalidate(CacheKey key) {
+
+			stamps[spread(key) % stamps.length]++;
+			super.remove(key);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.LinkedHashMap#clear()
+		 */
+		@Override
+		public synchronized void clear() {
+			super.clear();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.HashMap#size()
+		 */
+		@Override
+		public synchronized int size() {
+			return super.size();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.LinkedHashMap#removeEldestEntry(java.util.Map.Entry)
+		 */
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<CacheKey, Entry> eldest) {
+
+			if (size() <= capacity) {
+				return false;
+			}
+
+			evictions.incrementAndGet();
+			return true;
+		}
+	}
+
+	/**
+	 * A cached value along with its expiry time and the generation of the domain type it was read for.
+	 * 
+	 * @author agent
+	 */
+	private static class Entry {
+
+		private final Object value;
+		private final long expiresAt;
+		private final long generation;
+
+		public Entry(Object value, long expiresAt, long generation) {
+
+			this.value = value;
+			this.expiresAt = expiresAt;
+			this.generation = generation;
+		}
+
+		public Object get() {
+			return value;
+		}
+
+		public boolean isValid(long now, long currentGeneration) {
+			return now - expiresAt < 0 && generation == currentGeneration;
+		}
+	}
+
+	/**
+	 * The domain types and keys evicted within a transaction.
+	 * 
+	 * @author agent
+	 */
+	private static class PendingEvictions {
+
+		final Set<Class<?>> types = new HashSet<Class<?>>();
+		final Map<QueryResultCache, Set<CacheKey>> keys = new HashMap<QueryResultCache, Set<CacheKey>>();
+
+		void add(QueryResultCache cache, CacheKey key) {
+
+			Set<CacheKey> cacheKeys = keys.get(cache);
+
+			if (cacheKeys == null) {
+				cacheKeys = new HashSet<CacheKey>();
+				keys.put(cache, cacheKeys);
+			}
+
+			cacheKeys.add(key);
+		}
+	}
+
+	/**
+	 * Key of a cache entry consisting of the domain type and the key given by the client.
+	 * 
+	 * @author agent
+	 */
+	private static class CacheKey {
+
+		private final Class<?> domainType;
+		private final Object key;
+
+		public CacheKey(Class<?> domainType, Object key) {
+
+			this.domainType = domainType;
+			this.key = key;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+
+			CacheKey that = (CacheKey) obj;
+
+			return this.domainType.equals(that.domainType) && ObjectUtils.nullSafeEquals(this.key, that.key);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return 31 * domainType.hashCode() + ObjectUtils.nullSafeHashCode(key);
+		}
+	}
+}
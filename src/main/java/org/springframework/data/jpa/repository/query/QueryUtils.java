@@ -44,6 +44,7 @@ import javax.persistence.criteria.From;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import javax.persistence.metamodel.Attribute;
 import javax.persistence.metamodel.Attribute.PersistentAttributeType;
@@ -54,6 +55,7 @@ import javax.persistence.metamodel.PluralAttribute;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Order;
+import org.springframework.data.jpa.domain.KeysetPageRequest;
 import org.springframework.data.mapping.PropertyPath;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
@@ -94,6 +96,9 @@ public abstract class QueryUtils {
 	private static final int QUERY_JOIN_ALIAS_GROUP_INDEX = 3;
 	private static final int VARIABLE_NAME_GROUP_INDEX = 4;
 
+	private static final String KEYSET_PARAMETER_PREFIX = "keyset_";
+	private static final Pattern KEYSET_PARAMETER = Pattern.compile(KEYSET_PARAMETER_PREFIX + "(\\d+)");
+
 	static {
 
 		StringBuilder builder = new StringBuilder();
@@ -197,6 +202,23 @@ public abstract class QueryUtils {
 			return query;
 		}
 
+		return applySorting(query, sort, alias, getOuterJoinAliases(query));
+	}
+
+	/**
+	 * Adds {@literal order by} clause to the JPQL query using the given outer join aliases of the query instead of
+	 * detecting them.
+	 * 
+	 * @param query must not be {@literal null} or empty.
+	 * @param sort must not be {@literal null}.
+	 * @param alias the alias of the root entity.
+	 * @param joinAliases the aliases of the outer joins of the query as returned by {@link #getOuterJoinAliases(String)},
+	 *          must not be {@literal null}.
+	 * @return
+	 * @since 1.9
+	 */
+	static String applySorting(String query, Sort sort, String alias, Set<String> joinAliases) {
+
 		StringBuilder builder = new StringBuilder(query);
 
 		if (!ORDER_BY.matcher(query).matches()) {
@@ -205,10 +227,8 @@ public abstract class QueryUtils {
 			builder.append(", ");
 		}
 
-		Set<String> aliases = getOuterJoinAliases(query);
-
 		for (Order order : sort) {
-			builder.append(getOrderClause(aliases, alias, order)).append(", ");
+			builder.append(getOrderClause(joinAliases, alias, order)).append(", ");
 		}
 
 		builder.delete(builder.length() - 2, builder.length());
@@ -438,6 +458,109 @@ public abstract class QueryUtils {
 		}
 	}
 
+	/**
+	 * Creates a {@link Predicate} restricting the results to the ones following the keyset of the given
+	 * {@link KeysetPageRequest} in the order defined by its {@link Sort}. As JPQL doesn't support row value comparisons
+	 * like {@code (a, b) > (:a, :b)} the comparison is expanded to {@code a > :a or (a = :a and b > :b)}. Values of
+	 * properties sorted ignoring case are compared using parameters that have to be bound to the query using
+	 * {@link #bindKeysetParameters(Query, KeysetPageRequest)}. Returns {@literal null} if the request doesn't carry a
+	 * keyset, i.e. requests the first page.
+	 * 
+	 * @param pageable must not be {@literal null}.
+	 * @param root must not be {@literal null}.
+	 * @param cb must not be {@literal null}.
+	 * @return
+	 * @since 1.9
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public static Predicate toKeysetPredicate(KeysetPageRequest pageable, Root<?> root, CriteriaBuilder cb) {
+
+		Assert.notNull(pageable);
+		Assert.notNull(root);
+		Assert.notNull(cb);
+
+		if (!pageable.hasKeyset()) {
+			return null;
+		}
+
+		Map<String, Object> keyset = pageable.getKeyset();
+		List<Predicate> alternatives = new ArrayList<Predicate>();
+		List<Predicate> equalities = new ArrayList<Predicate>();
+		int index = 0;
+
+		for (Order order : pageable.getSort()) {
+
+			String property = order.getProperty();
+			Object value = keyset.get(property);
+
+			Assert.notNull(value, String.format("No keyset value given for sort property %s!", property));
+
+			Expression<Comparable> expression = toExpressionRecursively(root,
+					PropertyPath.from(property, root.getJavaType()));
+			List<Predicate> predicates = new ArrayList<Predicate>(equalities);
+
+			if (order.isIgnoreCase() && String.class.equals(expression.getJavaType())) {
+
+				Expression<String> lower = cb.lower((Expression) expression);
+				Expression<String> lowerValue = cb.lower(cb.parameter(String.class, KEYSET_PARAMETER_PREFIX + index));
+
+				predicates.add(order.isAscending() ? cb.greaterThan(lower, lowerValue) : cb.lessThan(lower, lowerValue));
+				equalities.add(cb.equal(lower, lowerValue));
+
+			} else {
+
+				Comparable comparable = (Comparable) value;
+
+				predicates.add(order.isAscending() ? cb.greaterThan(expression, comparable) : cb.lessThan(expression,
+						comparable));
+				equalities.add(cb.equal(expression, comparable));
+			}
+
+			alternatives.add(cb.and(predicates.toArray(new Predicate[predicates.size()])));
+			index++;
+		}
+
+		return cb.or(alternatives.toArray(new Predicate[alternatives.size()]));
+	}
+
+	/**
+	 * Binds the keyset values of the given {@link KeysetPageRequest} to the parameters of the given {@link Query}
+	 * created by {@link #toKeysetPredicate(KeysetPageRequest, Root, CriteriaBuilder)}.
+	 * 
+	 * @param query must not be {@literal null}.
+	 * @param pageable must not be {@literal null}.
+	 * @return the given {@link Query}.
+	 * @since 1.9
+	 */
+	public static <T extends Query> T bindKeysetParameters(T query, KeysetPageRequest pageable) {
+
+		Assert.notNull(query);
+		Assert.notNull(pageable);
+
+		if (!pageable.hasKeyset()) {
+			return query;
+		}
+
+		List<Order> orders = new ArrayList<Order>();
+
+		for (Order order : pageable.getSort()) {
+			orders.add(order);
+		}
+
+		for (Parameter<?> parameter : query.getParameters()) {
+
+			Matcher matcher = parameter.getName() == null ? null : KEYSET_PARAMETER.matcher(parameter.getName());
+
+			if (matcher != null && matcher.matches()) {
+
+				String property = orders.get(Integer.parseInt(matcher.group(1))).getProperty();
+				query.setParameter(parameter.getName(), pageable.getKeyset().get(property));
+			}
+		}
+
+		return query;
+	}
+
 	@SuppressWarnings("unchecked")
 	static <T> Expression<T> toExpressionRecursively(From<?, ?> from, PropertyPath property) {
 
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+/**
+ * Strategy to create detached copies of query results, so that results kept in a {@link QueryResultCache} are
+ * neither attached to a persistence context nor shared with the callers they are handed out to.
+ * 
+ * @author agent
+ * @since 1.9
+ */
+public interface ResultCopier {
+
+	/**
+	 * Returns whether the given result can be copied.
+	 * 
+	 * @param result can be {@literal null}.
+	 * @return
+	 */
+	boolean supports(Object result);
+
+	/**
+	 * Returns a detached copy of the given result.
+	 * 
+	 * @param result must be {@link #supports(Object) supported}.
+	 * @return
+	 */
+	Object copy(Object result);
+}
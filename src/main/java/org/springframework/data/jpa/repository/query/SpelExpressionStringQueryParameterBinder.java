@@ -23,8 +23,6 @@ import org.springframework.data.jpa.repository.query.JpaParameters.JpaParameter;
 import org.springframework.data.jpa.repository.query.StringQuery.ParameterBinding;
 import org.springframework.data.repository.query.EvaluationContextProvider;
 import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.Expression;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.util.Assert;
 
@@ -37,7 +35,6 @@ class SpelExpressionStringQueryParameterBinder extends StringQueryParameterBinde
 
 	private final StringQuery query;
 	private final EvaluationContextProvider evaluationContextProvider;
-	private final SpelExpressionParser parser;
 
 	/**
 	 * Creates a new {@link SpelExpressionStringQueryParameterBinder}.
@@ -46,18 +43,17 @@ class SpelExpressionStringQueryParameterBinder extends StringQueryParameterBinde
 	 * @param values must not be {@literal null}
 	 * @param query must not be {@literal null}
 	 * @param evaluationContextProvider must not be {@literal null}
-	 * @param parser must not be {@literal null}
+	 * @param instructions the {@link BindInstruction}s previously obtained from a binder for the same query, can be
+	 *          {@literal null}.
 	 */
 	public SpelExpressionStringQueryParameterBinder(JpaParameters parameters, Object[] values, StringQuery query,
-			EvaluationContextProvider evaluationContextProvider, SpelExpressionParser parser) {
+			EvaluationContextProvider evaluationContextProvider, BindInstruction[] instructions) {
 
-		super(parameters, values, query);
+		super(parameters, values, query, instructions);
 		Assert.notNull(evaluationContextProvider, "EvaluationContextProvider must not be null!");
-		Assert.notNull(parser, "SpelExpressionParser must not be null!");
 
 		this.evaluationContextProvider = evaluationContextProvider;
 		this.query = query;
-		this.parser = parser;
 	}
 
 	/* 
@@ -75,18 +71,26 @@ class SpelExpressionStringQueryParameterBinder extends StringQueryParameterBinde
 	 */
 	private <T extends Query> T potentiallyBindExpressionParameters(T jpaQuery) {
 
+		if (!query.hasParameterBindings()) {
+			return jpaQuery;
+		}
+
 		if (isJpaParameterInformationReliable(jpaQuery) && jpaQuery.getParameters().isEmpty()) {
 			// We can rely on the fact there are no parameters in the given query.
 			return jpaQuery;
 		}
 
+		EvaluationContext context = null;
+
 		for (ParameterBinding binding : query.getParameterBindings()) {
 
 			if (binding.isExpression()) {
 
-				Expression expr = parseExpressionString(binding.getExpression());
+				if (context == null) {
+					context = getEvaluationContext();
+				}
 
-				Object value = evaluateExpression(expr);
+				Object value = binding.getParsedExpression().getValue(context, Object.class);
 
 				try {
 					if (binding.getName() != null) {
@@ -111,26 +115,6 @@ class SpelExpressionStringQueryParameterBinder extends StringQueryParameterBinde
 		return className.startsWith("org.apache.openjpa") || className.startsWith("org.hibernate");
 	}
 
-	/**
-	 * Parses the given {@code expressionString} into a SpEL {@link Expression}.
-	 * 
-	 * @param expressionString
-	 * @return
-	 */
-	private Expression parseExpressionString(String expressionString) {
-		return parser.parseExpression(expressionString);
-	}
-
-	/**
-	 * Evaluates the given SpEL {@link Expression}.
-	 * 
-	 * @param expr
-	 * @return
-	 */
-	private Object evaluateExpression(Expression expr) {
-		return expr.getValue(getEvaluationContext(), Object.class);
-	}
-
 	/**
 	 * Returns the {@link StandardEvaluationContext} to use for evaluation.
 	 * 
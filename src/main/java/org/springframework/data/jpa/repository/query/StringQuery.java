@@ -27,6 +27,8 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.springframework.data.repository.query.parser.Part.Type;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
@@ -47,17 +49,29 @@ class StringQuery {
 	private final String alias;
 
 	/**
-	 * Creates a new {@link StringQuery} from the given JPQL query.
+	 * Creates a new {@link StringQuery} from the given JPQL query. The SpEL expressions of the parameter bindings are not
+	 * parsed.
 	 * 
 	 * @param query must not be {@literal null} or empty.
 	 */
 	public StringQuery(String query) {
+		this(query, null);
+	}
+
+	/**
+	 * Creates a new {@link StringQuery} from the given JPQL query parsing the SpEL expressions of the parameter bindings
+	 * with the given {@link SpelExpressionParser}.
+	 * 
+	 * @param query must not be {@literal null} or empty.
+	 * @param parser can be {@literal null} to not parse the expressions.
+	 */
+	StringQuery(String query, SpelExpressionParser parser) {
 
 		Assert.hasText(query, "Query must not be null or empty!");
 
 		this.bindings = new ArrayList<StringQuery.ParameterBinding>();
 		this.query = ParameterBindingParser.INSTANCE.parseParameterBindingsOfQueryIntoBindingsAndReturnCleanedQuery(query,
-				this.bindings);
+				this.bindings, parser);
 		this.alias = QueryUtils.detectAlias(query);
 	}
 
@@ -181,10 +195,13 @@ class StringQuery {
 		 * the cleaned up query.
 		 * 
 		 * @param query
+		 * @param bindings
+		 * @param parser the {@link SpelExpressionParser} to parse the expressions of the bindings with, can be
+		 *          {@literal null}.
 		 * @return
 		 */
 		private final String parseParameterBindingsOfQueryIntoBindingsAndReturnCleanedQuery(String query,
-				List<ParameterBinding> bindings) {
+				List<ParameterBinding> bindings, SpelExpressionParser parser) {
 
 			String result = query;
 			Matcher matcher = PARAMETER_BINDING_PATTERN.matcher(query);
@@ -238,9 +255,9 @@ class StringQuery {
 						replacement = replacement != null ? replacement : matcher.group(3);
 
 						if (parameterIndex != null) {
-							checkAndRegister(new LikeParameterBinding(parameterIndex, likeType, expression), bindings);
+							checkAndRegister(new LikeParameterBinding(parameterIndex, likeType, expression, parser), bindings);
 						} else {
-							checkAndRegister(new LikeParameterBinding(parameterName, likeType, expression), bindings);
+							checkAndRegister(new LikeParameterBinding(parameterName, likeType, expression, parser), bindings);
 
 							replacement = expression != null ? ":" + parameterName : matcher.group(5);
 						}
@@ -250,9 +267,9 @@ class StringQuery {
 					case IN:
 
 						if (parameterIndex != null) {
-							checkAndRegister(new InParameterBinding(parameterIndex, expression), bindings);
+							checkAndRegister(new InParameterBinding(parameterIndex, expression, parser), bindings);
 						} else {
-							checkAndRegister(new InParameterBinding(parameterName, expression), bindings);
+							checkAndRegister(new InParameterBinding(parameterName, expression, parser), bindings);
 						}
 
 						result = query;
@@ -261,8 +278,8 @@ class StringQuery {
 					case AS_IS: // fall-through we don't need a special parameter binding for the given parameter.
 					default:
 
-						bindings.add(parameterIndex != null ? new ParameterBinding(null, parameterIndex, expression)
-								: new ParameterBinding(parameterName, null, expression));
+						bindings.add(parameterIndex != null ? new ParameterBinding(null, parameterIndex, expression, parser)
+								: new ParameterBinding(parameterName, null, expression, parser));
 				}
 
 				if (replacement != null) {
@@ -362,6 +379,7 @@ class StringQuery {
 		private final String name;
 		private final String expression;
 		private final Integer position;
+		private final Expression parsedExpression;
 
 		/**
 		 * Creates a new {@link ParameterBinding} for the parameter with the given name.
@@ -369,7 +387,7 @@ class StringQuery {
 		 * @param name must not be {@literal null}.
 		 */
 		public ParameterBinding(String name) {
-			this(name, null, null);
+			this(name, null, null, null);
 		}
 
 		/**
@@ -378,18 +396,19 @@ class StringQuery {
 		 * @param position must not be {@literal null}.
 		 */
 		public ParameterBinding(Integer position) {
-			this(null, position, null);
+			this(null, position, null, null);
 		}
 
 		/**
 		 * Creates a new {@link ParameterBinding} for the parameter with the given name, position and expression
-		 * information.
+		 * information. The expression is parsed right away if a {@link SpelExpressionParser} is given.
 		 * 
 		 * @param name
 		 * @param position
 		 * @param expression
+		 * @param parser can be {@literal null}.
 		 */
-		ParameterBinding(String name, Integer position, String expression) {
+		ParameterBinding(String name, Integer position, String expression, SpelExpressionParser parser) {
 
 			if (name == null) {
 				Assert.notNull(position, "Position must not be null!");
@@ -402,6 +421,7 @@ class StringQuery {
 			this.name = name;
 			this.position = position;
 			this.expression = expression;
+			this.parsedExpression = expression == null || parser == null ? null : parser.parseExpression(expression);
 		}
 
 		/**
@@ -501,6 +521,21 @@ class StringQuery {
 		public String getExpression() {
 			return expression;
 		}
+
+		/**
+		 * Returns the SpEL {@link Expression} of the binding, parsed once on creation of the binding with the
+		 * {@link SpelExpressionParser} of the {@link ExpressionBasedStringQuery} it was created for.
+		 * 
+		 * @return
+		 * @since 1.9
+		 */
+		public Expression getParsedExpression() {
+
+			Assert.state(isExpression(), "Parameter binding is not an expression binding!");
+			Assert.state(parsedExpression != null, "Expression of parameter binding was not parsed!");
+
+			return parsedExpression;
+		}
 	}
 
 	/**
@@ -516,9 +551,10 @@ class StringQuery {
 		 * 
 		 * @param name
 		 * @param expression
+		 * @param parser can be {@literal null}.
 		 */
-		public InParameterBinding(String name, String expression) {
-			super(name, null, expression);
+		public InParameterBinding(String name, String expression, SpelExpressionParser parser) {
+			super(name, null, expression, parser);
 		}
 
 		/**
@@ -526,9 +562,10 @@ class StringQuery {
 		 * 
 		 * @param position
 		 * @param expression
+		 * @param parser can be {@literal null}.
 		 */
-		public InParameterBinding(int position, String expression) {
-			super(null, position, expression);
+		public InParameterBinding(int position, String expression, SpelExpressionParser parser) {
+			super(null, position, expression, parser);
 		}
 
 		/* 
@@ -574,7 +611,7 @@ class StringQuery {
 		 * @param type must not be {@literal null}.
 		 */
 		public LikeParameterBinding(String name, Type type) {
-			this(name, type, null);
+			this(name, type, null, null);
 		}
 
 		/**
@@ -584,10 +621,11 @@ class StringQuery {
 		 * @param name must not be {@literal null} or empty.
 		 * @param type must not be {@literal null}.
 		 * @param expression may be {@literal null}.
+		 * @param parser can be {@literal null}.
 		 */
-		public LikeParameterBinding(String name, Type type, String expression) {
+		public LikeParameterBinding(String name, Type type, String expression, SpelExpressionParser parser) {
 
-			super(name, null, expression);
+			super(name, null, expression, parser);
 
 			Assert.hasText(name, "Name must not be null or empty!");
 			Assert.notNull(type, "Type must not be null!");
@@ -605,7 +643,7 @@ class StringQuery {
 		 * @param type must not be {@literal null}.
 		 */
 		public LikeParameterBinding(int position, Type type) {
-			this(position, type, null);
+			this(position, type, null, null);
 		}
 
 		/**
@@ -614,10 +652,11 @@ class StringQuery {
 		 * @param position
 		 * @param type must not be {@literal null}.
 		 * @param expression may be {@literal null}.
+		 * @param parser can be {@literal null}.
 		 */
-		public LikeParameterBinding(int position, Type type, String expression) {
+		public LikeParameterBinding(int position, Type type, String expression, SpelExpressionParser parser) {
 
-			super(null, position, expression);
+			super(null, position, expression, parser);
 
 			Assert.isTrue(position > 0, "Position must be greater than zero!");
 			Assert.notNull(type, "Type must not be null!");
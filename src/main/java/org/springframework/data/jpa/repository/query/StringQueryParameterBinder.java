@@ -20,7 +20,6 @@ import javax.persistence.Query;
 import org.springframework.data.jpa.repository.query.JpaParameters.JpaParameter;
 import org.springframework.data.jpa.repository.query.StringQuery.LikeParameterBinding;
 import org.springframework.data.jpa.repository.query.StringQuery.ParameterBinding;
-import org.springframework.data.repository.query.Parameter;
 import org.springframework.data.repository.query.Parameters;
 import org.springframework.util.Assert;
 
@@ -43,8 +42,23 @@ public class StringQueryParameterBinder extends ParameterBinder {
 	 * @param query must not be {@literal null}.
 	 */
 	public StringQueryParameterBinder(JpaParameters parameters, Object[] values, StringQuery query) {
+		this(parameters, values, query, null);
+	}
+
+	/**
+	 * Creates a new {@link StringQueryParameterBinder} from the given {@link Parameters}, method arguments,
+	 * {@link StringQuery} and {@link BindInstruction}s previously obtained from a binder for the same query.
+	 * 
+	 * @param parameters must not be {@literal null}.
+	 * @param values must not be {@literal null}.
+	 * @param query must not be {@literal null}.
+	 * @param instructions can be {@literal null}.
+	 * @since 1.9
+	 */
+	StringQueryParameterBinder(JpaParameters parameters, Object[] values, StringQuery query,
+			BindInstruction[] instructions) {
 
-		super(parameters, values);
+		super(parameters, values, instructions);
 
 		Assert.notNull(query, "StringQuery must not be null!");
 		this.query = query;
@@ -57,29 +71,34 @@ public class StringQueryParameterBinder extends ParameterBinder {
 	@Override
 	protected void bind(Query jpaQuery, JpaParameter methodParameter, Object value, int position) {
 
-		ParameterBinding binding = getBindingFor(jpaQuery, position, methodParameter);
+		// Query parameter positions are assigned consecutively, starting with 1
+		ParameterBinding binding = getInstructions()[position - 1].getBinding();
 		super.bind(jpaQuery, methodParameter, binding.prepare(value), position);
 	}
 
 	/**
-	 * Finds the {@link LikeParameterBinding} to be applied before binding a parameter value to the query.
+	 * Finds the {@link ParameterBinding} (e.g. a {@link LikeParameterBinding}) to be applied before binding a parameter
+	 * value to the query. Prefers the binding registered for the position over the one registered for the name of the
+	 * method parameter.
 	 * 
-	 * @param jpaQuery must not be {@literal null}.
-	 * @param position
 	 * @param methodParameter must not be {@literal null}.
-	 * @return the {@link ParameterBinding} for the given parameters or {@literal null} if none available.
+	 * @param position
+	 * @return the {@link ParameterBinding} for the given parameters, will never be {@literal null}.
 	 */
-	private ParameterBinding getBindingFor(Query jpaQuery, int position, Parameter methodParameter) {
-
-		try {
-
-			jpaQuery.getParameter(position);
-			return query.getBindingFor(position);
+	@Override
+	ParameterBinding getBindingFor(JpaParameter methodParameter, int position) {
 
-		} catch (IllegalArgumentException o_O) {
+		for (ParameterBinding binding : query.getParameterBindings()) {
+			if (binding.hasPosition(position)) {
+				return binding;
+			}
+		}
 
-			if (hasNamedParameter(jpaQuery)) {
-				return query.getBindingFor(methodParameter.getName());
+		if (methodParameter.isNamedParameter()) {
+			for (ParameterBinding binding : query.getParameterBindings()) {
+				if (binding.hasName(methodParameter.getName())) {
+					return binding;
+				}
 			}
 		}
 
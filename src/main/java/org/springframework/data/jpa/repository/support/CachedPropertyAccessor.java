@@ -0,0 +1,130 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.data.util.DirectFieldAccessFallbackBeanWrapper;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Accessor for a single property of a type using the accessor methods or the field looked up once on creation. Mirrors
+ * the lookup of {@link DirectFieldAccessFallbackBeanWrapper}, i.e. prefers the accessor methods and falls back to
+ * direct field access, but avoids the wrapper allocation and property lookup per access. Values that require a type
+ * conversion to be written are handed to a {@link DirectFieldAccessFallbackBeanWrapper}.
+ * 
+ * @author agent
+ * @since 1.9
+ */
+class CachedPropertyAccessor {
+
+	private final String name;
+	private final Class<?> type;
+	private final Method getter;
+	private final Method setter;
+	private final Field field;
+
+	private CachedPropertyAccessor(String name, Class<?> type, Method getter, Method setter, Field field) {
+
+		this.name = name;
+		this.type = type;
+		this.getter = getter;
+		this.setter = setter;
+		this.field = field;
+	}
+
+	/**
+	 * Creates a {@link CachedPropertyAccessor} for the property with the given name of the given type.
+	 * 
+	 * @param type must not be {@literal null}.
+	 * @param name must not be {@literal null} or empty.
+	 * @return the {@link CachedPropertyAccessor} or {@literal null} if the property can't be read, neither through an
+	 *         accessor method nor through a field.
+	 */
+	public static CachedPropertyAccessor forProperty(Class<?> type, String name) {
+
+		Assert.notNull(type, "Type must not be null!");
+		Assert.hasText(name, "Property name must not be null or empty!");
+
+		PropertyDescriptor descriptor;
+
+		try {
+			descriptor = BeanUtils.getPropertyDescriptor(type, name);
+		} catch (BeansException o_O) {
+			return null;
+		}
+
+		Method getter = descriptor == null ? null : descriptor.getReadMethod();
+		Method setter = descriptor == null ? null : descriptor.getWriteMethod();
+		Field field = ReflectionUtils.findField(type, name);
+
+		if (getter == null && field == null) {
+			return null;
+		}
+
+		if (getter != null) {
+			ReflectionUtils.makeAccessible(getter);
+		}
+
+		if (setter != null) {
+			ReflectionUtils.makeAccessible(setter);
+		}
+
+		if (field != null) {
+			ReflectionUtils.makeAccessible(field);
+		}
+
+		Class<?> propertyType = getter != null ? getter.getReturnType() : field.getType();
+
+		return new CachedPropertyAccessor(name, propertyType, getter, setter, field);
+	}
+
+	/**
+	 * Returns the value of the property of the given target.
+	 * 
+	 * @param target must not be {@literal null}.
+	 * @return
+	 */
+	public Object getValue(Object target) {
+		return getter != null ? ReflectionUtils.invokeMethod(getter, target) : ReflectionUtils.getField(field, target);
+	}
+
+	/**
+	 * Sets the property of the given target to the given value.
+	 * 
+	 * @param target must not be {@literal null}.
+	 * @param value can be {@literal null}.
+	 */
+	public void setValue(Object target, Object value) {
+
+		if (!ClassUtils.isAssignableValue(type, value) || (setter == null && field == null)) {
+			new DirectFieldAccessFallbackBeanWrapper(target).setPropertyValue(name, value);
+			return;
+		}
+
+		if (setter != null) {
+			ReflectionUtils.invokeMethod(setter, target, value);
+		} else {
+			ReflectionUtils.setField(field, target, value);
+		}
+	}
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.*;
+
+import java.lang.reflect.Method;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import javax.persistence.metamodel.Attribute.PersistentAttributeType;
+import javax.persistence.metamodel.SingularAttribute;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.provider.PersistenceProvider;
+import org.springframework.orm.jpa.EntityManagerFactoryInfo;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * The fixed JPQL statements {@link SimpleJpaRepository} uses for a particular entity type. The statements are rendered
+ * once and registered as named queries with the {@link EntityManagerFactory} if the persistence provider supports
+ * JPA 2.1's {@code EntityManagerFactory.addNamedQuery(…)}, so that it doesn't have to parse them over and over again.
+ * The names are prefixed with the name of the repository interface and the entity, so that they neither clash with
+ * the named queries of the application nor with the ones of other repositories.
+ * <p>
+ * Registering the statements is JPA 2.1 only: with JPA 2.0 providers (e.g. Hibernate 3.6) the method is not available
+ * and the statements are created from their query strings for every invocation, just like before.
+ * 
+ * @author agent
+ * @since 1.9
+ */
+class CrudStatements {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CrudStatements.class);
+	private static final String DELETE_BY_ID_QUERY_STRING = "delete from %s x where x.%s = :id";
+
+	private final Statement count;
+	private final Statement exists;
+	private final Statement deleteAll;
+	private final Statement deleteById;
+
+	/**
+	 * Creates a new {@link CrudStatements} instance for the given {@link JpaEntityInformation}.
+	 * 
+	 * @param information must not be {@literal null}.
+	 * @param provider must not be {@literal null}.
+	 * @param em must not be {@literal null}.
+	 * @param repositoryInterface the repository interface to name the statements after, can be {@literal null} to
+	 *          name them after {@link SimpleJpaRepository}.
+	 */
+	public CrudStatements(JpaEntityInformation<?, ?> information, PersistenceProvider provider, EntityManager em,
+			Class<?> repositoryInterface) {
+
+		Assert.notNull(information, "JpaEntityInformation must not be null!");
+		Assert.notNull(provider, "PersistenceProvider must not be null!");
+		Assert.notNull(em, "EntityManager must not be null!");
+
+		String entityName = information.getEntityName();
+		String placeholder = provider.getCountQueryPlaceholder();
+		SingularAttribute<?, ?> idAttribute = information.getIdAttribute();
+
+		String countQueryString = getQueryString(String.format(COUNT_QUERY_STRING, placeholder, "%s"), entityName);
+		String existsQueryString = idAttribute == null ? null : getExistsQueryString(entityName, placeholder,
+				information.getIdAttributeNames());
+		String deleteAllQueryString = getQueryString(DELETE_ALL_QUERY_STRING, entityName);
+		String deleteByIdQueryString = idAttribute == null || information.hasCompositeId()
+				|| idAttribute.getPersistentAttributeType() != PersistentAttributeType.BASIC ? null : String.format(
+				DELETE_BY_ID_QUERY_STRING, entityName, idAttribute.getName());
+
+		EntityManagerFactory factory = getNativeEntityManagerFactory(em);
+		Method addNamedQuery = factory == null ? null : ReflectionUtils.findMethod(factory.getClass(), "addNamedQuery",
+				String.class, Query.class);
+		EntityManager target = addNamedQuery == null ? null : factory.createEntityManager();
+
+		try {
+
+			String prefix = (repositoryInterface == null ? SimpleJpaRepository.class : repositoryInterface).getName() + "."
+					+ entityName + ".";
+
+			this.count = new Statement(prefix + "count", countQueryString, factory, addNamedQuery, target);
+			this.exists = new Statement(prefix + "exists", existsQueryString, factory, addNamedQuery, target);
+			this.deleteAll = new Statement(prefix + "deleteAll", deleteAllQueryString, factory, addNamedQuery, target);
+			this.deleteById = new Statement(prefix + "deleteById", deleteByIdQueryString, factory, addNamedQuery, target);
+
+		} finally {
+			if (target != null) {
+				target.close();
+			}
+		}
+	}
+
+	/**
+	 * Creates the query to count all entities.
+	 * 
+	 * @param em must not be {@literal null}.
+	 * @return
+	 */
+	public TypedQuery<Long> createCountQuery(EntityManager em) {
+		return count.create(em, Long.class);
+	}
+
+	/**
+	 * Creates the query to count the entities with a given identifier using a named parameter per id attribute. Returns
+	 * {@literal null} if the entity doesn't have an id attribute.
+	 * 
+	 * @param em must not be {@literal null}.
+	 * @return
+	 */
+	public TypedQuery<Long> createExistsQuery(EntityManager em) {
+		return exists.queryString == null ? null : exists.create(em, Long.class);
+	}
+
+	/**
+	 * Creates the query to delete all entities.
+	 * 
+	 * @param em must not be {@literal null}.
+	 * @return
+	 */
+	public Query createDeleteAllQuery(EntityManager em) {
+		return deleteAll.create(em);
+	}
+
+	/**
+	 * Creates the query to delete an entity by its identifier using a named parameter {@code id}. Returns
+	 * {@literal null} if the entity doesn't have a simple basic identifier.
+	 * 
+	 * @param em must not be {@literal null}.
+	 * @return
+	 */
+	public Query createDeleteByIdQuery(EntityManager em) {
+		return deleteById.queryString == null ? null : deleteById.create(em);
+	}
+
+	/**
+	 * Returns the statement to delete all entities.
+	 * 
+	 * @return
+	 */
+	public String getDeleteAllQueryString() {
+		return deleteAll.queryString;
+	}
+
+	private static EntityManagerFactory getNativeEntityManagerFactory(EntityManager em) {
+
+		EntityManagerFactory factory = em.getEntityManagerFactory();
+
+		return factory instanceof EntityManagerFactoryInfo ? ((EntityManagerFactoryInfo) factory)
+				.getNativeEntityManagerFactory() : factory;
+	}
+
+	/**
+	 * A single JPQL statement, potentially registered as named query.
+	 * 
+	 * @author agent
+	 */
+	private static class Statement {
+
+		private final String name;
+		private final String queryString;
+		private final boolean registered;
+
+		public Statement(String name, String queryString, EntityManagerFactory factory, Method addNamedQuery,
+				EntityManager em) {
+
+			this.name = name;
+			this.queryString = queryString;
+			this.registered = queryString != null && addNamedQuery != null && register(factory, addNamedQuery, em);
+		}
+
+		private boolean register(EntityManagerFactory factory, Method addNamedQuery, EntityManager em) {
+
+			try {
+
+				ReflectionUtils.invokeMethod(addNamedQuery, factory, name, em.createQuery(queryString));
+				return true;
+
+			} catch (RuntimeException o_O) {
+
+				LOG.debug(String.format("Could not register named query %s! Falling back to query string.", name), o_O);
+				return false;
+			}
+		}
+
+		public Query create(EntityManager em) {
+			return registered ? em.createNamedQuery(name) : em.createQuery(queryString);
+		}
+
+		public <T> TypedQuery<T> create(EntityManager em, Class<T> type) {
+			return registered ? em.createNamedQuery(name, type) : em.createQuery(queryString, type);
+		}
+	}
+}
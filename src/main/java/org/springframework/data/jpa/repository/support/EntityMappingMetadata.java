@@ -0,0 +1,321 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.persistence.CascadeType;
+import javax.persistence.EntityListeners;
+import javax.persistence.EntityManager;
+import javax.persistence.ManyToMany;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+import javax.persistence.OneToOne;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import javax.persistence.PrePersist;
+import javax.persistence.PreRemove;
+import javax.persistence.PreUpdate;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.Attribute.PersistentAttributeType;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.SingularAttribute;
+import javax.persistence.metamodel.Type;
+
+import org.springframework.util.Assert;
+
+/**
+ * Inspects the mapping of an entity type for features that require its instances to be handled through the
+ * {@link EntityManager} instead of bulk JPQL statements, i.e. cascades, orphan removal, collection valued attributes
+ * and lifecycle callbacks. Only annotation based mapping information is considered. If no {@link Metamodel} is
+ * available or the type is not managed by it, the type is considered to require the {@link EntityManager} for all
+ * operations.
+ * 
+ * @author agent
+ * @since 1.9
+ */
+class EntityMappingMetadata {
+
+	private static final Collection<Class<? extends Annotation>> CALLBACK_ANNOTATIONS = Arrays.asList(PrePersist.class,
+			PostPersist.class, PreUpdate.class, PostUpdate.class, PreRemove.class, PostRemove.class, PostLoad.class);
+	private static final String HIBERNATE_CASCADE_ANNOTATION = "org.hibernate.annotations.Cascade";
+	private static final Collection<String> CUSTOM_REMOVAL_ANNOTATIONS = Arrays.asList(
+			"org.hibernate.annotations.SQLDelete", "org.hibernate.annotations.SQLDeleteAll",
+			"org.hibernate.annotations.Where", "org.hibernate.annotations.Filter", "org.hibernate.annotations.Filters",
+			"org.hibernate.annotations.Cache", "org.eclipse.persistence.annotations.AdditionalCriteria",
+			"org.eclipse.persistence.annotations.Cache", "javax.persistence.Cacheable");
+	private static final Collection<String> CUSTOM_UPDATE_ANNOTATIONS = Arrays.asList(
+			"org.hibernate.annotations.SQLUpdate", "org.hibernate.annotations.DynamicUpdate",
+			"org.hibernate.annotations.Entity", "org.hibernate.annotations.SelectBeforeUpdate",
+			"org.hibernate.annotations.OptimisticLocking", "org.hibernate.annotations.Where",
+			"org.hibernate.annotations.Filter", "org.hibernate.annotations.Filters", "org.hibernate.annotations.Cache",
+			"org.eclipse.persistence.annotations.AdditionalCriteria", "org.eclipse.persistence.annotations.Cache",
+			"org.eclipse.persistence.annotations.OptimisticLocking", "javax.persistence.Cacheable");
+
+	private final boolean inspected;
+	private final boolean cascadingRemovals;
+	private final boolean pluralAttributes;
+	private final boolean customRemoval;
+	private final boolean customUpdate;
+	private final Set<Class<? extends Annotation>> callbacks;
+
+	/**
+	 * Creates a new {@link EntityMappingMetadata} for the given type and {@link Metamodel}.
+	 * 
+	 * @param type must not be {@literal null}.
+	 * @param metamodel can be {@literal null}.
+	 */
+	public EntityMappingMetadata(Class<?> type, Metamodel metamodel) {
+
+		Assert.notNull(type, "Type must not be null!");
+
+		ManagedType<?> managedType = getManagedType(type, metamodel);
+
+		this.inspected = managedType != null;
+		this.cascadingRemovals = inspected && hasCascadingRemovals(managedType);
+		this.pluralAttributes = inspected && hasPluralAttributes(managedType);
+		this.customRemoval = hasAnyAnnotation(type, CUSTOM_REMOVAL_ANNOTATIONS);
+		this.customUpdate = hasAnyAnnotation(type, CUSTOM_UPDATE_ANNOTATIONS);
+		this.callbacks = Collections.unmodifiableSet(detectCallbacks(type));
+	}
+
+	/**
+	 * Returns whether the entities can be removed by bulk JPQL statements without skipping any cascades, orphan removals,
+	 * collection table cleanups, removal callbacks, custom delete statements (e.g. soft deletes), restrictions or
+	 * second-level caching.
+	 * 
+	 * @return
+	 */
+	public boolean supportsBulkRemoval() {
+		return inspected && !cascadingRemovals && !pluralAttributes && !customRemoval && !hasCallbacksFor(PreRemove.class)
+				&& !hasCallbacksFor(PostRemove.class);
+	}
+
+	/**
+	 * Returns whether the state of individual entities can be written by JPQL update statements without skipping update
+	 * callbacks, custom update statements, dynamic updates, restrictions or second-level caching.
+	 * 
+	 * @return
+	 */
+	public boolean supportsStatementUpdates() {
+		return inspected && !customUpdate && !hasCallbacksFor(PreUpdate.class) && !hasCallbacksFor(PostUpdate.class);
+	}
+
+	/**
+	 * Returns whether the entity or one of its entity listeners declares a lifecycle callback of the given type.
+	 * 
+	 * @param callbackType must not be {@literal null}.
+	 * @return
+	 */
+	public boolean hasCallbacksFor(Class<? extends Annotation> callbackType) {
+		return callbacks.contains(callbackType);
+	}
+
+	private static ManagedType<?> getManagedType(Class<?> type, Metamodel metamodel) {
+
+		if (metamodel == null) {
+			return null;
+		}
+
+		try {
+			return metamodel.managedType(type);
+		} catch (IllegalArgumentException o_O) {
+			return null;
+		}
+	}
+
+	private static boolean hasCascadingRemovals(ManagedType<?> type) {
+
+		for (Attribute<?, ?> attribute : type.getAttributes()) {
+
+			ManagedType<?> embeddable = getEmbeddableType(attribute);
+
+			if (embeddable != null && hasCascadingRemovals(embeddable)) {
+				return true;
+			}
+
+			if (attribute.isAssociation() && cascadesRemoval(attribute.getJavaMember())) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static boolean hasPluralAttributes(ManagedType<?> type) {
+
+		for (Attribute<?, ?> attribute : type.getAttributes()) {
+
+			if (attribute.isCollection()) {
+				return true;
+			}
+
+			ManagedType<?> embeddable = getEmbeddableType(attribute);
+
+			if (embeddable != null && hasPluralAttributes(embeddable)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static ManagedType<?> getEmbeddableType(Attribute<?, ?> attribute) {
+
+		if (attribute.getPersistentAttributeType() != PersistentAttributeType.EMBEDDED
+				|| !(attribute instanceof SingularAttribute)) {
+			return null;
+		}
+
+		Type<?> type = ((SingularAttribute<?, ?>) attribute).getType();
+		return type instanceof ManagedType ? (ManagedType<?>) type : null;
+	}
+
+	/**
+	 * Returns whether the association mapped by the given {@link Member} cascades removals or removes orphans. Considers
+	 * associations we can't find annotations for as cascading.
+	 * 
+	 * @param member can be {@literal null}.
+	 * @return
+	 */
+	private static boolean cascadesRemoval(Member member) {
+
+		if (!(member instanceof AnnotatedElement)) {
+			return true;
+		}
+
+		AnnotatedElement element = (AnnotatedElement) member;
+
+		for (Annotation annotation : element.getAnnotations()) {
+			if (HIBERNATE_CASCADE_ANNOTATION.equals(annotation.annotationType().getName())) {
+				return true;
+			}
+		}
+
+		OneToOne oneToOne = element.getAnnotation(OneToOne.class);
+
+		if (oneToOne != null) {
+			return oneToOne.orphanRemoval() || cascadesRemoval(oneToOne.cascade());
+		}
+
+		OneToMany oneToMany = element.getAnnotation(OneToMany.class);
+
+		if (oneToMany != null) {
+			return oneToMany.orphanRemoval() || cascadesRemoval(oneToMany.cascade());
+		}
+
+		ManyToOne manyToOne = element.getAnnotation(ManyToOne.class);
+
+		if (manyToOne != null) {
+			return cascadesRemoval(manyToOne.cascade());
+		}
+
+		ManyToMany manyToMany = element.getAnnotation(ManyToMany.class);
+
+		if (manyToMany != null) {
+			return cascadesRemoval(manyToMany.cascade());
+		}
+
+		return true;
+	}
+
+	private static boolean cascadesRemoval(CascadeType[] cascadeTypes) {
+
+		for (CascadeType cascadeType : cascadeTypes) {
+			if (cascadeType == CascadeType.ALL || cascadeType == CascadeType.REMOVE) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns whether the given type or one of its superclasses carries one of the given provider specific mapping
+	 * annotations, e.g. ones customizing or restricting the statements issued for entities or caching them in the
+	 * second-level cache, which JPQL statements would bypass.
+	 * 
+	 * @param type must not be {@literal null}.
+	 * @param annotationNames must not be {@literal null}.
+	 * @return
+	 */
+	private static boolean hasAnyAnnotation(Class<?> type, Collection<String> annotationNames) {
+
+		for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+			for (Annotation annotation : current.getAnnotations()) {
+				if (annotationNames.contains(annotation.annotationType().getName())) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Collects the lifecycle callback annotations used on methods of the given type, its superclasses and the entity
+	 * listeners registered for them.
+	 * 
+	 * @param type must not be {@literal null}.
+	 * @return
+	 */
+	private static Set<Class<? extends Annotation>> detectCallbacks(Class<?> type) {
+
+		Set<Class<? extends Annotation>> callbacks = new HashSet<Class<? extends Annotation>>();
+
+		for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+
+			collectCallbacks(current, callbacks);
+
+			EntityListeners listeners = current.getAnnotation(EntityListeners.class);
+
+			if (listeners == null) {
+				continue;
+			}
+
+			for (Class<?> listener : listeners.value()) {
+				for (Class<?> listenerType = listener; listenerType != null && listenerType != Object.class; listenerType = listenerType
+						.getSuperclass()) {
+					collectCallbacks(listenerType, callbacks);
+				}
+			}
+		}
+
+		return callbacks;
+	}
+
+	private static void collectCallbacks(Class<?> type, Set<Class<? extends Annotation>> callbacks) {
+
+		for (Method method : type.getDeclaredMethods()) {
+			for (Class<? extends Annotation> callback : CALLBACK_ANNOTATIONS) {
+				if (method.isAnnotationPresent(callback)) {
+					callbacks.add(callback);
+				}
+			}
+		}
+	}
+}
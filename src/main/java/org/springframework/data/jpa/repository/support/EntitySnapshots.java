@@ -0,0 +1,179 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import javax.persistence.metamodel.Attribute.PersistentAttributeType;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.IdentifiableType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.SingularAttribute;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Creates detached copies of entities to be handed out of and kept in an entity cache. Copies are created by
+ * instantiating the entity type and copying the values of all persistent attributes. Mutable values like {@link Date}s
+ * and arrays are copied as well, so that modifications of a copy don't affect the others.
+ * <p>
+ * Only entities consisting of basic attributes exclusively are supported as embeddables, associations and collections
+ * would either be shared between copies or couldn't be initialized outside of the persistence context they were loaded
+ * in.
+ * 
+ * @author agent
+ * @since 1.9
+ */
+class EntitySnapshots {
+
+	private final Class<?> type;
+	private final Class<?> rootType;
+	private final List<CachedPropertyAccessor> accessors;
+
+	private EntitySnapshots(Class<?> type, Class<?> rootType, List<CachedPropertyAccessor> accessors) {
+
+		this.type = type;
+		this.rootType = rootType;
+		this.accessors = accessors;
+	}
+
+	/**
+	 * Creates {@link EntitySnapshots} for the given entity type.
+	 * 
+	 * @param type must not be {@literal null}.
+	 * @param metamodel must not be {@literal null}.
+	 * @return the {@link EntitySnapshots} or {@literal null} if the entity is not supported.
+	 */
+	public static EntitySnapshots forEntity(Class<?> type, Metamodel metamodel) {
+
+		Assert.notNull(type, "Type must not be null!");
+		Assert.notNull(metamodel, "Metamodel must not be null!");
+
+		EntityType<?> entityType;
+
+		try {
+			entityType = metamodel.entity(type);
+		} catch (IllegalArgumentException o_O) {
+			return null;
+		}
+
+		if (!entityType.getPluralAttributes().isEmpty()) {
+			return null;
+		}
+
+		List<CachedPropertyAccessor> accessors = new ArrayList<CachedPropertyAccessor>();
+
+		for (SingularAttribute<?, ?> attribute : entityType.getSingularAttributes()) {
+
+			if (attribute.getPersistentAttributeType() != PersistentAttributeType.BASIC) {
+				return null;
+			}
+
+			CachedPropertyAccessor accessor = CachedPropertyAccessor.forProperty(type, attribute.getName());
+
+			if (accessor == null) {
+				return null;
+			}
+
+			accessors.add(accessor);
+		}
+
+		try {
+			type.getDeclaredConstructor();
+		} catch (NoSuchMethodException o_O) {
+			return null;
+		}
+
+		return new EntitySnapshots(type, getRootType(entityType), accessors);
+	}
+
+	/**
+	 * Returns the topmost entity type of the hierarchy the entity type belongs to. Entities of all types of the hierarchy
+	 * share their identifiers.
+	 * 
+	 * @return
+	 */
+	public Class<?> getRootType() {
+		return rootType;
+	}
+
+	/**
+	 * Returns whether the given entity can be copied. Instances of subtypes aren't supported as their additional
+	 * attributes wouldn't be copied.
+	 * 
+	 * @param entity can be {@literal null}.
+	 * @return
+	 */
+	public boolean supports(Object entity) {
+		return entity != null && type.equals(entity.getClass());
+	}
+
+	/**
+	 * Creates a detached copy of the given entity.
+	 * 
+	 * @param entity must be {@link #supports(Object) supported}.
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T copy(T entity) {
+
+		T copy = (T) BeanUtils.instantiateClass(type);
+
+		for (CachedPropertyAccessor accessor : accessors) {
+			accessor.setValue(copy, copyValue(accessor.getValue(entity)));
+		}
+
+		return copy;
+	}
+
+	private static Object copyValue(Object value) {
+
+		if (value instanceof Date) {
+			return ((Date) value).clone();
+		}
+
+		if (ObjectUtils.isArray(value)) {
+
+			int length = Array.getLength(value);
+			Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+			System.arraycopy(value, 0, copy, 0, length);
+
+			return copy;
+		}
+
+		return value;
+	}
+
+	private static Class<?> getRootType(EntityType<?> entityType) {
+
+		IdentifiableType<?> current = entityType;
+		Class<?> rootType = entityType.getJavaType();
+
+		while ((current = current.getSupertype()) != null) {
+
+			if (current instanceof EntityType) {
+				rootType = current.getJavaType();
+			}
+		}
+
+		return rootType;
+	}
+}
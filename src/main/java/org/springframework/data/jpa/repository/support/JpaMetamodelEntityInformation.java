@@ -19,7 +19,10 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import javax.persistence.IdClass;
@@ -31,6 +34,7 @@ import javax.persistence.metamodel.SingularAttribute;
 import javax.persistence.metamodel.Type;
 import javax.persistence.metamodel.Type.PersistenceType;
 
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.core.annotation.AnnotationUtils;
@@ -52,6 +56,10 @@ public class JpaMetamodelEntityInformation<T, ID extends Serializable> extends J
 	private final Metamodel metamodel;
 	private final String entityName;
 
+	private final CachedPropertyAccessor versionAccessor;
+	private final Map<String, CachedPropertyAccessor> idAccessors;
+	private Map<String, CachedPropertyAccessor> idTypeAccessors;
+
 	/**
 	 * Creates a new {@link JpaMetamodelEntityInformation} for the given domain class and {@link Metamodel}.
 	 * 
@@ -78,6 +86,10 @@ public class JpaMetamodelEntityInformation<T, ID extends Serializable> extends J
 
 		this.idMetadata = new IdMetadata<T>((IdentifiableType<T>) type);
 		this.versionAttribute = findVersionAttribute(type);
+
+		this.versionAccessor = versionAttribute == null ? null : CachedPropertyAccessor.forProperty(domainClass,
+				versionAttribute.getName());
+		this.idAccessors = createAccessors(domainClass, getIdAttributeNames());
 	}
 
 	/*
@@ -108,6 +120,32 @@ public class JpaMetamodelEntityInformation<T, ID extends Serializable> extends J
 		return null;
 	}
 
+	/**
+	 * Creates {@link CachedPropertyAccessor}s for the given properties of the given type.
+	 * 
+	 * @param type must not be {@literal null}.
+	 * @param propertyNames must not be {@literal null}.
+	 * @return the {@link CachedPropertyAccessor}s keyed by property name or {@literal null} if one of the properties
+	 *         can't be accessed.
+	 */
+	private static Map<String, CachedPropertyAccessor> createAccessors(Class<?> type, Iterable<String> propertyNames) {
+
+		Map<String, CachedPropertyAccessor> accessors = new LinkedHashMap<String, CachedPropertyAccessor>();
+
+		for (String propertyName : propertyNames) {
+
+			CachedPropertyAccessor accessor = CachedPropertyAccessor.forProperty(type, propertyName);
+
+			if (accessor == null) {
+				return null;
+			}
+
+			accessors.put(propertyName, accessor);
+		}
+
+		return accessors;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.repository.core.EntityInformation#getId(java.lang.Object)
@@ -115,6 +153,51 @@ public class JpaMetamodelEntityInformation<T, ID extends Serializable> extends J
 	@SuppressWarnings("unchecked")
 	public ID getId(T entity) {
 
+		if (idAccessors == null) {
+			return getIdUsingBeanWrapper(entity);
+		}
+
+		if (idMetadata.hasSimpleId()) {
+			return (ID) idAccessors.get(idMetadata.getSimpleIdAttribute().getName()).getValue(entity);
+		}
+
+		Map<String, CachedPropertyAccessor> idTypeAccessors = getIdTypeAccessors();
+
+		if (idTypeAccessors == null) {
+			return getIdUsingBeanWrapper(entity);
+		}
+
+		Object id = null;
+
+		for (Entry<String, CachedPropertyAccessor> entry : idAccessors.entrySet()) {
+
+			Object propertyValue = entry.getValue().getValue(entity);
+
+			if (propertyValue == null) {
+				continue;
+			}
+
+			if (isIdentifierDerivationNecessary(propertyValue, metamodel)) {
+				propertyValue = getNestedIdentifier(propertyValue, metamodel);
+			}
+
+			id = id == null ? BeanUtils.instantiateClass(idMetadata.getType()) : id;
+			idTypeAccessors.get(entry.getKey()).setValue(id, propertyValue);
+		}
+
+		return (ID) id;
+	}
+
+	/**
+	 * Returns the identifier of the given entity using {@link BeanWrapper}s in case the identifier properties can't be
+	 * accessed through {@link CachedPropertyAccessor}s.
+	 * 
+	 * @param entity must not be {@literal null}.
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private ID getIdUsingBeanWrapper(T entity) {
+
 		BeanWrapper entityWrapper = new DirectFieldAccessFallbackBeanWrapper(entity);
 
 		if (idMetadata.hasSimpleId()) {
@@ -137,6 +220,26 @@ public class JpaMetamodelEntityInformation<T, ID extends Serializable> extends J
 		return (ID) (partialIdValueFound ? idWrapper.getWrappedInstance() : null);
 	}
 
+	/**
+	 * Returns the {@link CachedPropertyAccessor}s for the properties of the composite identifier type.
+	 * 
+	 * @return the {@link CachedPropertyAccessor}s keyed by property name or {@literal null} if they can't be created.
+	 */
+	private Map<String, CachedPropertyAccessor> getIdTypeAccessors() {
+
+		if (idTypeAccessors == null) {
+
+			Class<?> idType = idMetadata.getType();
+			Map<String, CachedPropertyAccessor> accessors = idType == null ? null : createAccessors(idType,
+					getIdAttributeNames());
+
+			// lazy initialization with tolerable benign data-race
+			this.idTypeAccessors = accessors == null ? Collections.<String, CachedPropertyAccessor> emptyMap() : accessors;
+		}
+
+		return idTypeAccessors.isEmpty() ? null : idTypeAccessors;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.repository.core.EntityInformation#getIdType()
@@ -182,8 +285,14 @@ public class JpaMetamodelEntityInformation<T, ID extends Serializable> extends J
 	 * @see org.springframework.data.jpa.repository.support.JpaEntityInformation#getCompositeIdAttributeValue(java.io.Serializable, java.lang.String)
 	 */
 	public Object getCompositeIdAttributeValue(Serializable id, String idAttribute) {
+
 		Assert.isTrue(hasCompositeId());
-		return new DirectFieldAccessFallbackBeanWrapper(id).getPropertyValue(idAttribute);
+
+		Map<String, CachedPropertyAccessor> idTypeAccessors = getIdTypeAccessors();
+		CachedPropertyAccessor accessor = idTypeAccessors == null ? null : idTypeAccessors.get(idAttribute);
+
+		return accessor != null && idMetadata.getType().isInstance(id) ? accessor.getValue(id)
+				: new DirectFieldAccessFallbackBeanWrapper(id).getPropertyValue(idAttribute);
 	}
 
 	/* 
@@ -197,8 +306,8 @@ public class JpaMetamodelEntityInformation<T, ID extends Serializable> extends J
 			return super.isNew(entity);
 		}
 
-		BeanWrapper wrapper = new DirectFieldAccessFallbackBeanWrapper(entity);
-		Object versionValue = wrapper.getPropertyValue(versionAttribute.getName());
+		Object versionValue = versionAccessor != null ? versionAccessor.getValue(entity)
+				: new DirectFieldAccessFallbackBeanWrapper(entity).getPropertyValue(versionAttribute.getName());
 
 		return versionValue == null;
 	}
@@ -295,40 +404,53 @@ public class JpaMetamodelEntityInformation<T, ID extends Serializable> extends J
 		@Override
 		public void setPropertyValue(String propertyName, Object value) {
 
-			if (isIdentifierDerivationNecessary(value)) {
+			if (isIdentifierDerivationNecessary(value, metamodel)) {
 
 				// Derive the identifer from the nested entity that is part of the composite key.
-				@SuppressWarnings({ "rawtypes", "unchecked" })
-				JpaMetamodelEntityInformation nestedEntityInformation = new JpaMetamodelEntityInformation(value.getClass(),
-						this.metamodel);
-				Object nestedIdPropertyValue = new DirectFieldAccessFallbackBeanWrapper(value)
-						.getPropertyValue(nestedEntityInformation.getIdAttribute().getName());
-				super.setPropertyValue(propertyName, nestedIdPropertyValue);
+				super.setPropertyValue(propertyName, getNestedIdentifier(value, metamodel));
 
 				return;
 			}
 
 			super.setPropertyValue(propertyName, value);
 		}
+	}
 
-		/**
-		 * @param value
-		 * @return {@literal true} if the given value is not {@literal null} and a mapped persistable entity otherwise
-		 *         {@literal false}
-		 */
-		private boolean isIdentifierDerivationNecessary(Object value) {
+	/**
+	 * @param value
+	 * @param metamodel must not be {@literal null}.
+	 * @return {@literal true} if the given value is not {@literal null} and a mapped persistable entity otherwise
+	 *         {@literal false}
+	 */
+	private static boolean isIdentifierDerivationNecessary(Object value, Metamodel metamodel) {
 
-			if (value == null) {
-				return false;
-			}
+		if (value == null) {
+			return false;
+		}
 
-			try {
-				ManagedType<? extends Object> managedType = this.metamodel.managedType(value.getClass());
-				return managedType != null && managedType.getPersistenceType() == PersistenceType.ENTITY;
-			} catch (IllegalArgumentException iae) {
-				// no mapped type
-				return false;
-			}
+		try {
+			ManagedType<? extends Object> managedType = metamodel.managedType(value.getClass());
+			return managedType != null && managedType.getPersistenceType() == PersistenceType.ENTITY;
+		} catch (IllegalArgumentException iae) {
+			// no mapped type
+			return false;
 		}
 	}
+
+	/**
+	 * Returns the identifier of the given entity being part of a composite key.
+	 * 
+	 * @param entity must not be {@literal null}.
+	 * @param metamodel must not be {@literal null}.
+	 * @return
+	 */
+	private static Object getNestedIdentifier(Object entity, Metamodel metamodel) {
+
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		JpaMetamodelEntityInformation nestedEntityInformation = new JpaMetamodelEntityInformation(entity.getClass(),
+				metamodel);
+
+		return new DirectFieldAccessFallbackBeanWrapper(entity).getPropertyValue(nestedEntityInformation.getIdAttribute()
+				.getName());
+	}
 }
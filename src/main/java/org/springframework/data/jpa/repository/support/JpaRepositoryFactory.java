@@ -18,15 +18,25 @@ package org.springframework.data.jpa.repository.support;
 import static org.springframework.data.querydsl.QueryDslUtils.*;
 
 import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
 
 import javax.persistence.EntityManager;
+import javax.persistence.metamodel.Metamodel;
 
 import org.springframework.data.jpa.provider.PersistenceProvider;
 import org.springframework.data.jpa.provider.QueryExtractor;
+import org.springframework.data.jpa.repository.CachedQuery;
+import org.springframework.data.jpa.repository.FetchSize;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.query.AbstractJpaQuery;
+import org.springframework.data.jpa.repository.query.ConcurrentCountExecutor;
 import org.springframework.data.jpa.repository.query.JpaQueryLookupStrategy;
+import org.springframework.data.jpa.repository.query.PartTreeJpaQuery;
+import org.springframework.data.jpa.repository.query.QueryResultCache;
+import org.springframework.data.jpa.repository.query.ResultCopier;
 import org.springframework.data.querydsl.QueryDslPredicateExecutor;
 import org.springframework.data.repository.core.RepositoryMetadata;
+import org.springframework.data.repository.core.support.QueryCreationListener;
 import org.springframework.data.repository.core.support.RepositoryFactorySupport;
 import org.springframework.data.repository.query.EvaluationContextProvider;
 import org.springframework.data.repository.query.QueryLookupStrategy;
@@ -44,6 +54,21 @@ public class JpaRepositoryFactory extends RepositoryFactorySupport {
 	private final QueryExtractor extractor;
 	private final CrudMethodMetadataPostProcessor lockModePostProcessor;
 
+	private ConcurrentCountExecutor countExecutor;
+	private QueryResultCache countCache;
+	private QueryResultCache entityCache;
+	private QueryResultCache queryCache;
+	private ResultCopier resultCopier;
+	private boolean readOnlyQueries = false;
+	private int fetchSize = 0;
+	private boolean adaptiveFetchSize = false;
+	private Integer maxNullValueVariants;
+	private Integer batchSize;
+	private Integer maxBindParameters;
+	private boolean streamingDeletes = false;
+	private boolean bulkDeletesById = false;
+	private boolean versionedUpdates = false;
+
 	/**
 	 * Creates a new {@link JpaRepositoryFactory}.
 	 * 
@@ -56,8 +81,192 @@ public class JpaRepositoryFactory extends RepositoryFactorySupport {
 		this.entityManager = entityManager;
 		this.extractor = PersistenceProvider.fromEntityManager(entityManager);
 		this.lockModePostProcessor = CrudMethodMetadataPostProcessor.INSTANCE;
+		this.queryCache = createDefaultQueryCache();
 
 		addRepositoryProxyPostProcessor(lockModePostProcessor);
+		addQueryCreationListener(new QueryCreationListener<AbstractJpaQuery>() {
+
+			public void onCreation(AbstractJpaQuery query) {
+				query.setCountExecutor(countExecutor);
+				query.setCountCache(countCache);
+				query.setEntityCache(entityCache);
+				query.setQueryCache(queryCache, getResultCopier());
+				query.setReadOnlyQueries(readOnlyQueries);
+				query.setFetchSize(fetchSize);
+				query.setAdaptiveFetchSize(adaptiveFetchSize);
+
+				if (maxNullValueVariants != null && query instanceof PartTreeJpaQuery) {
+					((PartTreeJpaQuery) query).setMaxNullValueVariants(maxNullValueVariants);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Configures the {@link ConcurrentCountExecutor} the repositories and query methods created by this factory shall
+	 * use to run the count queries for pages concurrently to the query reading the page content. Defaults to
+	 * {@literal null}, i.e. both queries are executed sequentially.
+	 * 
+	 * @param countExecutor can be {@literal null}.
+	 * @since 1.9
+	 */
+	public void setCountExecutor(ConcurrentCountExecutor countExecutor) {
+		this.countExecutor = countExecutor;
+	}
+
+	/**
+	 * Configures the {@link QueryResultCache} the repositories and query methods created by this factory shall cache
+	 * counts and the totals of pages in. Defaults to {@literal null}, i.e. counts are not cached.
+	 * 
+	 * @param countCache can be {@literal null}.
+	 * @since 1.9
+	 */
+	public void setCountCache(QueryResultCache countCache) {
+		this.countCache = countCache;
+	}
+
+	/**
+	 * Configures the {@link QueryResultCache} the repositories created by this factory shall keep detached copies of the
+	 * entities looked up by identifier in. Defaults to {@literal null}, i.e. entities are not cached.
+	 * 
+	 * @param entityCache can be {@literal null}.
+	 * @since 1.9
+	 */
+	public void setEntityCache(QueryResultCache entityCache) {
+		this.entityCache = entityCache;
+	}
+
+	/**
+	 * Configures the {@link QueryResultCache} to derive the caches for the results of query methods annotated with
+	 * {@link CachedQuery} from. Evictions of domain types are shared between the caches, so configuring the same
+	 * {@link QueryResultCache} for multiple factories makes writes through any of the repositories invalidate the
+	 * results cached for all of them. Defaults to a {@link QueryResultCache} held by the factory itself, so that only
+	 * the repositories created by it share evictions. Has to be configured before any repository is created.
+	 * 
+	 * @param queryCache can be {@literal null} to use the default one.
+	 * @since 1.9
+	 */
+	public void setQueryCache(QueryResultCache queryCache) {
+		this.queryCache = queryCache == null ? createDefaultQueryCache() : queryCache;
+	}
+
+	/**
+	 * Configures whether the repositories and query methods created by this factory shall apply the read-only hints of
+	 * the persistence provider to the queries reading entities within read-only transactions. Defaults to
+	 * {@literal false}.
+	 * 
+	 * @param readOnlyQueries
+	 * @since 1.9
+	 */
+	public void setReadOnlyQueries(boolean readOnlyQueries) {
+		this.readOnlyQueries = readOnlyQueries;
+	}
+
+	/**
+	 * Configures the JDBC fetch size the repositories and query methods created by this factory shall use when reading
+	 * entities. Query methods annotated with {@link FetchSize} use the fetch size configured there. Defaults to
+	 * {@literal 0}, i.e. the default of the JDBC driver is used.
+	 * 
+	 * @param fetchSize must not be negative.
+	 * @since 1.9
+	 */
+	public void setFetchSize(int fetchSize) {
+
+		Assert.isTrue(fetchSize >= 0, "Fetch size must not be negative!");
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * Configures whether the query methods created by this factory shall derive their JDBC fetch size from the sizes of
+	 * the results they returned before. Query methods annotated with {@link FetchSize} keep using the fetch size
+	 * configured there. Defaults to {@literal false}.
+	 * 
+	 * @param adaptiveFetchSize
+	 * @since 1.9
+	 */
+	public void setAdaptiveFetchSize(boolean adaptiveFetchSize) {
+		this.adaptiveFetchSize = adaptiveFetchSize;
+	}
+
+	/**
+	 * Configures the maximum number of query variants derived query methods created by this factory shall cache for
+	 * invocations with {@literal null} arguments. Defaults to {@literal null}, i.e. the default of
+	 * {@link PartTreeJpaQuery} is used.
+	 * 
+	 * @param maxNullValueVariants must not be negative.
+	 * @see PartTreeJpaQuery#setMaxNullValueVariants(int)
+	 * @since 1.9
+	 */
+	public void setMaxNullValueVariants(int maxNullValueVariants) {
+
+		Assert.isTrue(maxNullValueVariants >= 0, "Maximum number of null value variants must not be negative!");
+		this.maxNullValueVariants = maxNullValueVariants;
+	}
+
+	/**
+	 * Configures the number of entities the repositories created by this factory shall write before flushing and
+	 * clearing the {@link EntityManager} when saving entities in batches. Defaults to {@literal null}, i.e. the JDBC batch
+	 * size of the persistence unit is used.
+	 * 
+	 * @param batchSize must be greater than zero.
+	 * @see SimpleJpaRepository#setBatchSize(int)
+	 * @since 1.9
+	 */
+	public void setBatchSize(int batchSize) {
+
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than zero!");
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Configures the maximum number of bind parameters a single query issued by the repositories created by this factory
+	 * for multiple identifiers may use. Defaults to {@literal null}, i.e. the default of {@link SimpleJpaRepository} is
+	 * used.
+	 * 
+	 * @param maxBindParameters must be greater than zero.
+	 * @see SimpleJpaRepository#setMaxBindParameters(int)
+	 * @since 1.9
+	 */
+	public void setMaxBindParameters(int maxBindParameters) {
+
+		Assert.isTrue(maxBindParameters > 0, "Maximum number of bind parameters must be greater than zero!");
+		this.maxBindParameters = maxBindParameters;
+	}
+
+	/**
+	 * Configures whether the repositories created by this factory shall avoid loading all entities into the persistence
+	 * context at once when deleting multiple entities. Defaults to {@literal false}.
+	 * 
+	 * @param streamingDeletes
+	 * @see SimpleJpaRepository#setStreamingDeletes(boolean)
+	 * @since 1.9
+	 */
+	public void setStreamingDeletes(boolean streamingDeletes) {
+		this.streamingDeletes = streamingDeletes;
+	}
+
+	/**
+	 * Configures whether the repositories created by this factory shall delete entities by identifier using a single JPQL
+	 * delete statement where possible instead of loading them first. Defaults to {@literal false}.
+	 * 
+	 * @param bulkDeletesById
+	 * @see SimpleJpaRepository#setBulkDeletesById(boolean)
+	 * @since 1.9
+	 */
+	public void setBulkDeletesById(boolean bulkDeletesById) {
+		this.bulkDeletesById = bulkDeletesById;
+	}
+
+	/**
+	 * Configures whether the repositories created by this factory shall write detached versioned entities using a single
+	 * JPQL update instead of merging them where possible. Defaults to {@literal false}.
+	 * 
+	 * @param versionedUpdates
+	 * @see SimpleJpaRepository#setVersionedUpdates(boolean)
+	 * @since 1.9
+	 */
+	public void setVersionedUpdates(boolean versionedUpdates) {
+		this.versionedUpdates = versionedUpdates;
 	}
 
 	/*
@@ -69,10 +278,48 @@ public class JpaRepositoryFactory extends RepositoryFactorySupport {
 
 		SimpleJpaRepository<?, ?> repository = getTargetRepository(metadata, entityManager);
 		repository.setRepositoryMethodMetadata(lockModePostProcessor.getLockMetadataProvider());
+		repository.setRepositoryInterface(metadata.getRepositoryInterface());
+		repository.setCountExecutor(countExecutor);
+		repository.setCountCache(countCache);
+		repository.setEntityCache(entityCache);
+		repository.setReadOnlyQueries(readOnlyQueries);
+		repository.setFetchSize(fetchSize);
+		repository.setQueryCache(queryCache);
+		repository.setStreamingDeletes(streamingDeletes);
+		repository.setBulkDeletesById(bulkDeletesById);
+		repository.setVersionedUpdates(versionedUpdates);
+
+		if (batchSize != null) {
+			repository.setBatchSize(batchSize);
+		}
+
+		if (maxBindParameters != null) {
+			repository.setMaxBindParameters(maxBindParameters);
+		}
 
 		return repository;
 	}
 
+	private ResultCopier getResultCopier() {
+
+		if (resultCopier == null) {
+			Metamodel metamodel = entityManager.getMetamodel();
+			this.resultCopier = metamodel == null ? null : new SnapshotResultCopier(metamodel);
+		}
+
+		return resultCopier;
+	}
+
+	/**
+	 * Creates the {@link QueryResultCache} to derive the caches of query methods from if none was configured. The cache
+	 * itself is only used to share evictions between the derived ones.
+	 * 
+	 * @return
+	 */
+	static QueryResultCache createDefaultQueryCache() {
+		return new QueryResultCache(1, 1, TimeUnit.MINUTES);
+	}
+
 	/**
 	 * Callback to create a {@link JpaRepository} instance with the given {@link EntityManager}
 	 * 
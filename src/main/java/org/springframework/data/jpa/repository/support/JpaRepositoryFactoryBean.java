@@ -20,6 +20,10 @@ import java.io.Serializable;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.data.jpa.repository.query.ConcurrentCountExecutor;
+import org.springframework.data.jpa.repository.query.QueryResultCache;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.repository.Repository;
 import org.springframework.data.repository.core.support.RepositoryFactorySupport;
@@ -37,7 +41,23 @@ import org.springframework.util.Assert;
 public class JpaRepositoryFactoryBean<T extends Repository<S, ID>, S, ID extends Serializable> extends
 		TransactionalRepositoryFactoryBeanSupport<T, S, ID> {
 
+	static final String DEFAULT_QUERY_CACHE_BEAN_NAME = JpaRepositoryFactoryBean.class.getName() + ".queryCache";
+
+	private BeanFactory beanFactory;
 	private EntityManager entityManager;
+	private ConcurrentCountExecutor countExecutor;
+	private QueryResultCache countCache;
+	private QueryResultCache entityCache;
+	private QueryResultCache queryCache;
+	private boolean readOnlyQueries = false;
+	private int fetchSize = 0;
+	private boolean adaptiveFetchSize = false;
+	private Integer maxNullValueVariants;
+	private Integer batchSize;
+	private Integer maxBindParameters;
+	private boolean streamingDeletes = false;
+	private boolean bulkDeletesById = false;
+	private boolean versionedUpdates = false;
 
 	/**
 	 * The {@link EntityManager} to be used.
@@ -49,6 +69,172 @@ public class JpaRepositoryFactoryBean<T extends Repository<S, ID>, S, ID extends
 		this.entityManager = entityManager;
 	}
 
+	/**
+	 * Configures the {@link ConcurrentCountExecutor} to run the count queries for pages concurrently to the query reading
+	 * the page content. Defaults to {@literal null}, i.e. both queries are executed sequentially.
+	 * 
+	 * @param countExecutor can be {@literal null}.
+	 * @since 1.9
+	 */
+	public void setCountExecutor(ConcurrentCountExecutor countExecutor) {
+		this.countExecutor = countExecutor;
+	}
+
+	/**
+	 * Configures the {@link QueryResultCache} to cache counts and the totals of pages in. Defaults to {@literal null},
+	 * i.e. counts are not cached.
+	 * 
+	 * @param countCache can be {@literal null}.
+	 * @since 1.9
+	 */
+	public void setCountCache(QueryResultCache countCache) {
+		this.countCache = countCache;
+	}
+
+	/**
+	 * Configures the {@link QueryResultCache} to keep detached copies of the entities looked up by identifier in.
+	 * Defaults to {@literal null}, i.e. entities are not cached.
+	 * 
+	 * @param entityCache can be {@literal null}.
+	 * @since 1.9
+	 */
+	public void setEntityCache(QueryResultCache entityCache) {
+		this.entityCache = entityCache;
+	}
+
+	/**
+	 * Configures the {@link QueryResultCache} to derive the caches for the results of query methods annotated with
+	 * {@link org.springframework.data.jpa.repository.CachedQuery} from. Configure the same instance for multiple
+	 * repositories to have writes through any of them invalidate the results cached for all of them. Defaults to
+	 * {@literal null}, i.e. the {@link QueryResultCache} registered under {@link #DEFAULT_QUERY_CACHE_BEAN_NAME} in the
+	 * {@link BeanFactory} is used and shared by all repositories created by it.
+	 * 
+	 * @param queryCache can be {@literal null}.
+	 * @since 1.9
+	 */
+	public void setQueryCache(QueryResultCache queryCache) {
+		this.queryCache = queryCache;
+	}
+
+	/**
+	 * Configures whether to apply the read-only hints of the persistence provider to the queries reading entities within
+	 * read-only transactions, so that the entities returned are loaded without snapshots for dirty checking. Defaults to
+	 * {@literal false}.
+	 * 
+	 * @param readOnlyQueries
+	 * @since 1.9
+	 */
+	public void setReadOnlyQueries(boolean readOnlyQueries) {
+		this.readOnlyQueries = readOnlyQueries;
+	}
+
+	/**
+	 * Configures the JDBC fetch size to use when reading entities. Query methods annotated with
+	 * {@link org.springframework.data.jpa.repository.FetchSize} use the fetch size configured there. Defaults to
+	 * {@literal 0}, i.e. the default of the JDBC driver is used.
+	 * 
+	 * @param fetchSize must not be negative.
+	 * @since 1.9
+	 */
+	public void setFetchSize(int fetchSize) {
+
+		Assert.isTrue(fetchSize >= 0, "Fetch size must not be negative!");
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * Configures whether query methods shall derive their JDBC fetch size from the sizes of the results they returned
+	 * before. Defaults to {@literal false}.
+	 * 
+	 * @param adaptiveFetchSize
+	 * @since 1.9
+	 */
+	public void setAdaptiveFetchSize(boolean adaptiveFetchSize) {
+		this.adaptiveFetchSize = adaptiveFetchSize;
+	}
+
+	/**
+	 * Configures the maximum number of query variants derived query methods shall cache for invocations with
+	 * {@literal null} arguments.
+	 * 
+	 * @param maxNullValueVariants must not be negative.
+	 * @see JpaRepositoryFactory#setMaxNullValueVariants(int)
+	 * @since 1.9
+	 */
+	public void setMaxNullValueVariants(int maxNullValueVariants) {
+		this.maxNullValueVariants = maxNullValueVariants;
+	}
+
+	/**
+	 * Configures the number of entities to write before flushing and clearing the {@link EntityManager} when saving
+	 * entities in batches. Defaults to the JDBC batch size of the persistence unit.
+	 * 
+	 * @param batchSize must be greater than zero.
+	 * @see SimpleJpaRepository#setBatchSize(int)
+	 * @since 1.9
+	 */
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Configures the maximum number of bind parameters a single query issued for multiple identifiers may use.
+	 * 
+	 * @param maxBindParameters must be greater than zero.
+	 * @see SimpleJpaRepository#setMaxBindParameters(int)
+	 * @since 1.9
+	 */
+	public void setMaxBindParameters(int maxBindParameters) {
+		this.maxBindParameters = maxBindParameters;
+	}
+
+	/**
+	 * Configures whether to avoid loading all entities into the persistence context at once when deleting multiple
+	 * entities. Defaults to {@literal false}.
+	 * 
+	 * @param streamingDeletes
+	 * @see SimpleJpaRepository#setStreamingDeletes(boolean)
+	 * @since 1.9
+	 */
+	public void setStreamingDeletes(boolean streamingDeletes) {
+		this.streamingDeletes = streamingDeletes;
+	}
+
+	/**
+	 * Configures whether to delete entities by identifier using a single JPQL delete statement where possible instead of
+	 * loading them first. Defaults to {@literal false}.
+	 * 
+	 * @param bulkDeletesById
+	 * @see SimpleJpaRepository#setBulkDeletesById(boolean)
+	 * @since 1.9
+	 */
+	public void setBulkDeletesById(boolean bulkDeletesById) {
+		this.bulkDeletesById = bulkDeletesById;
+	}
+
+	/**
+	 * Configures whether to write detached versioned entities using a single JPQL update instead of merging them where
+	 * possible. Defaults to {@literal false}.
+	 * 
+	 * @param versionedUpdates
+	 * @see SimpleJpaRepository#setVersionedUpdates(boolean)
+	 * @since 1.9
+	 */
+	public void setVersionedUpdates(boolean versionedUpdates) {
+		this.versionedUpdates = versionedUpdates;
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.springframework.data.repository.core.support.TransactionalRepositoryFactoryBeanSupport#setBeanFactory(org.springframework.beans.factory.BeanFactory)
+	 */
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) {
+
+		super.setBeanFactory(beanFactory);
+		this.beanFactory = beanFactory;
+	}
+
 	/* 
 	 * (non-Javadoc)
 	 * @see org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport#setMappingContext(org.springframework.data.mapping.context.MappingContext)
@@ -66,7 +252,91 @@ public class JpaRepositoryFactoryBean<T extends Repository<S, ID>, S, ID extends
 	 */
 	@Override
 	protected RepositoryFactorySupport doCreateRepositoryFactory() {
-		return createRepositoryFactory(entityManager);
+
+		RepositoryFactorySupport factory = createRepositoryFactory(entityManager);
+
+		if (countExecutor != null && factory instanceof JpaRepositoryFactory) {
+			((JpaRepositoryFactory) factory).setCountExecutor(countExecutor);
+		}
+
+		if (countCache != null && factory instanceof JpaRepositoryFactory) {
+			((JpaRepositoryFactory) factory).setCountCache(countCache);
+		}
+
+		if (entityCache != null && factory instanceof JpaRepositoryFactory) {
+			((JpaRepositoryFactory) factory).setEntityCache(entityCache);
+		}
+
+		if (factory instanceof JpaRepositoryFactory) {
+			((JpaRepositoryFactory) factory).setQueryCache(queryCache == null ? getDefaultQueryCache() : queryCache);
+		}
+
+		if (readOnlyQueries && factory instanceof JpaRepositoryFactory) {
+			((JpaRepositoryFactory) factory).setReadOnlyQueries(true);
+		}
+
+		if (fetchSize > 0 && factory instanceof JpaRepositoryFactory) {
+			((JpaRepositoryFactory) factory).setFetchSize(fetchSize);
+		}
+
+		if (adaptiveFetchSize && factory instanceof JpaRepositoryFactory) {
+			((JpaRepositoryFactory) factory).setAdaptiveFetchSize(true);
+		}
+
+		if (maxNullValueVariants != null && factory instanceof JpaRepositoryFactory) {
+			((JpaRepositoryFactory) factory).setMaxNullValueVariants(maxNullValueVariants);
+		}
+
+		if (batchSize != null && factory instanceof JpaRepositoryFactory) {
+			((JpaRepositoryFactory) factory).setBatchSize(batchSize);
+		}
+
+		if (maxBindParameters != null && factory instanceof JpaRepositoryFactory) {
+			((JpaRepositoryFactory) factory).setMaxBindParameters(maxBindParameters);
+		}
+
+		if (streamingDeletes && factory instanceof JpaRepositoryFactory) {
+			((JpaRepositoryFactory) factory).setStreamingDeletes(true);
+		}
+
+		if (bulkDeletesById && factory instanceof JpaRepositoryFactory) {
+			((JpaRepositoryFactory) factory).setBulkDeletesById(true);
+		}
+
+		if (versionedUpdates && factory instanceof JpaRepositoryFactory) {
+			((JpaRepositoryFactory) factory).setVersionedUpdates(true);
+		}
+
+		return factory;
+	}
+
+	/**
+	 * Returns the {@link QueryResultCache} registered under {@link #DEFAULT_QUERY_CACHE_BEAN_NAME} in the
+	 * {@link BeanFactory}, registering a new one if none is present yet, so that all repositories of the application
+	 * context share evictions of the results of their query methods.
+	 * 
+	 * @return the default {@link QueryResultCache} or {@literal null} if the {@link BeanFactory} can't hold one.
+	 */
+	QueryResultCache getDefaultQueryCache() {
+
+		if (beanFactory == null) {
+			return null;
+		}
+
+		synchronized (beanFactory) {
+
+			if (!beanFactory.containsBean(DEFAULT_QUERY_CACHE_BEAN_NAME)) {
+
+				if (!(beanFactory instanceof SingletonBeanRegistry)) {
+					return null;
+				}
+
+				((SingletonBeanRegistry) beanFactory).registerSingleton(DEFAULT_QUERY_CACHE_BEAN_NAME,
+						JpaRepositoryFactory.createDefaultQueryCache());
+			}
+
+			return beanFactory.getBean(DEFAULT_QUERY_CACHE_BEAN_NAME, QueryResultCache.class);
+		}
 	}
 
 	/**
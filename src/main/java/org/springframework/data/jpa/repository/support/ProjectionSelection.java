@@ -0,0 +1,282 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import java.beans.ConstructorProperties;
+import java.beans.Introspector;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.metamodel.SingularAttribute;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * The properties selected for a projection of the entities matching a
+ * {@link org.springframework.data.jpa.domain.Specification} and the way the results are turned into instances of the
+ * projection type. Supported projection types are:
+ * <ul>
+ * <li>Classes declaring a constructor annotated with {@link ConstructorProperties}. The properties are selected using a
+ * constructor expression.</li>
+ * <li>Interfaces declaring accessor methods. The properties are selected as {@link Tuple} and exposed through a proxy
+ * implementing the interface.</li>
+ * <li>{@link Tuple}s of the given {@link SingularAttribute}s.</li>
+ * </ul>
+ * Property names may refer to nested properties using dots, e.g. {@code address.city}. As no entities are selected, the
+ * results are neither instantiated as entities nor registered with the persistence context.
+ * 
+ * @author agent
+ * @since 1.9
+ */
+class ProjectionSelection<P> {
+
+	private final Class<P> type;
+	private final List<String> properties;
+
+	private ProjectionSelection(Class<P> type, List<String> properties) {
+
+		Assert.notEmpty(properties, String.format("No properties found for projection type %s!", type.getName()));
+
+		this.type = type;
+		this.properties = properties;
+	}
+
+	/**
+	 * Creates a new {@link ProjectionSelection} for the given projection type.
+	 * 
+	 * @param type must be an interface or a class with a constructor annotated with {@link ConstructorProperties}.
+	 * @return
+	 */
+	public static <P> ProjectionSelection<P> forType(Class<P> type) {
+
+		Assert.notNull(type, "Projection type must not be null!");
+
+		return new ProjectionSelection<P>(type, type.isInterface() ? getAccessorProperties(type)
+				: getConstructorProperties(type));
+	}
+
+	/**
+	 * Creates a new {@link ProjectionSelection} for {@link Tuple}s of the given attributes.
+	 * 
+	 * @param attributes must not be {@literal null} or empty.
+	 * @return
+	 */
+	public static ProjectionSelection<Tuple> forAttributes(SingularAttribute<?, ?>... attributes) {
+
+		Assert.notEmpty(attributes, "Attributes must not be null or empty!");
+
+		List<String> properties = new ArrayList<String>(attributes.length);
+
+		for (SingularAttribute<?, ?> attribute : attributes) {
+			properties.add(attribute.getName());
+		}
+
+		return new ProjectionSelection<Tuple>(Tuple.class, properties);
+	}
+
+	/**
+	 * Creates the {@link CriteriaQuery} to select the projection with.
+	 * 
+	 * @param builder must not be {@literal null}.
+	 * @return
+	 */
+	public CriteriaQuery<?> createQuery(CriteriaBuilder builder) {
+		return isTupleBased() ? builder.createTupleQuery() : builder.createQuery(type);
+	}
+
+	/**
+	 * Selects the properties of the projection from the given {@link Root}.
+	 * 
+	 * @param query must not be {@literal null}.
+	 * @param root must not be {@literal null}.
+	 */
+	public void select(CriteriaQuery<?> query, Root<?> root) {
+
+		List<Selection<?>> selections = new ArrayList<Selection<?>>(properties.size());
+
+		for (String property : properties) {
+			selections.add(getPath(root, property).alias(property.replace('.', '_')));
+		}
+
+		query.multiselect(selections);
+	}
+
+	/**
+	 * Turns the results of a query created by {@link #createQuery(CriteriaBuilder)} into projections.
+	 * 
+	 * @param results must not be {@literal null}.
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	public List<P> toProjections(List<?> results) {
+
+		if (!type.isInterface() || Tuple.class.equals(type)) {
+			return (List<P>) results;
+		}
+
+		List<P> projections = new ArrayList<P>(results.size());
+
+		for (Object result : results) {
+
+			Tuple tuple = (Tuple) result;
+			Map<String, Object> values = new HashMap<String, Object>(properties.size());
+
+			for (int i = 0; i < properties.size(); i++) {
+				values.put(properties.get(i), tuple.get(i));
+			}
+
+			projections.add((P) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+					new ProjectionInvocationHandler(values)));
+		}
+
+		return projections;
+	}
+
+	private boolean isTupleBased() {
+		return type.isInterface();
+	}
+
+	private static Path<?> getPath(Root<?> root, String property) {
+
+		Path<?> path = root;
+
+		for (String segment : property.split("\\.")) {
+			path = path.get(segment);
+		}
+
+		return path;
+	}
+
+	private static List<String> getAccessorProperties(Class<?> type) {
+
+		Set<String> properties = new LinkedHashSet<String>();
+
+		for (Method method : type.getMethods()) {
+
+			String property = getPropertyName(method);
+
+			if (property != null) {
+				properties.add(property);
+			}
+		}
+
+		return new ArrayList<String>(properties);
+	}
+
+	private static List<String> getConstructorProperties(Class<?> type) {
+
+		for (Constructor<?> constructor : type.getConstructors()) {
+
+			ConstructorProperties annotation = constructor.getAnnotation(ConstructorProperties.class);
+
+			if (annotation != null) {
+				return Arrays.asList(annotation.value());
+			}
+		}
+
+		throw new IllegalArgumentException(String.format(
+				"Projection type %s must be an interface or declare a public constructor annotated with @%s!",
+				type.getName(), ConstructorProperties.class.getSimpleName()));
+	}
+
+	/**
+	 * Returns the name of the property the given {@link Method} is an accessor for or {@literal null} if it's not an
+	 * accessor.
+	 * 
+	 * @param method must not be {@literal null}.
+	 * @return
+	 */
+	private static String getPropertyName(Method method) {
+
+		String name = method.getName();
+
+		if (method.getParameterTypes().length != 0 || method.getReturnType().equals(void.class)) {
+			return null;
+		}
+
+		if (name.startsWith("get") && name.length() > 3) {
+			return Introspector.decapitalize(name.substring(3));
+		}
+
+		if (name.startsWith("is") && name.length() > 2) {
+			return Introspector.decapitalize(name.substring(2));
+		}
+
+		return null;
+	}
+
+	/**
+	 * {@link InvocationHandler} to expose the selected values through a projection interface.
+	 * 
+	 * @author agent
+	 */
+	private static class ProjectionInvocationHandler implements InvocationHandler {
+
+		private final Map<String, Object> values;
+
+		public ProjectionInvocationHandler(Map<String, Object> values) {
+			this.values = values;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.reflect.InvocationHandler#invoke(java.lang.Object, java.lang.reflect.Method, java.lang.Object[])
+		 */
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+			if (ReflectionUtils.isEqualsMethod(method)) {
+
+				Object other = args[0];
+
+				return other != null && Proxy.isProxyClass(other.getClass())
+						&& Proxy.getInvocationHandler(other) instanceof ProjectionInvocationHandler
+						&& values.equals(((ProjectionInvocationHandler) Proxy.getInvocationHandler(other)).values);
+			}
+
+			if (ReflectionUtils.isHashCodeMethod(method)) {
+				return values.hashCode();
+			}
+
+			if (ReflectionUtils.isToStringMethod(method)) {
+				return values.toString();
+			}
+
+			String property = getPropertyName(method);
+
+			if (property == null || !values.containsKey(property)) {
+				throw new UnsupportedOperationException(String.format("Method %s is not a projection accessor!", method));
+			}
+
+			return values.get(property);
+		}
+	}
+}
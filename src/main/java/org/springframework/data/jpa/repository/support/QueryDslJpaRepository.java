@@ -16,7 +16,6 @@
 package org.springframework.data.jpa.repository.support;
 
 import java.io.Serializable;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
 
@@ -24,9 +23,10 @@ import javax.persistence.EntityManager;
 import javax.persistence.LockModeType;
 
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.PageableExecutionUtils;
+import org.springframework.data.jpa.repository.query.PageableExecutionUtils.TotalSupplier;
 import org.springframework.data.querydsl.EntityPathResolver;
 import org.springframework.data.querydsl.QSort;
 import org.springframework.data.querydsl.QueryDslPredicateExecutor;
@@ -135,13 +135,15 @@ public class QueryDslJpaRepository<T, ID extends Serializable> extends SimpleJpa
 	@Override
 	public Page<T> findAll(Predicate predicate, Pageable pageable) {
 
-		JPQLQuery countQuery = createQuery(predicate);
+		final JPQLQuery countQuery = createQuery(predicate);
 		JPQLQuery query = querydsl.applyPagination(pageable, createQuery(predicate));
 
-		Long total = countQuery.count();
-		List<T> content = total > pageable.getOffset() ? query.list(path) : Collections.<T> emptyList();
+		return PageableExecutionUtils.getPage(query.list(path), pageable, new TotalSupplier() {
 
-		return new PageImpl<T>(content, pageable, total);
+			public long get() {
+				return countQuery.count();
+			}
+		});
 	}
 
 	/*
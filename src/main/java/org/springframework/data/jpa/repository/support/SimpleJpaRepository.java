@@ -18,41 +18,71 @@ package org.springframework.data.jpa.repository.support;
 import static org.springframework.data.jpa.repository.query.QueryUtils.*;
 
 import java.io.Serializable;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import javax.persistence.EntityManager;
 import javax.persistence.LockModeType;
 import javax.persistence.NoResultException;
 import javax.persistence.Parameter;
+import javax.persistence.PostLoad;
 import javax.persistence.Query;
+import javax.persistence.Tuple;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
 import javax.persistence.criteria.ParameterExpression;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.Attribute.PersistentAttributeType;
+import javax.persistence.metamodel.IdentifiableType;
+import javax.persistence.metamodel.SingularAttribute;
+import javax.persistence.metamodel.Type;
 
+import org.springframework.beans.BeanWrapper;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.KeysetPageRequest;
+import org.springframework.data.jpa.domain.KeysetSlice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.provider.PersistenceProvider;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.ConcurrentCountExecutor;
 import org.springframework.data.jpa.repository.query.Jpa21Utils;
-import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.jpa.repository.query.PageableExecutionUtils;
+import org.springframework.data.jpa.repository.query.PageableExecutionUtils.TotalSupplier;
+import org.springframework.data.jpa.repository.query.QueryResultCache;
+import org.springframework.data.jpa.repository.query.QueryResultCache.Loader;
+import org.springframework.data.jpa.repository.query.QueryResultCache.Lookup;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.data.util.DirectFieldAccessFallbackBeanWrapper;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 
 /**
  * Default implementation of the {@link org.springframework.data.repository.CrudRepository} interface. This will offer
@@ -70,12 +100,38 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 		JpaSpecificationExecutor<T> {
 
 	private static final String ID_MUST_NOT_BE_NULL = "The given id must not be null!";
+	private static final int DEFAULT_BATCH_SIZE = 50;
+	private static final int DEFAULT_MAX_BIND_PARAMETERS = 1000;
+	private static final String ID_CHUNK_QUERY_STRING = "select x.%1$s from %2$s x order by x.%1$s";
+	private static final String NEXT_ID_CHUNK_QUERY_STRING = "select x.%1$s from %2$s x where x.%1$s > :last order by x.%1$s";
+	private static final String COUNT_ALL_KEY = "count";
+	private static final Collection<Class<?>> BULK_VERSION_TYPES = Arrays.<Class<?>> asList(Integer.class, int.class,
+			Long.class, long.class, Date.class, Timestamp.class);
 
 	private final JpaEntityInformation<T, ?> entityInformation;
 	private final EntityManager em;
 	private final PersistenceProvider provider;
 
 	private CrudMethodMetadata metadata;
+	private Class<?> repositoryInterface;
+	private int batchSize;
+	private int maxBindParameters = DEFAULT_MAX_BIND_PARAMETERS;
+	private boolean streamingDeletes = false;
+	private boolean bulkDeletesById = false;
+	private EntityMappingMetadata mappingMetadata;
+	private CrudStatements statements;
+	private ConcurrentCountExecutor countExecutor;
+	private QueryResultCache countCache;
+	private QueryResultCache entityCache;
+	private QueryResultCache queryCache;
+	private EntitySnapshots snapshots;
+	private boolean snapshotsInspected = false;
+	private Boolean bulkCriteriaSupported;
+	private boolean versionedUpdates = false;
+	private VersionedUpdate versionedUpdate;
+	private boolean versionedUpdateInspected = false;
+	private boolean readOnlyQueries = false;
+	private int fetchSize = 0;
 
 	/**
 	 * Creates a new {@link SimpleJpaRepository} to manage objects of the given {@link JpaEntityInformation}.
@@ -117,18 +173,210 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 		return metadata;
 	}
 
+	/**
+	 * Configures the repository interface the repository backs. Used to name the statements registered as named queries
+	 * uniquely per repository interface. Has to be configured before the repository is used.
+	 * 
+	 * @param repositoryInterface can be {@literal null}.
+	 * @since 1.9
+	 */
+	public void setRepositoryInterface(Class<?> repositoryInterface) {
+		this.repositoryInterface = repositoryInterface;
+	}
+
+	/**
+	 * Configures the number of entities to be written before the {@link EntityManager} is flushed and cleared in
+	 * {@link #saveInBatch(Iterable)} and the number of entities handed out by {@link #stream(Specification, Sort)}
+	 * before they're detached. If not configured, the JDBC batch size of the persistence unit will be used.
+	 * 
+	 * @param batchSize must be greater than zero.
+	 * @since 1.9
+	 */
+	public void setBatchSize(int batchSize) {
+
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than zero!");
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Returns the number of entities to be written before the {@link EntityManager} is flushed and cleared. Defaults to
+	 * the JDBC batch size configured for the persistence unit.
+	 * 
+	 * @return
+	 * @since 1.9
+	 */
+	protected int getBatchSize() {
+
+		if (batchSize == 0) {
+			// lazy initialization with tolerable benign data-race
+			this.batchSize = provider.getJdbcBatchSize(em, DEFAULT_BATCH_SIZE);
+		}
+
+		return batchSize;
+	}
+
+	/**
+	 * Configures the maximum number of bind parameters a single query issued for multiple identifiers may use. Lookups
+	 * for more identifiers will be split into multiple queries. Defaults to 1000 which is within the limits of all
+	 * major databases.
+	 * 
+	 * @param maxBindParameters must be greater than zero.
+	 * @since 1.9
+	 */
+	public void setMaxBindParameters(int maxBindParameters) {
+
+		Assert.isTrue(maxBindParameters > 0, "Maximum number of bind parameters must be greater than zero!");
+		this.maxBindParameters = maxBindParameters;
+	}
+
+	/**
+	 * Configures whether {@link #deleteAll()} and {@link #delete(Iterable)} shall avoid loading all entities into the
+	 * persistence context at once. If enabled, entities without cascading removals, orphan removal, collection valued
+	 * attributes and removal callbacks are deleted using bulk statements, flushing pending changes before and detaching
+	 * the affected managed entities afterwards. All others are loaded chunk by chunk of the configured batch size and
+	 * removed through the {@link EntityManager}, which is flushed and cleared after each chunk. Thus all entities managed
+	 * by the {@link EntityManager} will be detached after a call to {@link #deleteAll()}. Defaults to {@literal false}.
+	 * 
+	 * @param streamingDeletes
+	 * @since 1.9
+	 */
+	public void setStreamingDeletes(boolean streamingDeletes) {
+		this.streamingDeletes = streamingDeletes;
+	}
+
+	/**
+	 * Configures whether {@link #delete(Serializable)} shall remove entities not managed by the {@link EntityManager}
+	 * using a single JPQL delete statement instead of loading them first. Only applies within a transaction to entities
+	 * with a simple identifier that don't declare cascading removals, orphan removal, collection valued attributes,
+	 * removal callbacks, custom delete statements, restrictions or second-level caching. Note that the bulk statement
+	 * bypasses the persistence context, so all other entities are still loaded and removed through the
+	 * {@link EntityManager}. Defaults to {@literal false}.
+	 * 
+	 * @param bulkDeletesById
+	 * @since 1.9
+	 */
+	public void setBulkDeletesById(boolean bulkDeletesById) {
+		this.bulkDeletesById = bulkDeletesById;
+	}
+
+	/**
+	 * Configures whether {@link #save(Object)} shall write detached entities with a version attribute using a single
+	 * JPQL update restricted to the entity's identifier and version instead of {@link EntityManager#merge(Object)},
+	 * which reads the entity's state from the database first. If no row is updated, the
+	 * {@link javax.persistence.OptimisticLockException} the {@link PersistenceProvider} raises for a merge of a stale
+	 * entity is thrown. Note that unlike for a merge, the entity handed to {@link #save(Object)} is returned itself with
+	 * its version incremented and stays detached, i.e. changes made to it afterwards are not written. Only applies to
+	 * instances of the exact domain type with a simple identifier, a numeric version and only basic attributes otherwise,
+	 * that don't declare update callbacks, custom update statements, dynamic updates, restrictions or second-level
+	 * caching, and only if the {@link PersistenceProvider} reports no instance with the same identifier to be managed by
+	 * the {@link EntityManager}. All other entities are still merged. Defaults to {@literal false}.
+	 * 
+	 * @param versionedUpdates
+	 * @since 1.9
+	 */
+	public void setVersionedUpdates(boolean versionedUpdates) {
+		this.versionedUpdates = versionedUpdates;
+	}
+
+	/**
+	 * Configures whether to apply the read-only hints of the {@link PersistenceProvider} to the queries reading entities
+	 * within read-only transactions, so that the entities returned are loaded without snapshots for dirty checking. Note
+	 * that entities loaded that way stay read-only for the lifetime of the {@link EntityManager}, which might span
+	 * subsequent read-write transactions. Not applied to invocations requiring a lock. Query hints configured for the
+	 * repository method take precedence. Defaults to {@literal false}.
+	 * 
+	 * @param readOnlyQueries
+	 * @since 1.9
+	 * @see PersistenceProvider#getReadOnlyHints()
+	 */
+	public void setReadOnlyQueries(boolean readOnlyQueries) {
+		this.readOnlyQueries = readOnlyQueries;
+	}
+
+	/**
+	 * Configures the JDBC fetch size to use for the queries reading entities or projections. Query hints configured for
+	 * the repository method take precedence. Defaults to {@literal 0}, i.e. the default of the JDBC driver is used.
+	 * 
+	 * @param fetchSize must not be negative.
+	 * @since 1.9
+	 * @see PersistenceProvider#getFetchSizeHints(int)
+	 */
+	public void setFetchSize(int fetchSize) {
+
+		Assert.isTrue(fetchSize >= 0, "Fetch size must not be negative!");
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * Configures the {@link ConcurrentCountExecutor} to run the count queries of {@link #findAll(Pageable)} and
+	 * {@link #findAll(Specification, Pageable)} concurrently to the query reading the page content. Methods customized
+	 * through {@link CrudMethodMetadata}, e.g. by a lock mode or query hints, are always executed sequentially. Defaults
+	 * to {@literal null}, i.e. both queries are executed sequentially.
+	 * 
+	 * @param countExecutor can be {@literal null}.
+	 * @since 1.9
+	 */
+	public void setCountExecutor(ConcurrentCountExecutor countExecutor) {
+		this.countExecutor = countExecutor;
+	}
+
+	/**
+	 * Configures the {@link QueryResultCache} to cache the results of {@link #count()}, {@link #count(Specification)}
+	 * and the totals of the pages returned. Cached counts are invalidated by all modifying operations of the repository.
+	 * As {@link Specification}s are used as cache keys, only reused instances or ones implementing
+	 * {@link Object#equals(Object)} benefit from the cache. Defaults to {@literal null}, i.e. counts are not cached.
+	 * 
+	 * @param countCache can be {@literal null}.
+	 * @since 1.9
+	 */
+	public void setCountCache(QueryResultCache countCache) {
+		this.countCache = countCache;
+	}
+
+	/**
+	 * Configures the {@link QueryResultCache} to keep detached copies of the entities read by {@link #findOne(Serializable)},
+	 * {@link #findAll(Iterable)} and {@link #findAllInOrder(Iterable, boolean)} in. The cache serves these methods as
+	 * well as {@link #exists(Serializable)} outside of transactions and within read-only ones. Entities found in the
+	 * cache are returned as detached copies. Entries are invalidated by all modifying operations of the repository.
+	 * Only entities consisting of basic attributes exclusively and without {@link PostLoad} callbacks are cached.
+	 * Defaults to {@literal null}, i.e. entities are not cached.
+	 * 
+	 * @param entityCache can be {@literal null}.
+	 * @since 1.9
+	 */
+	public void setEntityCache(QueryResultCache entityCache) {
+		this.entityCache = entityCache;
+	}
+
+	/**
+	 * Configures the {@link QueryResultCache} the caches for the results of query methods annotated with
+	 * {@link org.springframework.data.jpa.repository.CachedQuery} are derived from. All modifying operations of the
+	 * repository invalidate the results cached for the domain type. Defaults to {@literal null}.
+	 * 
+	 * @param queryCache can be {@literal null}.
+	 * @since 1.9
+	 */
+	public void setQueryCache(QueryResultCache queryCache) {
+		this.queryCache = queryCache;
+	}
+
 	protected Class<T> getDomainClass() {
 		return entityInformation.getJavaType();
 	}
 
-	private String getDeleteAllQueryString() {
-		return getQueryString(DELETE_ALL_QUERY_STRING, entityInformation.getEntityName());
-	}
+	/**
+	 * Returns the {@link CrudStatements} for the domain type.
+	 * 
+	 * @return
+	 */
+	private CrudStatements getStatements() {
 
-	private String getCountQueryString() {
+		if (statements == null) {
+			// lazy initialization with tolerable benign data-race
+			this.statements = new CrudStatements(entityInformation, provider, em, repositoryInterface);
+		}
 
-		String countQuery = String.format(COUNT_QUERY_STRING, provider.getCountQueryPlaceholder(), "%s");
-		return getQueryString(countQuery, entityInformation.getEntityName());
+		return statements;
 	}
 
 	/*
@@ -140,6 +388,30 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 
 		Assert.notNull(id, ID_MUST_NOT_BE_NULL);
 
+		evictCaches(id);
+
+		if (canDeleteByIdInBulk()) {
+
+			Map<Object, T> managed = provider.getManagedEntities(em, getDomainClass(), Collections.singleton(id));
+
+			if (managed != null) {
+
+				if (!managed.isEmpty()) {
+					em.remove(managed.values().iterator().next());
+					return;
+				}
+
+				Query query = getStatements().createDeleteByIdQuery(em);
+
+				if (query.setParameter("id", id).executeUpdate() == 0) {
+					throw new EmptyResultDataAccessException(String.format("No %s entity with id %s exists!",
+							entityInformation.getJavaType(), id), 1);
+				}
+
+				return;
+			}
+		}
+
 		T entity = findOne(id);
 
 		if (entity == null) {
@@ -150,6 +422,27 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 		delete(entity);
 	}
 
+	/**
+	 * Returns whether an entity can be deleted by its identifier using a bulk statement instead of loading it first.
+	 * Requires bulk deletes by id to be enabled explicitly, a simple basic identifier, a mapping supporting bulk removal
+	 * as well as a transaction to make sure the persistence context inspected is the one the statement is
+	 * executed in.
+	 * 
+	 * @return
+	 */
+	private boolean canDeleteByIdInBulk() {
+
+		if (!bulkDeletesById || entityInformation.hasCompositeId()
+				|| !TransactionSynchronizationManager.isActualTransactionActive()) {
+			return false;
+		}
+
+		SingularAttribute<? super T, ?> idAttribute = entityInformation.getIdAttribute();
+
+		return idAttribute != null && idAttribute.getPersistentAttributeType() == PersistentAttributeType.BASIC
+				&& getMappingMetadata().supportsBulkRemoval();
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.repository.CrudRepository#delete(java.lang.Object)
@@ -158,6 +451,8 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 	public void delete(T entity) {
 
 		Assert.notNull(entity, "The entity must not be null!");
+
+		evictCaches(entityInformation.getId(entity));
 		em.remove(em.contains(entity) ? entity : em.merge(entity));
 	}
 
@@ -170,9 +465,68 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 
 		Assert.notNull(entities, "The given Iterable of entities not be null!");
 
+		evictCaches();
+
+		if (!streamingDeletes) {
+
+			for (T entity : entities) {
+				delete(entity);
+			}
+
+			return;
+		}
+
+		int batchSize = getBatchSize();
+		List<T> chunk = new ArrayList<T>(batchSize);
+
 		for (T entity : entities) {
-			delete(entity);
+
+			if (entityInformation.isNew(entity)) {
+				continue;
+			}
+
+			chunk.add(entity);
+
+			if (chunk.size() == batchSize) {
+				deleteChunk(chunk);
+				chunk.clear();
+			}
+		}
+
+		if (!chunk.isEmpty()) {
+			deleteChunk(chunk);
+		}
+	}
+
+	/**
+	 * Deletes the given chunk of entities using a bulk statement if the mapping of the entity allows to. Otherwise the
+	 * entities are removed through the {@link EntityManager} without merging detached ones first, and the
+	 * {@link EntityManager} is flushed and cleared afterwards.
+	 * 
+	 * @param chunk must not be {@literal null} or empty.
+	 */
+	private void deleteChunk(List<T> chunk) {
+
+		if (getMappingMetadata().supportsBulkRemoval()) {
+
+			em.flush();
+
+			for (T entity : chunk) {
+				if (em.contains(entity)) {
+					em.detach(entity);
+				}
+			}
+
+			deleteInBatch(chunk);
+			return;
+		}
+
+		for (T entity : chunk) {
+			em.remove(em.contains(entity) ? entity : em.getReference(getDomainClass(), entityInformation.getId(entity)));
 		}
+
+		em.flush();
+		em.clear();
 	}
 
 	/*
@@ -188,8 +542,8 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 			return;
 		}
 
-		applyAndBind(getQueryString(DELETE_ALL_QUERY_STRING, entityInformation.getEntityName()), entities, em)
-				.executeUpdate();
+		evictCaches();
+		applyAndBind(getStatements().getDeleteAllQueryString(), entities, em).executeUpdate();
 	}
 
 	/*
@@ -199,9 +553,78 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 	@Transactional
 	public void deleteAll() {
 
-		for (T element : findAll()) {
-			delete(element);
+		evictCaches();
+
+		if (streamingDeletes && getMappingMetadata().supportsBulkRemoval()) {
+
+			em.flush();
+			deleteAllInBatch();
+			em.clear();
+
+			return;
+		}
+
+		if (!streamingDeletes || entityInformation.hasCompositeId()) {
+
+			for (T element : findAll()) {
+				delete(element);
+			}
+
+			return;
+		}
+
+		int batchSize = getBatchSize();
+		List<ID> ids = findIdChunk(null, batchSize);
+
+		while (!ids.isEmpty()) {
+
+			for (T entity : findAllBySimpleIds(ids)) {
+				em.remove(entity);
+			}
+
+			em.flush();
+			em.clear();
+
+			ids = ids.size() < batchSize ? Collections.<ID> emptyList() : findIdChunk(ids.get(ids.size() - 1), batchSize);
+		}
+	}
+
+	/**
+	 * Returns the next chunk of identifiers in ascending order following the given one.
+	 * 
+	 * @param last the identifier to start after, {@literal null} to start with the first one.
+	 * @param chunkSize the maximum number of identifiers to return.
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private List<ID> findIdChunk(ID last, int chunkSize) {
+
+		String idAttributeName = entityInformation.getIdAttribute().getName();
+		String queryString = String.format(last == null ? ID_CHUNK_QUERY_STRING : NEXT_ID_CHUNK_QUERY_STRING,
+				idAttributeName, entityInformation.getEntityName());
+
+		Query query = em.createQuery(queryString).setMaxResults(chunkSize);
+
+		if (last != null) {
+			query.setParameter("last", last);
+		}
+
+		return query.getResultList();
+	}
+
+	/**
+	 * Returns the {@link EntityMappingMetadata} for the domain type.
+	 * 
+	 * @return
+	 */
+	private EntityMappingMetadata getMappingMetadata() {
+
+		if (mappingMetadata == null) {
+			// lazy initialization with tolerable benign data-race
+			this.mappingMetadata = new EntityMappingMetadata(getDomainClass(), em.getMetamodel());
 		}
+
+		return mappingMetadata;
 	}
 
 	/* 
@@ -210,7 +633,9 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 	 */
 	@Transactional
 	public void deleteAllInBatch() {
-		em.createQuery(getDeleteAllQueryString()).executeUpdate();
+
+		evictCaches();
+		getStatements().createDeleteAllQuery(em).executeUpdate();
 	}
 
 	/*
@@ -221,6 +646,36 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 
 		Assert.notNull(id, ID_MUST_NOT_BE_NULL);
 
+		EntitySnapshots snapshots = getCacheableSnapshots();
+
+		if (snapshots == null) {
+			return doFindOne(id);
+		}
+
+		Lookup lookup = entityCache.lookup(snapshots.getRootType(), id);
+
+		if (lookup.isHit() && snapshots.supports(lookup.getValue())) {
+			return snapshots.copy(getDomainClass().cast(lookup.getValue()));
+		}
+
+		T entity = doFindOne(id);
+
+		if (snapshots.supports(entity)) {
+			lookup.cache(snapshots.copy(entity));
+		}
+
+		return entity;
+	}
+
+	/**
+	 * Looks up the entity with the given identifier through the {@link EntityManager} applying the configured lock mode
+	 * and query hints.
+	 * 
+	 * @param id must not be {@literal null}.
+	 * @return
+	 */
+	private T doFindOne(ID id) {
+
 		Class<T> domainType = getDomainClass();
 
 		if (metadata == null) {
@@ -272,16 +727,18 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 
 		Assert.notNull(id, ID_MUST_NOT_BE_NULL);
 
+		EntitySnapshots snapshots = getCacheableSnapshots();
+
+		if (snapshots != null && entityCache.lookup(snapshots.getRootType(), id).isHit()) {
+			return true;
+		}
+
 		if (entityInformation.getIdAttribute() == null) {
 			return findOne(id) != null;
 		}
 
-		String placeholder = provider.getCountQueryPlaceholder();
-		String entityName = entityInformation.getEntityName();
 		Iterable<String> idAttributeNames = entityInformation.getIdAttributeNames();
-		String existsQuery = QueryUtils.getExistsQueryString(entityName, placeholder, idAttributeNames);
-
-		TypedQuery<Long> query = em.createQuery(existsQuery, Long.class);
+		TypedQuery<Long> query = getStatements().createExistsQuery(em);
 
 		if (!entityInformation.hasCompositeId()) {
 			query.setParameter(idAttributeNames.iterator().next(), id);
@@ -326,113 +783,890 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 		}
 
 		if (entityInformation.hasCompositeId()) {
-
-			List<T> results = new ArrayList<T>();
-
-			for (ID id : ids) {
-				results.add(findOne(id));
-			}
-
-			return results;
+			return findAllInOrder(ids, true);
 		}
 
-		ByIdsSpecification<T> specification = new ByIdsSpecification<T>(entityInformation);
-		TypedQuery<T> query = getQuery(specification, (Sort) null);
-
-		return query.setParameter(specification.parameter, ids).getResultList();
+		return new ArrayList<T>(findAllAsMap(ids).values());
 	}
 
 	/*
 	 * (non-Javadoc)
-	 * @see org.springframework.data.jpa.repository.JpaRepository#findAll(org.springframework.data.domain.Sort)
+	 * @see org.springframework.data.jpa.repository.JpaRepository#findAllInOrder(java.lang.Iterable, boolean)
 	 */
-	public List<T> findAll(Sort sort) {
-		return getQuery(null, sort).getResultList();
-	}
+	public List<T> findAllInOrder(Iterable<ID> ids, boolean includeMissing) {
 
-	/*
-	 * (non-Javadoc)
-	 * @see org.springframework.data.repository.PagingAndSortingRepository#findAll(org.springframework.data.domain.Pageable)
-	 */
-	public Page<T> findAll(Pageable pageable) {
+		Assert.notNull(ids, "The given Iterable of Id's must not be null!");
 
-		if (null == pageable) {
-			return new PageImpl<T>(findAll());
+		Map<Object, T> entities = findAllAsMap(ids);
+		List<T> result = new ArrayList<T>(entities.size());
+
+		for (ID id : ids) {
+
+			T entity = entities.get(id);
+
+			if (entity != null || includeMissing) {
+				result.add(entity);
+			}
 		}
 
-		return findAll(null, pageable);
+		return result;
 	}
 
-	/*
-	 * (non-Javadoc)
-	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#findOne(org.springframework.data.jpa.domain.Specification)
+	/**
+	 * Looks up the entities with the given identifiers and returns them keyed by identifier. Entities already managed by
+	 * the current persistence context are served from it, the remaining ones are loaded in chunks not exceeding the
+	 * configured maximum number of bind parameters.
+	 * 
+	 * @param ids must not be {@literal null}.
+	 * @return
 	 */
-	public T findOne(Specification<T> spec) {
+	private Map<Object, T> findAllAsMap(Iterable<ID> ids) {
 
-		try {
-			return getQuery(spec, (Sort) null).getSingleResult();
-		} catch (NoResultException e) {
-			return null;
+		Set<ID> pending = new LinkedHashSet<ID>();
+
+		for (ID id : ids) {
+			if (id != null) {
+				pending.add(id);
+			}
 		}
-	}
 
-	/*
-	 * (non-Javadoc)
-	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#findAll(org.springframework.data.jpa.domain.Specification)
-	 */
-	public List<T> findAll(Specification<T> spec) {
-		return getQuery(spec, (Sort) null).getResultList();
-	}
+		Map<Object, T> result = new LinkedHashMap<Object, T>(pending.size());
 
-	/*
-	 * (non-Javadoc)
-	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#findAll(org.springframework.data.jpa.domain.Specification, org.springframework.data.domain.Pageable)
-	 */
-	public Page<T> findAll(Specification<T> spec, Pageable pageable) {
+		if (pending.isEmpty()) {
+			return result;
+		}
+
+		EntitySnapshots snapshots = getCacheableSnapshots();
+		Map<Object, Lookup> lookups = snapshots == null ? null : new HashMap<Object, Lookup>(pending.size());
+
+		if (snapshots != null) {
+
+			for (Iterator<ID> iterator = pending.iterator(); iterator.hasNext();) {
+
+				ID id = iterator.next();
+				Lookup lookup = entityCache.lookup(snapshots.getRootType(), id);
+
+				if (lookup.isHit() && snapshots.supports(lookup.getValue())) {
+					result.put(id, snapshots.copy(getDomainClass().cast(lookup.getValue())));
+					iterator.remove();
+				} else {
+					lookups.put(id, lookup);
+				}
+			}
+		}
+
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+
+			Map<Object, T> managed = provider.getManagedEntities(em, getDomainClass(), pending);
+
+			if (managed != null) {
+				result.putAll(managed);
+				pending.removeAll(managed.keySet());
+			}
+		}
+
+		if (pending.isEmpty()) {
+			return result;
+		}
+
+		List<T> loaded = entityInformation.hasCompositeId() ? findAllByCompositeIds(pending) : findAllBySimpleIds(pending);
+
+		for (T entity : loaded) {
+
+			Object id = entityInformation.getId(entity);
+			result.put(id, entity);
+
+			Lookup lookup = lookups == null ? null : lookups.get(id);
+
+			if (lookup != null && snapshots.supports(entity)) {
+				lookup.cache(snapshots.copy(entity));
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Looks up the entities with the given simple identifiers issuing one query per chunk of identifiers not exceeding the
+	 * configured maximum number of bind parameters.
+	 * 
+	 * @param ids must not be {@literal null}.
+	 * @return
+	 */
+	private List<T> findAllBySimpleIds(Collection<ID> ids) {
+
+		List<ID> allIds = new ArrayList<ID>(ids);
+		List<T> results = new ArrayList<T>(allIds.size());
+
+		for (int start = 0; start < allIds.size(); start += maxBindParameters) {
+
+			List<ID> chunk = allIds.subList(start, Math.min(start + maxBindParameters, allIds.size()));
+
+			ByIdsSpecification<T> specification = new ByIdsSpecification<T>(entityInformation);
+			TypedQuery<T> query = getQuery(specification, (Sort) null);
+
+			results.addAll(query.setParameter(specification.parameter, chunk).getResultList());
+		}
+
+		return results;
+	}
+
+	/**
+	 * Looks up the entities with the given composite identifiers issuing one query per chunk of identifiers. The chunk
+	 * size is chosen so that the number of bind parameters per query doesn't exceed the configured maximum.
+	 * 
+	 * @param ids must not be {@literal null}.
+	 * @return
+	 */
+	private List<T> findAllByCompositeIds(Iterable<ID> ids) {
+
+		int numberOfIdAttributes = 0;
+
+		for (Iterator<String> names = entityInformation.getIdAttributeNames().iterator(); names.hasNext(); names.next()) {
+			numberOfIdAttributes++;
+		}
+
+		int chunkSize = Math.max(1, maxBindParameters / Math.max(1, numberOfIdAttributes));
+
+		List<T> results = new ArrayList<T>();
+		List<ID> chunk = new ArrayList<ID>(chunkSize);
+
+		for (ID id : ids) {
+
+			chunk.add(id);
+
+			if (chunk.size() == chunkSize) {
+				results.addAll(findAllByCompositeIdChunk(chunk));
+				chunk.clear();
+			}
+		}
+
+		if (!chunk.isEmpty()) {
+			results.addAll(findAllByCompositeIdChunk(chunk));
+		}
+
+		return results;
+	}
+
+	/**
+	 * Looks up the entities with the given composite identifiers using a single query. Falls back to individual lookups
+	 * in case the identifier values cannot be mapped onto the id attributes of the entity.
+	 * 
+	 * @param ids must not be {@literal null} or empty.
+	 * @return
+	 */
+	private List<T> findAllByCompositeIdChunk(List<ID> ids) {
+
+		ByCompositeIdsSpecification<T> specification = new ByCompositeIdsSpecification<T>(entityInformation, ids);
+		TypedQuery<T> query = getQuery(specification, (Sort) null);
+
+		if (specification.unsupportedIdValueFound) {
+
+			List<T> results = new ArrayList<T>(ids.size());
+
+			for (ID id : ids) {
+
+				T entity = findOne(id);
+
+				if (entity != null) {
+					results.add(entity);
+				}
+			}
+
+			return results;
+		}
+
+		for (Entry<ParameterExpression<Object>, Object> parameter : specification.parameters.entrySet()) {
+			query.setParameter(parameter.getKey(), parameter.getValue());
+		}
+
+		return query.getResultList();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaRepository#findAll(org.springframework.data.domain.Sort)
+	 */
+	public List<T> findAll(Sort sort) {
+		return getQuery(null, sort).getResultList();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.repository.PagingAndSortingRepository#findAll(org.springframework.data.domain.Pageable)
+	 */
+	public Page<T> findAll(Pageable pageable) {
+
+		if (null == pageable) {
+			return new PageImpl<T>(findAll());
+		}
+
+		return findAll(null, pageable);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#findOne(org.springframework.data.jpa.domain.Specification)
+	 */
+	public T findOne(Specification<T> spec) {
+
+		try {
+			return getQuery(spec, (Sort) null).getSingleResult();
+		} catch (NoResultException e) {
+			return null;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#findAll(org.springframework.data.jpa.domain.Specification)
+	 */
+	public List<T> findAll(Specification<T> spec) {
+		return getQuery(spec, (Sort) null).getResultList();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#findAll(org.springframework.data.jpa.domain.Specification, org.springframework.data.domain.Pageable)
+	 */
+	public Page<T> findAll(Specification<T> spec, Pageable pageable) {
+
+		Assert.isTrue(!(pageable instanceof KeysetPageRequest),
+				"Keyset pagination is not supported for pages, use findAll(Specification, KeysetPageRequest) instead!");
+
+		TypedQuery<T> query = getQuery(spec, pageable);
+		return pageable == null ? new PageImpl<T>(query.getResultList()) : readPage(query, pageable, spec);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#findAll(org.springframework.data.jpa.domain.Specification, org.springframework.data.domain.Sort)
+	 */
+	public List<T> findAll(Specification<T> spec, Sort sort) {
+
+		return getQuery(spec, sort).getResultList();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#findAll(org.springframework.data.jpa.domain.Specification, org.springframework.data.jpa.domain.KeysetPageRequest)
+	 */
+	public KeysetSlice<T> findAll(Specification<T> spec, KeysetPageRequest pageable) {
+
+		Assert.notNull(pageable, "KeysetPageRequest must not be null!");
+
+		KeysetPageRequest request = withIdTiebreaker(pageable);
+		int pageSize = request.getPageSize();
+
+		TypedQuery<T> query = getQuery(spec, request.getSort(), request);
+		query.setMaxResults(pageSize + 1);
+
+		List<T> result = query.getResultList();
+		boolean hasNext = result.size() > pageSize;
+
+		return new KeysetSlice<T>(hasNext ? result.subList(0, pageSize) : result, request, hasNext);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#findAll(org.springframework.data.jpa.domain.Specification, java.lang.Class, org.springframework.data.domain.Sort)
+	 */
+	public <P> List<P> findAll(Specification<T> spec, Class<P> projectionType, Sort sort) {
+
+		ProjectionSelection<P> projection = ProjectionSelection.forType(projectionType);
+		return projection.toProjections(getProjectionQuery(spec, projection, sort).getResultList());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#findAll(org.springframework.data.jpa.domain.Specification, java.lang.Class, org.springframework.data.domain.Pageable)
+	 */
+	public <P> Page<P> findAll(Specification<T> spec, Class<P> projectionType, Pageable pageable) {
+
+		ProjectionSelection<P> projection = ProjectionSelection.forType(projectionType);
+
+		if (pageable == null) {
+			return new PageImpl<P>(projection.toProjections(getProjectionQuery(spec, projection, null).getResultList()));
+		}
+
+		Assert.isTrue(!(pageable instanceof KeysetPageRequest), "Keyset pagination is not supported for projections!");
+
+		TypedQuery<?> query = getProjectionQuery(spec, projection, pageable.getSort());
+		query.setFirstResult(pageable.getOffset());
+		query.setMaxResults(pageable.getPageSize());
+
+		TotalSupplier totalSupplier = getTotalSupplier(spec);
+
+		return PageableExecutionUtils.getPage(projection.toProjections(query.getResultList()), pageable, totalSupplier);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#findAll(org.springframework.data.jpa.domain.Specification, org.springframework.data.domain.Sort, javax.persistence.metamodel.SingularAttribute[])
+	 */
+	public List<Tuple> findAll(Specification<T> spec, Sort sort, SingularAttribute<? super T, ?>... attributes) {
+
+		ProjectionSelection<Tuple> projection = ProjectionSelection.forAttributes(attributes);
+		return projection.toProjections(getProjectionQuery(spec, projection, sort).getResultList());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.repository.CrudRepository#count()
+	 */
+	public long count() {
+
+		if (countCache == null) {
+			return getStatements().createCountQuery(em).getSingleResult();
+		}
+
+		return countCache.get(getDomainClass(), COUNT_ALL_KEY, new Loader<Long>() {
+
+			public Long load() {
+				return getStatements().createCountQuery(em).getSingleResult();
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#stream(org.springframework.data.jpa.domain.Specification, org.springframework.data.domain.Sort)
+	 */
+	public CloseableIterator<T> stream(Specification<T> spec, Sort sort) {
+
+		CloseableIterator<Object> iterator = provider.executeQueryWithResultStream(getQuery(spec, sort));
+		return new DetachingIterator<T>(iterator, em, getBatchSize());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#count(org.springframework.data.jpa.domain.Specification)
+	 */
+	public long count(final Specification<T> spec) {
+
+		if (countCache == null) {
+			return executeCountQuery(getCountQuery(spec));
+		}
+
+		return countCache.get(getDomainClass(), spec == null ? COUNT_ALL_KEY : spec, new Loader<Long>() {
+
+			public Long load() {
+				return executeCountQuery(getCountQuery(spec));
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#update(org.springframework.data.jpa.domain.Specification, java.util.Map, boolean)
+	 */
+	@Transactional
+	public int update(Specification<T> spec, Map<String, ?> assignments, boolean clear) {
+
+		Assert.notEmpty(assignments, "Assignments must not be null or empty!");
+
+		evictCaches();
+
+		int result = supportsBulkCriteria() && canUpdateInBulk(assignments) ? executeCriteriaUpdate(spec, assignments)
+				: updateEntities(spec, assignments);
+
+		if (clear) {
+			em.getEntityManagerFactory().getCache().evict(getDomainClass());
+			em.clear();
+		}
+
+		return result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#delete(org.springframework.data.jpa.domain.Specification)
+	 */
+	@Transactional
+	public long delete(Specification<T> spec) {
+
+		evictCaches();
+
+		if (supportsBulkCriteria() && getMappingMetadata().supportsBulkRemoval()) {
+			return executeCriteriaDelete(spec);
+		}
+
+		if (entityInformation.hasCompositeId()) {
+			return deleteEntityChunks(spec);
+		}
+
+		long deleted = 0;
+		int batchSize = getBatchSize();
+		List<ID> ids = findIdChunk(spec, null, batchSize);
+
+		while (!ids.isEmpty()) {
+
+			for (T entity : findAllBySimpleIds(ids)) {
+				em.remove(entity);
+				deleted++;
+			}
+
+			em.flush();
+			em.clear();
+
+			ids = ids.size() < batchSize ? Collections.<ID> emptyList() : findIdChunk(spec, ids.get(ids.size() - 1),
+					batchSize);
+		}
+
+		return deleted;
+	}
+
+	/**
+	 * Deletes the entities matching the given {@link Specification} reading and removing them chunk by chunk of the
+	 * configured batch size, flushing and clearing the {@link EntityManager} after each one. Used for entities with
+	 * composite identifiers that can't be read by seeking past the last identifier. The chunks are read ordered by the
+	 * identifier attributes, starting with the first entity still matching. If removed entities keep matching, e.g.
+	 * because of custom delete statements, the following chunks are read past them.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @return the number of entities deleted.
+	 */
+	private long deleteEntityChunks(Specification<T> spec) {
+
+		long deleted = 0;
+		int offset = 0;
+		int batchSize = getBatchSize();
+		Sort sort = getIdSort();
+		List<T> chunk = findChunk(spec, sort, offset, batchSize);
+
+		while (!chunk.isEmpty()) {
+
+			Set<Object> removed = new HashSet<Object>(chunk.size());
+
+			for (T entity : chunk) {
+				removed.add(entityInformation.getId(entity));
+				em.remove(entity);
+			}
+
+			deleted += chunk.size();
+
+			em.flush();
+			em.clear();
+
+			if (chunk.size() < batchSize) {
+				break;
+			}
+
+			chunk = findChunk(spec, sort, offset, batchSize);
+
+			if (!chunk.isEmpty() && removed.contains(entityInformation.getId(chunk.get(0)))) {
+
+				offset += removed.size();
+				chunk = findChunk(spec, sort, offset, batchSize);
+			}
+		}
+
+		return deleted;
+	}
+
+	private List<T> findChunk(Specification<T> spec, Sort sort, int offset, int chunkSize) {
+		return getQuery(spec, sort).setFirstResult(offset).setMaxResults(chunkSize).getResultList();
+	}
+
+	/**
+	 * Returns a {@link Sort} ordering ascending by the identifier attributes of the domain type.
+	 * 
+	 * @return
+	 */
+	private Sort getIdSort() {
+
+		List<String> idAttributeNames = new ArrayList<String>();
+
+		for (String idAttributeName : entityInformation.getIdAttributeNames()) {
+			idAttributeNames.add(idAttributeName);
+		}
+
+		return new Sort(idAttributeNames);
+	}
+
+	/**
+	 * Deletes the entities matching the given {@link Specification} using a single {@link CriteriaDelete}. Pending
+	 * changes are flushed before and the persistence context is cleared afterwards so that no stale instances of the
+	 * deleted entities stay managed.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @return the number of entities deleted.
+	 */
+	private int executeCriteriaDelete(Specification<T> spec) {
+
+		CriteriaBuilder builder = em.getCriteriaBuilder();
+		CriteriaDelete<T> delete = builder.createCriteriaDelete(getDomainClass());
+		Root<T> root = delete.from(getDomainClass());
+
+		Predicate predicate = toBulkPredicate(spec, root, builder);
+
+		if (predicate != null) {
+			delete.where(predicate);
+		}
+
+		em.flush();
+
+		int deleted = em.createQuery(delete).executeUpdate();
+
+		em.clear();
+
+		return deleted;
+	}
+
+	/**
+	 * Returns the next chunk of identifiers of the entities matching the given {@link Specification} in ascending order
+	 * following the given one.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @param last the identifier to start after, {@literal null} to start with the first one.
+	 * @param chunkSize the maximum number of identifiers to return.
+	 * @return
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private List<ID> findIdChunk(Specification<T> spec, ID last, int chunkSize) {
+
+		CriteriaBuilder builder = em.getCriteriaBuilder();
+		CriteriaQuery<Object> query = builder.createQuery(Object.class);
+
+		Root<T> root = applySpecificationToCriteria(spec, query);
+		Path<Comparable> idPath = root.get(entityInformation.getIdAttribute().getName());
+
+		if (last != null) {
+
+			Predicate restriction = query.getRestriction();
+			Predicate seek = builder.greaterThan(idPath, (Comparable) last);
+
+			query.where(restriction == null ? seek : builder.and(restriction, seek));
+		}
+
+		query.select(idPath).orderBy(builder.asc(idPath));
+
+		return (List<ID>) em.createQuery(query).setMaxResults(chunkSize).getResultList();
+	}
+
+	/**
+	 * Updates the entities matching the given {@link Specification} using a single {@link CriteriaUpdate}.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @param assignments must not be {@literal null}.
+	 * @return the number of entities updated.
+	 */
+	private int executeCriteriaUpdate(Specification<T> spec, Map<String, ?> assignments) {
+
+		CriteriaBuilder builder = em.getCriteriaBuilder();
+		CriteriaUpdate<T> update = builder.createCriteriaUpdate(getDomainClass());
+		Root<T> root = update.from(getDomainClass());
+
+		for (Entry<String, ?> assignment : assignments.entrySet()) {
+
+			Path<Object> path = root.get(assignment.getKey());
+			Object value = assignment.getValue();
+
+			if (value == null) {
+				update.set(path, builder.nullLiteral(path.getJavaType()));
+			} else {
+				update.set(path, value);
+			}
+		}
+
+		SingularAttribute<? super T, ?> version = getVersionAttribute();
+
+		if (version != null && !assignments.containsKey(version.getName())) {
+			incrementVersion(update, root, version, builder);
+		}
+
+		Predicate predicate = toBulkPredicate(spec, root, builder);
+
+		if (predicate != null) {
+			update.where(predicate);
+		}
+
+		return em.createQuery(update).executeUpdate();
+	}
+
+	/**
+	 * Creates the {@link Predicate} of the given {@link Specification} for a bulk statement. As {@link CriteriaUpdate}s
+	 * and {@link CriteriaDelete}s aren't {@link CriteriaQuery}s, the {@link Specification} is handed a throw-away
+	 * {@link CriteriaQuery} of the domain type instead, so that calls like {@link CriteriaQuery#distinct(boolean)} are
+	 * safe but don't affect the statement.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @param root the {@link Root} of the bulk statement, must not be {@literal null}.
+	 * @param builder must not be {@literal null}.
+	 * @return the {@link Predicate} or {@literal null} if the {@link Specification} doesn't restrict the statement.
+	 */
+	private Predicate toBulkPredicate(Specification<T> spec, Root<T> root, CriteriaBuilder builder) {
+
+		Assert.notNull(root, "Root must not be null!");
+
+		return spec == null ? null : spec.toPredicate(root, builder.createQuery(getDomainClass()), builder);
+	}
+
+	/**
+	 * Returns whether the given assignments can be applied using a {@link CriteriaUpdate}, i.e. whether the version
+	 * attribute of the entity, if any, is either assigned explicitly or of a type that can be incremented by the
+	 * statement.
+	 * 
+	 * @param assignments must not be {@literal null}.
+	 * @return
+	 */
+	private boolean canUpdateInBulk(Map<String, ?> assignments) {
+
+		SingularAttribute<? super T, ?> version = getVersionAttribute();
+
+		return version == null || assignments.containsKey(version.getName())
+				|| BULK_VERSION_TYPES.contains(version.getJavaType());
+	}
+
+	/**
+	 * Adds an assignment incrementing the given version attribute to the given {@link CriteriaUpdate}. Numeric versions
+	 * are incremented by one, timestamps are set to the current one of the database.
+	 * 
+	 * @param update must not be {@literal null}.
+	 * @param root must not be {@literal null}.
+	 * @param version must not be {@literal null}.
+	 * @param builder must not be {@literal null}.
+	 */
+	private static <T> void incrementVersion(CriteriaUpdate<T> update, Root<T> root,
+			SingularAttribute<? super T, ?> version, CriteriaBuilder builder) {
+
+		Class<?> type = version.getJavaType();
+
+		if (Date.class.isAssignableFrom(type)) {
+
+			Path<Date> path = root.get(version.getName());
+			update.set(path, builder.currentTimestamp());
+
+		} else if (type == Long.class || type == long.class) {
+
+			Path<Long> path = root.get(version.getName());
+			update.set(path, builder.sum(path, 1L));
+
+		} else {
+
+			Path<Integer> path = root.get(version.getName());
+			update.set(path, builder.sum(path, 1));
+		}
+	}
+
+	/**
+	 * Returns the version attribute of the domain type or {@literal null} if it isn't versioned.
+	 * 
+	 * @return
+	 */
+	private SingularAttribute<? super T, ?> getVersionAttribute() {
+
+		for (SingularAttribute<? super T, ?> attribute : em.getMetamodel().managedType(getDomainClass())
+				.getSingularAttributes()) {
+			if (attribute.isVersion()) {
+				return attribute;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Updates the entities matching the given {@link Specification} one by one for persistence providers not supporting
+	 * {@link CriteriaUpdate}.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @param assignments must not be {@literal null}.
+	 * @return the number of entities updated.
+	 */
+	private int updateEntities(Specification<T> spec, Map<String, ?> assignments) {
+
+		List<T> entities = getQuery(spec, (Sort) null).getResultList();
+
+		for (T entity : entities) {
+
+			BeanWrapper wrapper = new DirectFieldAccessFallbackBeanWrapper(entity);
+
+			for (Entry<String, ?> assignment : assignments.entrySet()) {
+				wrapper.setPropertyValue(assignment.getKey(), assignment.getValue());
+			}
+		}
+
+		em.flush();
+
+		return entities.size();
+	}
+
+	/**
+	 * Returns whether the persistence provider supports the JPA 2.1 bulk criteria operations.
+	 * 
+	 * @return
+	 */
+	private boolean supportsBulkCriteria() {
+
+		if (bulkCriteriaSupported == null) {
+			// lazy initialization with tolerable benign data-race
+			this.bulkCriteriaSupported = Jpa21Utils.supportsBulkCriteria(em);
+		}
+
+		return bulkCriteriaSupported;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.repository.CrudRepository#save(java.lang.Object)
+	 */
+	@Transactional
+	public <S extends T> S save(S entity) {
+
+		if (entityInformation.isNew(entity)) {
+
+			// A new entity can't render any entity cached by identifier stale
+			evictResultCaches();
+			em.persist(entity);
+			return entity;
+		}
+
+		evictCaches(entityInformation.getId(entity));
+
+		if (versionedUpdates && !em.contains(entity)) {
+
+			VersionedUpdate update = getVersionedUpdate();
+
+			if (update != null && update.supports(entity) && !isInstanceManaged(entityInformation.getId(entity))) {
+				update.execute(em, provider, entity);
+				return entity;
+			}
+		}
+
+		return em.merge(entity);
+	}
+
+	/**
+	 * Evicts the results cached for the domain type as they might be affected by a modifying operation.
+	 */
+	private void evictCaches() {
+
+		if (countCache != null) {
+			countCache.evict(getDomainClass());
+		}
+
+		if (entityCache != null) {
+			entityCache.evict(getDomainClass());
+		}
+
+		if (queryCache != null) {
+			queryCache.evict(getDomainClass());
+		}
+	}
+
+	/**
+	 * Evicts the counts and query results cached for the domain type as they might be affected by any modifying
+	 * operation, including the insertion of a new entity.
+	 */
+	private void evictResultCaches() {
+
+		if (countCache != null) {
+			countCache.evict(getDomainClass());
+		}
+
+		if (queryCache != null) {
+			queryCache.evict(getDomainClass());
+		}
+	}
+
+	/**
+	 * Evicts the counts and query results cached for the domain type and the entity cached for the given identifier as
+	 * they might be affected by a modifying operation on a single entity.
+	 * 
+	 * @param id can be {@literal null}.
+	 */
+	private void evictCaches(Object id) {
+
+		evictResultCaches();
+
+		if (entityCache == null) {
+			return;
+		}
+
+		EntitySnapshots snapshots = getEntitySnapshots();
+
+		if (id == null || snapshots == null) {
+			entityCache.evict(getDomainClass());
+		} else {
+			entityCache.evict(snapshots.getRootType(), id);
+		}
+	}
+
+	/**
+	 * Returns the {@link EntitySnapshots} for the domain type or {@literal null} if it's not supported.
+	 * 
+	 * @return
+	 */
+	private EntitySnapshots getEntitySnapshots() {
+
+		if (entityCache == null) {
+			return null;
+		}
+
+		if (!snapshotsInspected) {
+
+			boolean loadCallbacks = getMappingMetadata().hasCallbacksFor(PostLoad.class);
+
+			// lazy initialization with tolerable benign data-race
+			this.snapshots = loadCallbacks ? null : EntitySnapshots.forEntity(getDomainClass(), em.getMetamodel());
+			this.snapshotsInspected = true;
+		}
 
-		TypedQuery<T> query = getQuery(spec, pageable);
-		return pageable == null ? new PageImpl<T>(query.getResultList()) : readPage(query, pageable, spec);
+		return snapshots;
 	}
 
-	/*
-	 * (non-Javadoc)
-	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#findAll(org.springframework.data.jpa.domain.Specification, org.springframework.data.domain.Sort)
+	/**
+	 * Returns the {@link EntitySnapshots} to use with the entity cache for the current invocation or {@literal null} if
+	 * the cache can't be used. The cache is bypassed within read-write transactions as the {@link EntityManager} might
+	 * hold modified instances, as well as for invocations requiring a lock.
+	 * 
+	 * @return
 	 */
-	public List<T> findAll(Specification<T> spec, Sort sort) {
+	private EntitySnapshots getCacheableSnapshots() {
 
-		return getQuery(spec, sort).getResultList();
-	}
+		if (entityCache == null || (metadata != null && metadata.getLockModeType() != null)) {
+			return null;
+		}
 
-	/*
-	 * (non-Javadoc)
-	 * @see org.springframework.data.repository.CrudRepository#count()
-	 */
-	public long count() {
-		return em.createQuery(getCountQueryString(), Long.class).getSingleResult();
+		if (TransactionSynchronizationManager.isActualTransactionActive()
+				&& !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			return null;
+		}
+
+		return getEntitySnapshots();
 	}
 
-	/*
-	 * (non-Javadoc)
-	 * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#count(org.springframework.data.jpa.domain.Specification)
+	/**
+	 * Returns the {@link VersionedUpdate} for the domain type or {@literal null} if it's not supported.
+	 * 
+	 * @return
 	 */
-	public long count(Specification<T> spec) {
+	private VersionedUpdate getVersionedUpdate() {
+
+		if (!versionedUpdateInspected) {
 
-		return executeCountQuery(getCountQuery(spec));
+			boolean supported = getMappingMetadata().supportsStatementUpdates();
+
+			// lazy initialization with tolerable benign data-race
+			this.versionedUpdate = supported ? VersionedUpdate.forEntity(entityInformation, em.getMetamodel()) : null;
+			this.versionedUpdateInspected = true;
+		}
+
+		return versionedUpdate;
 	}
 
-	/*
-	 * (non-Javadoc)
-	 * @see org.springframework.data.repository.CrudRepository#save(java.lang.Object)
+	/**
+	 * Returns whether an instance with the given identifier is managed by the {@link EntityManager}. Assumes there is one
+	 * if the {@link PersistenceProvider} can't inspect the persistence context.
+	 * 
+	 * @param id must not be {@literal null}.
+	 * @return
 	 */
-	@Transactional
-	public <S extends T> S save(S entity) {
+	private boolean isInstanceManaged(Object id) {
 
-		if (entityInformation.isNew(entity)) {
-			em.persist(entity);
-			return entity;
-		} else {
-			return em.merge(entity);
-		}
+		Map<Object, T> managed = provider.getManagedEntities(em, getDomainClass(), Collections.singleton(id));
+		return managed == null || !managed.isEmpty();
 	}
 
 	/*
@@ -468,6 +1702,65 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 		return result;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaRepository#saveInBatch(java.lang.Iterable)
+	 */
+	@Transactional
+	public <S extends T> List<ID> saveInBatch(Iterable<S> entities) {
+		return saveInBatch(entities, getBatchSize());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.JpaRepository#saveInBatch(java.lang.Iterable, int)
+	 */
+	@Transactional
+	public <S extends T> List<ID> saveInBatch(Iterable<S> entities, int batchSize) {
+
+		Assert.notNull(entities, "The given Iterable of entities must not be null!");
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than zero!");
+
+		List<ID> ids = new ArrayList<ID>();
+		List<S> chunk = new ArrayList<S>(batchSize);
+
+		for (S entity : entities) {
+
+			chunk.add(save(entity));
+
+			if (chunk.size() == batchSize) {
+				flushAndClear(chunk, ids);
+			}
+		}
+
+		if (!chunk.isEmpty()) {
+			flushAndClear(chunk, ids);
+		}
+
+		return ids;
+	}
+
+	/**
+	 * Flushes the given chunk of saved entities, collects their identifiers into the given {@link List} and clears both
+	 * the chunk and the {@link EntityManager}. Identifiers are read after the flush as some id generation strategies
+	 * only assign them on insert.
+	 * 
+	 * @param chunk must not be {@literal null}.
+	 * @param ids must not be {@literal null}.
+	 */
+	@SuppressWarnings("unchecked")
+	private <S extends T> void flushAndClear(List<S> chunk, List<ID> ids) {
+
+		em.flush();
+
+		for (S entity : chunk) {
+			ids.add((ID) entityInformation.getId(entity));
+		}
+
+		chunk.clear();
+		em.clear();
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.jpa.repository.JpaRepository#flush()
@@ -492,10 +1785,56 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 		query.setFirstResult(pageable.getOffset());
 		query.setMaxResults(pageable.getPageSize());
 
-		Long total = executeCountQuery(getCountQuery(spec));
-		List<T> content = total > pageable.getOffset() ? query.getResultList() : Collections.<T> emptyList();
+		TotalSupplier totalSupplier = getTotalSupplier(spec);
+
+		return PageableExecutionUtils.getPage(query.getResultList(), pageable, totalSupplier);
+	}
+
+	/**
+	 * Returns a {@link TotalSupplier} counting the entities matching the given {@link Specification}. The count is
+	 * already submitted to the configured {@link ConcurrentCountExecutor}, if any.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @return
+	 */
+	private TotalSupplier getTotalSupplier(final Specification<T> spec) {
+
+		TotalSupplier totalSupplier = new TotalSupplier() {
+
+			public long get() {
+				return executeCountQuery(getCountQuery(spec));
+			}
+		};
+
+		if (countCache != null) {
+
+			Lookup lookup = countCache.lookup(getDomainClass(), spec == null ? COUNT_ALL_KEY : spec);
+
+			if (lookup.isHit()) {
+				return PageableExecutionUtils.getCachedTotal(lookup);
+			}
+
+			totalSupplier = PageableExecutionUtils.cachingTotal(lookup, totalSupplier);
+		}
+
+		return countExecutor == null || hasMethodMetadata() ? totalSupplier : countExecutor.submit(em, null,
+				totalSupplier);
+	}
+
+	/**
+	 * Returns whether the current repository method customizes its queries through {@link CrudMethodMetadata}. As the
+	 * metadata is bound to the calling thread, queries depending on it must not be executed by other threads.
+	 * 
+	 * @return
+	 */
+	private boolean hasMethodMetadata() {
+
+		if (metadata == null) {
+			return false;
+		}
 
-		return new PageImpl<T>(content, pageable, total);
+		return metadata.getLockModeType() != null || !metadata.getQueryHints().isEmpty()
+				|| metadata.getEntityGraph() != null;
 	}
 
 	/**
@@ -507,6 +1846,12 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 	 */
 	protected TypedQuery<T> getQuery(Specification<T> spec, Pageable pageable) {
 
+		if (pageable instanceof KeysetPageRequest) {
+
+			KeysetPageRequest request = withIdTiebreaker((KeysetPageRequest) pageable);
+			return getQuery(spec, request.getSort(), request);
+		}
+
 		Sort sort = pageable == null ? null : pageable.getSort();
 		return getQuery(spec, sort);
 	}
@@ -519,6 +1864,19 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 	 * @return
 	 */
 	protected TypedQuery<T> getQuery(Specification<T> spec, Sort sort) {
+		return getQuery(spec, sort, null);
+	}
+
+	/**
+	 * Creates a {@link TypedQuery} for the given {@link Specification} and {@link Sort} restricted to the results
+	 * following the keyset of the given {@link KeysetPageRequest}.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @param sort can be {@literal null}.
+	 * @param keyset can be {@literal null}.
+	 * @return
+	 */
+	private TypedQuery<T> getQuery(Specification<T> spec, Sort sort, KeysetPageRequest keyset) {
 
 		CriteriaBuilder builder = em.getCriteriaBuilder();
 		CriteriaQuery<T> query = builder.createQuery(getDomainClass());
@@ -526,11 +1884,45 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 		Root<T> root = applySpecificationToCriteria(spec, query);
 		query.select(root);
 
+		Predicate keysetPredicate = keyset == null ? null : toKeysetPredicate(keyset, root, builder);
+
+		if (keysetPredicate != null) {
+
+			Predicate restriction = query.getRestriction();
+			query.where(restriction == null ? keysetPredicate : builder.and(restriction, keysetPredicate));
+		}
+
+		if (sort != null) {
+			query.orderBy(toOrders(sort, root, builder));
+		}
+
+		TypedQuery<T> typedQuery = em.createQuery(query);
+
+		return applyRepositoryMethodMetadata(keyset == null ? typedQuery : bindKeysetParameters(typedQuery, keyset));
+	}
+
+	/**
+	 * Creates a {@link TypedQuery} selecting the properties of the given {@link ProjectionSelection} of the entities
+	 * matching the given {@link Specification}.
+	 * 
+	 * @param spec can be {@literal null}.
+	 * @param projection must not be {@literal null}.
+	 * @param sort can be {@literal null}.
+	 * @return
+	 */
+	private TypedQuery<?> getProjectionQuery(Specification<T> spec, ProjectionSelection<?> projection, Sort sort) {
+
+		CriteriaBuilder builder = em.getCriteriaBuilder();
+		CriteriaQuery<?> query = projection.createQuery(builder);
+
+		Root<T> root = applySpecificationToCriteria(spec, query);
+		projection.select(query, root);
+
 		if (sort != null) {
 			query.orderBy(toOrders(sort, root, builder));
 		}
 
-		return applyRepositoryMethodMetadata(em.createQuery(query));
+		return applyFetchSize(em.createQuery(query));
 	}
 
 	/**
@@ -581,20 +1973,72 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 		return root;
 	}
 
+	/**
+	 * Returns the given {@link KeysetPageRequest} with its {@link Sort} completed by the identifier attributes to make
+	 * the order unique.
+	 * 
+	 * @param pageable must not be {@literal null}.
+	 * @return
+	 */
+	private KeysetPageRequest withIdTiebreaker(KeysetPageRequest pageable) {
+		return pageable.withTiebreaker(entityInformation.getIdAttributeNames());
+	}
+
 	private TypedQuery<T> applyRepositoryMethodMetadata(TypedQuery<T> query) {
 
+		applyFetchSize(query);
+
 		if (metadata == null) {
-			return query;
+			return applyReadOnlyHints(query);
 		}
 
 		LockModeType type = metadata.getLockModeType();
-		TypedQuery<T> toReturn = type == null ? query : query.setLockMode(type);
+		TypedQuery<T> toReturn = type == null ? applyReadOnlyHints(query) : query.setLockMode(type);
 
 		applyQueryHints(toReturn);
 
 		return toReturn;
 	}
 
+	/**
+	 * Applies the configured fetch size to the given query.
+	 * 
+	 * @param query must not be {@literal null}.
+	 * @return
+	 */
+	private <Q extends Query> Q applyFetchSize(Q query) {
+
+		if (fetchSize <= 0) {
+			return query;
+		}
+
+		for (Entry<String, Object> hint : provider.getFetchSizeHints(fetchSize).entrySet()) {
+			query.setHint(hint.getKey(), hint.getValue());
+		}
+
+		return query;
+	}
+
+	/**
+	 * Applies the read-only hints of the {@link PersistenceProvider} to the given query if read-only queries are enabled
+	 * and the current transaction is read-only.
+	 * 
+	 * @param query must not be {@literal null}.
+	 * @return
+	 */
+	private TypedQuery<T> applyReadOnlyHints(TypedQuery<T> query) {
+
+		if (!readOnlyQueries || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			return query;
+		}
+
+		for (Entry<String, Object> hint : provider.getReadOnlyHints().entrySet()) {
+			query.setHint(hint.getKey(), hint.getValue());
+		}
+
+		return query;
+	}
+
 	private void applyQueryHints(Query query) {
 
 		for (Entry<String, Object> hint : getQueryHints().entrySet()) {
@@ -622,6 +2066,76 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 		return total;
 	}
 
+	/**
+	 * {@link CloseableIterator} clearing the {@link EntityManager} every given number of elements handed out to keep the
+	 * size of the persistence context bounded. This detaches the entities handed out as well as the ones loaded along
+	 * with them, e.g. through eager associations. Pending changes are flushed before unless the current transaction is
+	 * read-only.
+	 * 
+	 * @author agent
+	 */
+	private static final class DetachingIterator<T> implements CloseableIterator<T> {
+
+		private final CloseableIterator<Object> delegate;
+		private final EntityManager em;
+		private final int interval;
+		private int processed;
+
+		public DetachingIterator(CloseableIterator<Object> delegate, EntityManager em, int interval) {
+
+			this.delegate = delegate;
+			this.em = em;
+			this.interval = interval;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.Iterator#hasNext()
+		 */
+		public boolean hasNext() {
+			return delegate.hasNext();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.Iterator#next()
+		 */
+		@SuppressWarnings("unchecked")
+		public T next() {
+
+			if (processed >= interval) {
+
+				if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+					em.flush();
+				}
+
+				em.clear();
+				processed = 0;
+			}
+
+			Object next = delegate.next();
+			processed++;
+
+			return (T) next;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.Iterator#remove()
+		 */
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.util.CloseableIterator#close()
+		 */
+		public void close() {
+			delegate.close();
+		}
+	}
+
 	/**
 	 * Specification that gives access to the {@link Parameter} instance used to bind the ids for
 	 * {@link SimpleJpaRepository#findAll(Iterable)}. Workaround for OpenJPA not binding collections to in-clauses
@@ -652,4 +2166,113 @@ public class SimpleJpaRepository<T, ID extends Serializable> implements JpaRepos
 			return path.in(parameter);
 		}
 	}
+
+	/**
+	 * Specification matching any of the given composite identifiers by combining a conjunction of equality predicates
+	 * for all id attributes per identifier into a disjunction. Id attributes referring to an associated entity (derived
+	 * identities) are matched against the identifier of the associated entity. Keeps track of the
+	 * {@link ParameterExpression}s created so that the values can be bound to the query eventually.
+	 * 
+	 * @author agent
+	 */
+	private static final class ByCompositeIdsSpecification<T> implements Specification<T> {
+
+		private final JpaEntityInformation<T, ?> entityInformation;
+		private final List<? extends Serializable> ids;
+
+		final Map<ParameterExpression<Object>, Object> parameters = new LinkedHashMap<ParameterExpression<Object>, Object>();
+		boolean unsupportedIdValueFound = false;
+
+		public ByCompositeIdsSpecification(JpaEntityInformation<T, ?> entityInformation, List<? extends Serializable> ids) {
+
+			this.entityInformation = entityInformation;
+			this.ids = ids;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.jpa.domain.Specification#toPredicate(javax.persistence.criteria.Root, javax.persistence.criteria.CriteriaQuery, javax.persistence.criteria.CriteriaBuilder)
+		 */
+		public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+
+			List<Predicate> byIds = new ArrayList<Predicate>(ids.size());
+
+			for (Serializable id : ids) {
+
+				List<Predicate> byAttributes = new ArrayList<Predicate>();
+
+				for (String idAttributeName : entityInformation.getIdAttributeNames()) {
+
+					Object value = entityInformation.getCompositeIdAttributeValue(id, idAttributeName);
+					Path<Object> path = getPathFor(root, idAttributeName, value);
+
+					if (path == null) {
+						unsupportedIdValueFound = true;
+						return null;
+					}
+
+					if (value == null) {
+						byAttributes.add(path.isNull());
+						continue;
+					}
+
+					@SuppressWarnings("unchecked")
+					Class<Object> parameterType = (Class<Object>) ClassUtils.resolvePrimitiveIfNecessary(path.getJavaType());
+					ParameterExpression<Object> parameter = cb.parameter(parameterType);
+
+					parameters.put(parameter, value);
+					byAttributes.add(cb.equal(path, parameter));
+				}
+
+				byIds.add(cb.and(byAttributes.toArray(new Predicate[byAttributes.size()])));
+			}
+
+			return cb.or(byIds.toArray(new Predicate[byIds.size()]));
+		}
+
+		/**
+		 * Returns the {@link Path} to match the given id attribute value against or {@literal null} if the value can't be
+		 * matched against the attribute or the identifier of the entity it refers to.
+		 * 
+		 * @param root must not be {@literal null}.
+		 * @param idAttributeName must not be {@literal null}.
+		 * @param value can be {@literal null}.
+		 * @return
+		 */
+		private static <T> Path<Object> getPathFor(Root<T> root, String idAttributeName, Object value) {
+
+			Path<Object> path = root.get(idAttributeName);
+
+			if (value == null || ClassUtils.isAssignableValue(path.getJavaType(), value)) {
+				return path;
+			}
+
+			Attribute<? super T, ?> attribute = root.getModel().getAttribute(idAttributeName);
+
+			if (!(attribute instanceof SingularAttribute)) {
+				return null;
+			}
+
+			Type<?> type = ((SingularAttribute<? super T, ?>) attribute).getType();
+
+			if (!(type instanceof IdentifiableType) || !((IdentifiableType<?>) type).hasSingleIdAttribute()) {
+				return null;
+			}
+
+			try {
+
+				IdentifiableType<?> identifiableType = (IdentifiableType<?>) type;
+				SingularAttribute<?, ?> idAttribute = identifiableType.getId(identifiableType.getIdType().getJavaType());
+				Path<Object> idPath = path.get(idAttribute.getName());
+
+				return ClassUtils.isAssignableValue(idPath.getJavaType(), value) ? idPath : null;
+
+			} catch (IllegalStateException o_O) {
+				// see https://hibernate.onjira.com/browse/HHH-6951
+				return null;
+			} catch (IllegalArgumentException o_O) {
+				return null;
+			}
+		}
+	}
 }
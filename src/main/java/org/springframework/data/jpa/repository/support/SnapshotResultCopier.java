@@ -0,0 +1,173 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.persistence.PostLoad;
+import javax.persistence.metamodel.Metamodel;
+
+import org.springframework.data.jpa.repository.query.ResultCopier;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * {@link ResultCopier} copying entities using {@link EntitySnapshots}. Immutable values like {@link String}s, numbers
+ * and enums are used as is, dates and arrays are copied, {@link List}s, {@link Set}s and tuples are copied element by
+ * element. Results containing entities not supported by {@link EntitySnapshots} or declaring {@link PostLoad} callbacks
+ * can't be copied.
+ * 
+ * @author agent
+ * @since 1.9
+ */
+class SnapshotResultCopier implements ResultCopier {
+
+	private static final Collection<Class<?>> IMMUTABLE_TYPES = Arrays.<Class<?>> asList(String.class,
+			BigDecimal.class, BigInteger.class, UUID.class, Locale.class, Currency.class);
+	private static final Object UNSUPPORTED = new Object();
+
+	private final Metamodel metamodel;
+	private final ConcurrentMap<Class<?>, Object> snapshots = new ConcurrentHashMap<Class<?>, Object>();
+
+	/**
+	 * Creates a new {@link SnapshotResultCopier} for the entities of the given {@link Metamodel}.
+	 * 
+	 * @param metamodel must not be {@literal null}.
+	 */
+	public SnapshotResultCopier(Metamodel metamodel) {
+
+		Assert.notNull(metamodel, "Metamodel must not be null!");
+		this.metamodel = metamodel;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.query.ResultCopier#supports(java.lang.Object)
+	 */
+	public boolean supports(Object result) {
+
+		if (result == null || isImmutable(result) || result instanceof Date) {
+			return true;
+		}
+
+		if (result.getClass().isArray()) {
+			return result.getClass().getComponentType().isPrimitive() || supportsAll(Arrays.asList((Object[]) result));
+		}
+
+		if (result instanceof List || result instanceof Set) {
+			return supportsAll((Collection<?>) result);
+		}
+
+		return getSnapshots(result.getClass()) != null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.jpa.repository.query.ResultCopier#copy(java.lang.Object)
+	 */
+	public Object copy(Object result) {
+
+		if (result == null || isImmutable(result)) {
+			return result;
+		}
+
+		if (result instanceof Date) {
+			return ((Date) result).clone();
+		}
+
+		if (result.getClass().isArray()) {
+
+			int length = Array.getLength(result);
+			Object copy = Array.newInstance(result.getClass().getComponentType(), length);
+
+			if (result.getClass().getComponentType().isPrimitive()) {
+				System.arraycopy(result, 0, copy, 0, length);
+			} else {
+				for (int i = 0; i < length; i++) {
+					Array.set(copy, i, copy(Array.get(result, i)));
+				}
+			}
+
+			return copy;
+		}
+
+		if (result instanceof Collection) {
+
+			Collection<?> source = (Collection<?>) result;
+			Collection<Object> copy = result instanceof Set ? new LinkedHashSet<Object>(source.size())
+					: new ArrayList<Object>(source.size());
+
+			for (Object element : source) {
+				copy.add(copy(element));
+			}
+
+			return copy;
+		}
+
+		return getSnapshots(result.getClass()).copy(result);
+	}
+
+	private boolean supportsAll(Collection<?> elements) {
+
+		for (Object element : elements) {
+			if (!supports(element)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private EntitySnapshots getSnapshots(Class<?> type) {
+
+		Object cached = snapshots.get(type);
+
+		if (cached == null) {
+
+			EntitySnapshots candidate = EntitySnapshots.forEntity(type, metamodel);
+
+			if (candidate != null && new EntityMappingMetadata(type, metamodel).hasCallbacksFor(PostLoad.class)) {
+				candidate = null;
+			}
+
+			cached = candidate == null ? UNSUPPORTED : candidate;
+			snapshots.putIfAbsent(type, cached);
+		}
+
+		return cached == UNSUPPORTED ? null : (EntitySnapshots) cached;
+	}
+
+	private static boolean isImmutable(Object value) {
+
+		Class<?> type = value.getClass();
+
+		return ClassUtils.isPrimitiveWrapper(type) || IMMUTABLE_TYPES.contains(type) || value instanceof Enum;
+	}
+}
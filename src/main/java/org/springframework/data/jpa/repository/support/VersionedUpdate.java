@@ -0,0 +1,227 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import javax.persistence.Column;
+import javax.persistence.EntityManager;
+import javax.persistence.OptimisticLockException;
+import javax.persistence.Query;
+import javax.persistence.metamodel.Attribute.PersistentAttributeType;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.SingularAttribute;
+
+import org.springframework.data.jpa.provider.PersistenceProvider;
+import org.springframework.util.Assert;
+
+/**
+ * A JPQL statement to write the state of a detached, versioned entity to the database directly, i.e. without loading
+ * it into the persistence context first as {@link EntityManager#merge(Object)} does. The statement sets all updatable
+ * basic attributes, increments the version and is restricted to the row with the entity's identifier and version, so
+ * that concurrent modifications are detected just like with optimistic locking of managed entities.
+ * <p>
+ * Only entities with a simple basic identifier, a numeric version attribute and nothing but basic attributes otherwise
+ * are supported as the state of embeddables, associations and collections can't be written by JPQL updates.
+ * 
+ * @author agent
+ * @since 1.9
+ */
+class VersionedUpdate {
+
+	private static final Collection<Class<?>> VERSION_TYPES = Arrays.<Class<?>> asList(Integer.class, int.class,
+			Long.class, long.class, Short.class, short.class);
+
+	private final Class<?> type;
+	private final String queryString;
+	private final List<CachedPropertyAccessor> accessors;
+	private final CachedPropertyAccessor idAccessor;
+	private final CachedPropertyAccessor versionAccessor;
+
+	private VersionedUpdate(Class<?> type, String queryString, List<CachedPropertyAccessor> accessors,
+			CachedPropertyAccessor idAccessor, CachedPropertyAccessor versionAccessor) {
+
+		this.type = type;
+		this.queryString = queryString;
+		this.accessors = accessors;
+		this.idAccessor = idAccessor;
+		this.versionAccessor = versionAccessor;
+	}
+
+	/**
+	 * Creates a {@link VersionedUpdate} for the given {@link JpaEntityInformation}.
+	 * 
+	 * @param information must not be {@literal null}.
+	 * @param metamodel must not be {@literal null}.
+	 * @return the {@link VersionedUpdate} or {@literal null} if the entity is not supported.
+	 */
+	public static VersionedUpdate forEntity(JpaEntityInformation<?, ?> information, Metamodel metamodel) {
+
+		Assert.notNull(information, "JpaEntityInformation must not be null!");
+		Assert.notNull(metamodel, "Metamodel must not be null!");
+
+		EntityType<?> entityType;
+
+		try {
+			entityType = metamodel.entity(information.getJavaType());
+		} catch (IllegalArgumentException o_O) {
+			return null;
+		}
+
+		if (information.hasCompositeId() || !entityType.getPluralAttributes().isEmpty()) {
+			return null;
+		}
+
+		Class<?> type = information.getJavaType();
+		SingularAttribute<?, ?> idAttribute = null;
+		SingularAttribute<?, ?> versionAttribute = null;
+		List<String> names = new ArrayList<String>();
+		List<CachedPropertyAccessor> accessors = new ArrayList<CachedPropertyAccessor>();
+
+		for (SingularAttribute<?, ?> attribute : entityType.getSingularAttributes()) {
+
+			if (attribute.getPersistentAttributeType() != PersistentAttributeType.BASIC) {
+				return null;
+			}
+
+			if (attribute.isId()) {
+				idAttribute = attribute;
+			} else if (attribute.isVersion()) {
+				versionAttribute = attribute;
+			} else if (isUpdatable(attribute)) {
+
+				CachedPropertyAccessor accessor = CachedPropertyAccessor.forProperty(type, attribute.getName());
+
+				if (accessor == null) {
+					return null;
+				}
+
+				names.add(attribute.getName());
+				accessors.add(accessor);
+			}
+		}
+
+		if (idAttribute == null || versionAttribute == null || !VERSION_TYPES.contains(versionAttribute.getJavaType())) {
+			return null;
+		}
+
+		CachedPropertyAccessor idAccessor = CachedPropertyAccessor.forProperty(type, idAttribute.getName());
+		CachedPropertyAccessor versionAccessor = CachedPropertyAccessor.forProperty(type, versionAttribute.getName());
+
+		if (idAccessor == null || versionAccessor == null) {
+			return null;
+		}
+
+		StringBuilder builder = new StringBuilder("update ").append(information.getEntityName()).append(" x set ");
+		int position = 1;
+
+		for (String name : names) {
+			builder.append("x.").append(name).append(" = ?").append(position++).append(", ");
+		}
+
+		builder.append("x.").append(versionAttribute.getName()).append(" = ?").append(position++);
+		builder.append(" where x.").append(idAttribute.getName()).append(" = ?").append(position++);
+		builder.append(" and x.").append(versionAttribute.getName()).append(" = ?").append(position);
+
+		return new VersionedUpdate(type, builder.toString(), accessors, idAccessor, versionAccessor);
+	}
+
+	/**
+	 * Returns whether the given entity can be written using the statement. Instances of subtypes aren't supported as
+	 * their additional attributes wouldn't be written.
+	 * 
+	 * @param entity must not be {@literal null}.
+	 * @return
+	 */
+	public boolean supports(Object entity) {
+		return type.equals(entity.getClass());
+	}
+
+	/**
+	 * Writes the state of the given entity and increments its version.
+	 * 
+	 * @param em must not be {@literal null}.
+	 * @param provider the {@link PersistenceProvider} to create the exception for stale entities, must not be
+	 *          {@literal null}.
+	 * @param entity must not be {@literal null}.
+	 * @throws OptimisticLockException in case the row with the entity's identifier and version doesn't exist (anymore).
+	 * @see PersistenceProvider#createOptimisticLockException(Class, Object, Object)
+	 */
+	public void execute(EntityManager em, PersistenceProvider provider, Object entity) {
+
+		Object id = idAccessor.getValue(entity);
+		Object version = versionAccessor.getValue(entity);
+		Object nextVersion = increment(version);
+
+		Query query = em.createQuery(queryString);
+		int position = 1;
+
+		for (CachedPropertyAccessor accessor : accessors) {
+			query.setParameter(position++, accessor.getValue(entity));
+		}
+
+		query.setParameter(position++, nextVersion);
+		query.setParameter(position++, id);
+		query.setParameter(position, version);
+
+		if (query.executeUpdate() == 0) {
+			throw provider.createOptimisticLockException(type, id, entity);
+		}
+
+		versionAccessor.setValue(entity, nextVersion);
+	}
+
+	/**
+	 * Returns the query string of the statement.
+	 * 
+	 * @return
+	 */
+	public String getQueryString() {
+		return queryString;
+	}
+
+	private static Object increment(Object version) {
+
+		if (version instanceof Long) {
+			return (Long) version + 1;
+		}
+
+		if (version instanceof Short) {
+			return (short) ((Short) version + 1);
+		}
+
+		return (Integer) version + 1;
+	}
+
+	private static boolean isUpdatable(SingularAttribute<?, ?> attribute) {
+
+		Member member = attribute.getJavaMember();
+
+		if (!(member instanceof AnnotatedElement)) {
+			return true;
+		}
+
+		Column column = ((AnnotatedElement) member).getAnnotation(Column.class);
+
+		return column == null || column.updatable();
+	}
+}
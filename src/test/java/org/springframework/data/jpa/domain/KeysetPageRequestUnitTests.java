@@ -0,0 +1,129 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.springframework.util.SerializationUtils.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.jpa.domain.sample.User;
+
+/**
+ * Unit tests for {@link KeysetPageRequest} and {@link KeysetSlice}.
+ * 
+ * @author agent
+ */
+public class KeysetPageRequestUnitTests {
+
+	@Test
+	public void addsTiebreakerForPropertiesNotSortedBy() {
+
+		KeysetPageRequest request = new KeysetPageRequest(10, new Sort(Direction.DESC, "age"));
+
+		assertThat(request.withTiebreaker(Arrays.asList("id")).getSort(),
+				is(new Sort(Direction.DESC, "age").and(new Sort(Direction.ASC, "id"))));
+	}
+
+	@Test
+	public void doesNotAddTiebreakerForPropertyAlreadySortedBy() {
+
+		KeysetPageRequest request = new KeysetPageRequest(10, new Sort(Direction.DESC, "id"));
+
+		assertThat(request.withTiebreaker(Arrays.asList("id")), is(sameInstance(request)));
+	}
+
+	@Test
+	public void firstRequestDoesNotCarryKeyset() {
+
+		KeysetPageRequest request = new KeysetPageRequest(10, new Sort("age"));
+
+		assertThat(request.hasKeyset(), is(false));
+		assertThat(request.getPageNumber(), is(0));
+		assertThat(request.hasPrevious(), is(false));
+	}
+
+	@Test
+	public void exposesLogicalOffset() {
+
+		KeysetPageRequest request = new KeysetPageRequest(10, new Sort("age")).next(Collections.singletonMap("age", 5));
+
+		assertThat(request.getPageNumber(), is(1));
+		assertThat(request.getOffset(), is(10));
+		assertThat(request.hasKeyset(), is(true));
+		assertThat(request.previousOrFirst(), is((Object) new KeysetPageRequest(10, new Sort("age"))));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void rejectsNextPageWithoutKeyset() {
+		new KeysetPageRequest(10, new Sort("age")).next();
+	}
+
+	@Test
+	public void returnsFirstPageForPreviousOfLaterPages() {
+
+		KeysetPageRequest request = new KeysetPageRequest(3, 10, new Sort("age"), Collections.singletonMap("age", 5));
+
+		assertThat(request.previousOrFirst(), is((Object) new KeysetPageRequest(10, new Sort("age"))));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNullKeysetValues() {
+		new KeysetPageRequest(10, new Sort("age")).next(Collections.singletonMap("age", null));
+	}
+
+	@Test
+	public void isSerializable() {
+
+		KeysetPageRequest request = new KeysetPageRequest(10, new Sort("age")).next(Collections.singletonMap("age", 5));
+
+		assertThat(deserialize(serialize(request)), is((Object) request));
+	}
+
+	@Test
+	public void sliceCarriesKeysetOfLastElement() {
+
+		User first = new User("Dave", "Matthews", "dave@dmband.com");
+		first.setAge(42);
+		User second = new User("Carter", "Beauford", "carter@dmband.com");
+		second.setAge(50);
+
+		KeysetPageRequest request = new KeysetPageRequest(2, new Sort("age", "lastname"));
+		KeysetSlice<User> slice = new KeysetSlice<User>(Arrays.asList(first, second), request, true);
+
+		KeysetPageRequest next = slice.nextPageable();
+		Map<String, Object> keyset = next.getKeyset();
+
+		assertThat(next.getPageNumber(), is(1));
+		assertThat(keyset.get("age"), is((Object) 50));
+		assertThat(keyset.get("lastname"), is((Object) "Beauford"));
+	}
+
+	@Test
+	public void lastSliceDoesNotCarryNextRequest() {
+
+		KeysetPageRequest request = new KeysetPageRequest(2, new Sort("age"));
+		KeysetSlice<User> slice = new KeysetSlice<User>(Collections.<User> emptyList(), request, false);
+
+		assertThat(slice.nextPageable(), is(nullValue()));
+	}
+}
@@ -18,8 +18,13 @@ package org.springframework.data.jpa.provider;
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
+import java.util.Map;
+
 import javax.persistence.EntityManager;
 
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -95,4 +100,37 @@ public class PersistenceProviderIntegrationTests {
 			}
 		});
 	}
+
+	@Test
+	public void looksUpManagedEntitiesWithoutQueryingTheDatabase() {
+
+		new TransactionTemplate(transactionManager).execute(new TransactionCallback<Void>() {
+
+			@Override
+			public Void doInTransaction(TransactionStatus status) {
+
+				Product managed = em.find(Product.class, product.getId());
+
+				Statistics statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+				statistics.setStatisticsEnabled(true);
+				statistics.clear();
+
+				try {
+
+					Map<Object, Product> result = PersistenceProvider.fromEntityManager(em).getManagedEntities(em,
+							Product.class, Arrays.asList(product.getId(), product.getId() + 1));
+
+					assertThat(result.size(), is(1));
+					assertThat(result.get(product.getId()), is(sameInstance(managed)));
+					assertThat(statistics.getPrepareStatementCount(), is(0L));
+					assertThat(statistics.getEntityLoadCount(), is(0L));
+
+				} finally {
+					statistics.setStatisticsEnabled(false);
+				}
+
+				return null;
+			}
+		});
+	}
 }
@@ -103,6 +103,23 @@ public class PersistenceProviderUnitTests {
 		assertThat(fromEntityManager(em), is(GENERIC_JPA));
 	}
 
+	@Test
+	public void exposesReadOnlyQueryHints() {
+
+		assertThat(HIBERNATE.getReadOnlyHints().get("org.hibernate.readOnly"), is((Object) "true"));
+		assertThat(ECLIPSELINK.getReadOnlyHints().get("eclipselink.read-only"), is((Object) "true"));
+		assertThat(GENERIC_JPA.getReadOnlyHints().isEmpty(), is(true));
+	}
+
+	@Test
+	public void exposesFetchSizeHints() {
+
+		assertThat(HIBERNATE.getFetchSizeHints(50).get("org.hibernate.fetchSize"), is((Object) 50));
+		assertThat(ECLIPSELINK.getFetchSizeHints(50).get("eclipselink.jdbc.fetch-size"), is((Object) 50));
+		assertThat(OPEN_JPA.getFetchSizeHints(50).get("openjpa.FetchPlan.FetchBatchSize"), is((Object) 50));
+		assertThat(GENERIC_JPA.getFetchSizeHints(50).isEmpty(), is(true));
+	}
+
 	private EntityManager mockProviderSpecificEntityManagerInterface(String interfaceName) throws ClassNotFoundException {
 
 		Class<?> providerSpecificEntityManagerInterface = InterfaceGenerator.generate(interfaceName, shadowingClassLoader,
@@ -18,9 +18,13 @@ package org.springframework.data.jpa.repository;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -29,6 +33,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.domain.sample.EmbeddedIdExampleDepartment;
 import org.springframework.data.jpa.domain.sample.EmbeddedIdExampleEmployee;
 import org.springframework.data.jpa.domain.sample.EmbeddedIdExampleEmployeePK;
@@ -40,6 +45,7 @@ import org.springframework.data.jpa.domain.sample.QIdClassExampleEmployee;
 import org.springframework.data.jpa.repository.sample.EmployeeRepositoryWithEmbeddedId;
 import org.springframework.data.jpa.repository.sample.EmployeeRepositoryWithIdClass;
 import org.springframework.data.jpa.repository.sample.SampleConfig;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.transaction.annotation.Transactional;
@@ -59,6 +65,8 @@ public class RepositoryWithCompositeKeyTests {
 	@Autowired EmployeeRepositoryWithIdClass employeeRepositoryWithIdClass;
 	@Autowired EmployeeRepositoryWithEmbeddedId employeeRepositoryWithEmbeddedId;
 
+	@PersistenceContext EntityManager em;
+
 	/**
 	 * @see DATAJPA-269
 	 * @see Final JPA 2.0 Specification 2.4.1.3 Derived Identities Example 2
@@ -301,4 +309,77 @@ public class RepositoryWithCompositeKeyTests {
 
 		assertThat(result, hasSize(2));
 	}
+
+	@Test
+	public void findsAllEntitiesWithCompoundIdClassKeysInChunks() {
+
+		IdClassExampleDepartment dep = new IdClassExampleDepartment();
+		dep.setDepartmentId(1L);
+		dep.setName("Dep1");
+
+		List<IdClassExampleEmployeePK> keys = new ArrayList<IdClassExampleEmployeePK>();
+
+		for (long i = 1; i <= 5; i++) {
+
+			IdClassExampleEmployee employee = new IdClassExampleEmployee();
+			employee.setEmpId(i);
+			employee.setDepartment(dep);
+			employeeRepositoryWithIdClass.save(employee);
+
+			IdClassExampleEmployeePK key = new IdClassExampleEmployeePK();
+			key.setDepartment(dep.getDepartmentId());
+			key.setEmpId(i);
+			keys.add(key);
+		}
+
+		IdClassExampleEmployeePK unknownKey = new IdClassExampleEmployeePK();
+		unknownKey.setDepartment(dep.getDepartmentId());
+		unknownKey.setEmpId(4711L);
+		keys.add(unknownKey);
+
+		em.flush();
+		em.clear();
+
+		SimpleJpaRepository<IdClassExampleEmployee, IdClassExampleEmployeePK> repository = //
+		new SimpleJpaRepository<IdClassExampleEmployee, IdClassExampleEmployeePK>(IdClassExampleEmployee.class, em);
+		repository.setMaxBindParameters(4);
+
+		List<IdClassExampleEmployee> result = repository.findAll(keys);
+
+		assertThat(result, hasSize(6));
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(result.get(i).getEmpId(), is(i + 1L));
+		}
+
+		assertThat(result.get(5), is(nullValue()));
+	}
+
+	@Test
+	public void deletesEntitiesWithCompoundIdClassKeysMatchingSpecificationInChunks() {
+
+		IdClassExampleDepartment dep = new IdClassExampleDepartment();
+		dep.setDepartmentId(1L);
+		dep.setName("Dep1");
+
+		List<IdClassExampleEmployee> employees = new ArrayList<IdClassExampleEmployee>();
+
+		for (long i = 1; i <= 5; i++) {
+
+			IdClassExampleEmployee employee = new IdClassExampleEmployee();
+			employee.setEmpId(i);
+			employee.setDepartment(dep);
+			employees.add(employeeRepositoryWithIdClass.save(employee));
+		}
+
+		em.flush();
+
+		SimpleJpaRepository<IdClassExampleEmployee, IdClassExampleEmployeePK> repository = //
+		new SimpleJpaRepository<IdClassExampleEmployee, IdClassExampleEmployeePK>(IdClassExampleEmployee.class, em);
+		repository.setBatchSize(2);
+
+		assertThat(repository.delete((Specification<IdClassExampleEmployee>) null), is(5L));
+		assertThat(repository.count(), is(0L));
+		assertThat(em.contains(employees.get(0)), is(false));
+	}
 }
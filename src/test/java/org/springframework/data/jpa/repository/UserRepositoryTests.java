@@ -21,6 +21,7 @@ import static org.springframework.data.domain.Sort.Direction.*;
 import static org.springframework.data.jpa.domain.Specifications.*;
 import static org.springframework.data.jpa.domain.sample.UserSpecifications.*;
 
+import java.beans.ConstructorProperties;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -34,6 +35,7 @@ import java.util.stream.Stream;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
+import javax.persistence.Tuple;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Predicate;
@@ -55,11 +57,14 @@ import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.domain.Sort.Order;
+import org.springframework.data.jpa.domain.KeysetPageRequest;
+import org.springframework.data.jpa.domain.KeysetSlice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.domain.sample.Address;
 import org.springframework.data.jpa.domain.sample.Role;
 import org.springframework.data.jpa.domain.sample.SpecialUser;
 import org.springframework.data.jpa.domain.sample.User;
+import org.springframework.data.jpa.domain.sample.User_;
 import org.springframework.data.jpa.repository.sample.SampleEvaluationContextExtension.SampleSecurityContextHolder;
 import org.springframework.data.jpa.repository.sample.UserRepository;
 import org.springframework.test.context.ContextConfiguration;
@@ -139,6 +144,207 @@ public class UserRepositoryTests {
 		assertThat(result, hasItems(firstUser, secondUser));
 	}
 
+	@Test
+	public void findsAllByGivenIdsInOrderOfIds() {
+
+		flushTestUsers();
+
+		List<User> result = repository.findAllInOrder(
+				Arrays.asList(thirdUser.getId(), id * 27, firstUser.getId(), secondUser.getId()), false);
+
+		assertThat(result, contains(thirdUser, firstUser, secondUser));
+	}
+
+	@Test
+	public void findsAllByGivenIdsInOrderOfIdsIncludingMissingOnes() {
+
+		flushTestUsers();
+		em.clear();
+
+		User managedUser = repository.findOne(secondUser.getId());
+
+		List<User> result = repository.findAllInOrder(Arrays.asList(secondUser.getId(), id * 27, firstUser.getId()), true);
+
+		assertThat(result, hasSize(3));
+		assertThat(result.get(0), is(sameInstance(managedUser)));
+		assertThat(result.get(1), is(nullValue()));
+		assertThat(result.get(2), is(firstUser));
+	}
+
+	@Test
+	public void pagesThroughSpecificationResultsUsingKeyset() {
+
+		flushTestUsers();
+
+		KeysetSlice<User> slice = repository.findAll((Specification<User>) null, new KeysetPageRequest(3, new Sort(ASC,
+				"age")));
+
+		assertThat(slice.getContent(), contains(firstUser, fourthUser, secondUser));
+		assertThat(slice.hasNext(), is(true));
+
+		slice = repository.findAll((Specification<User>) null, slice.nextPageable());
+
+		assertThat(slice.getContent(), contains(thirdUser));
+		assertThat(slice.getNumber(), is(1));
+		assertThat(slice.hasNext(), is(false));
+		assertThat(slice.nextPageable(), is(nullValue()));
+	}
+
+	@Test
+	public void usesIdentifierAsTiebreakerForKeysetPagination() {
+
+		secondUser.setAge(28);
+		thirdUser.setAge(28);
+		fourthUser.setAge(28);
+
+		flushTestUsers();
+
+		Set<User> users = new HashSet<User>();
+		KeysetPageRequest request = new KeysetPageRequest(1, new Sort(DESC, "age"));
+
+		while (request != null) {
+
+			KeysetSlice<User> slice = repository.findAll((Specification<User>) null, request);
+			users.addAll(slice.getContent());
+			request = slice.nextPageable();
+		}
+
+		assertThat(users, hasSize(4));
+	}
+
+	@Test
+	public void pagesThroughResultsSortedIgnoringCaseUsingKeyset() {
+
+		flushTestUsers();
+
+		KeysetPageRequest request = new KeysetPageRequest(2, new Sort(new Order(ASC, "firstname").ignoreCase()));
+		KeysetSlice<User> slice = repository.findAll((Specification<User>) null, request);
+
+		assertThat(slice.getContent(), contains(thirdUser, secondUser));
+
+		slice = repository.findAll((Specification<User>) null, slice.nextPageable());
+
+		assertThat(slice.getContent(), contains(fourthUser, firstUser));
+	}
+
+	@Test
+	public void pagesThroughDerivedQueryResultsUsingKeyset() {
+
+		flushTestUsers();
+
+		Slice<User> slice = repository.findSliceByAgeGreaterThan(30, new KeysetPageRequest(2, new Sort(DESC, "age")));
+
+		assertThat(slice, is(instanceOf(KeysetSlice.class)));
+		assertThat(slice.getContent(), contains(thirdUser, secondUser));
+		assertThat(slice.hasNext(), is(true));
+
+		slice = repository.findSliceByAgeGreaterThan(30, slice.nextPageable());
+
+		assertThat(slice.getContent(), contains(fourthUser));
+		assertThat(slice.hasNext(), is(false));
+	}
+
+	@Test
+	public void findsInterfaceProjectionsBySpecification() {
+
+		flushTestUsers();
+
+		Specification<User> spec = where(userHasFirstname("Oliver")).or(userHasLastname("raymond"));
+		List<NameOnly> result = repository.findAll(spec, NameOnly.class, new Sort("age"));
+
+		assertThat(result, hasSize(2));
+		assertThat(result.get(0).getFirstname(), is(firstUser.getFirstname()));
+		assertThat(result.get(1).getLastname(), is(fourthUser.getLastname()));
+	}
+
+	@Test
+	public void findsPageOfConstructorProjectionsBySpecification() {
+
+		flushTestUsers();
+
+		Page<NameAndAge> page = repository.findAll((Specification<User>) null, NameAndAge.class, new PageRequest(0, 3,
+				new Sort(DESC, "age")));
+
+		assertThat(page.getTotalElements(), is(4L));
+		assertThat(page.getContent(), hasSize(3));
+		assertThat(page.getContent().get(0).firstname, is(thirdUser.getFirstname()));
+		assertThat(page.getContent().get(0).age, is(thirdUser.getAge()));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void findsTuplesOfAttributesBySpecification() {
+
+		flushTestUsers();
+
+		List<Tuple> result = repository.findAll(userHasFirstname("Oliver"), (Sort) null, User_.lastname, User_.age);
+
+		assertThat(result, hasSize(1));
+		assertThat(result.get(0).get("lastname"), is((Object) firstUser.getLastname()));
+		assertThat(result.get(0).get(1), is((Object) firstUser.getAge()));
+	}
+
+	@Test
+	public void updatesEntitiesMatchingSpecification() {
+
+		flushTestUsers();
+
+		Specification<User> spec = where(userHasFirstname("Oliver")).or(userHasLastname("Matthews"));
+		int updated = repository.update(spec, Collections.singletonMap("active", false), true);
+
+		assertThat(updated, is(2));
+		assertThat(repository.findOne(firstUser.getId()).isActive(), is(false));
+		assertThat(repository.findOne(thirdUser.getId()).isActive(), is(false));
+		assertThat(repository.findOne(secondUser.getId()).isActive(), is(true));
+	}
+
+	@Test
+	public void updatesEntitiesMatchingSpecificationModifyingQuery() {
+
+		flushTestUsers();
+
+		Specification<User> spec = new Specification<User>() {
+
+			public Predicate toPredicate(Root<User> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+
+				query.distinct(true);
+				return cb.equal(root.get("firstname"), "Oliver");
+			}
+		};
+
+		assertThat(repository.update(spec, Collections.singletonMap("active", false), true), is(1));
+		assertThat(repository.findOne(firstUser.getId()).isActive(), is(false));
+	}
+
+	@Test
+	public void deletesEntitiesMatchingSpecification() {
+
+		flushTestUsers();
+
+		Specification<User> spec = where(userHasFirstname("Oliver")).or(userHasLastname("Matthews"));
+
+		assertThat(repository.delete(spec), is(2L));
+		assertThat(repository.findAll(), containsInAnyOrder(secondUser, fourthUser));
+	}
+
+	@Test
+	public void deletesEntitiesMatchingSpecificationModifyingQuery() {
+
+		flushTestUsers();
+
+		Specification<User> spec = new Specification<User>() {
+
+			public Predicate toPredicate(Root<User> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+
+				query.distinct(true);
+				return cb.equal(root.get("firstname"), "Oliver");
+			}
+		};
+
+		assertThat(repository.delete(spec), is(1L));
+		assertThat(repository.exists(firstUser.getId()), is(false));
+	}
+
 	@Test
 	public void testReadByIdReturnsNullForNotFoundEntities() {
 
@@ -1915,4 +2121,23 @@ public class UserRepositoryTests {
 		assertThat(result.getTotalElements(), is(2L));
 		return result;
 	}
+
+	public interface NameOnly {
+
+		String getFirstname();
+
+		String getLastname();
+	}
+
+	public static class NameAndAge {
+
+		final String firstname;
+		final int age;
+
+		@ConstructorProperties({ "firstname", "age" })
+		public NameAndAge(String firstname, int age) {
+			this.firstname = firstname;
+			this.age = age;
+		}
+	}
 }
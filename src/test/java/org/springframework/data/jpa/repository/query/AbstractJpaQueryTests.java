@@ -21,6 +21,7 @@ import static org.springframework.data.jpa.support.EntityManagerTestUtils.*;
 
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.Map;
 
 import javax.persistence.EntityManager;
 import javax.persistence.LockModeType;
@@ -38,13 +39,17 @@ import org.springframework.data.jpa.provider.PersistenceProvider;
 import org.springframework.data.jpa.provider.QueryExtractor;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
+import org.springframework.data.jpa.repository.FetchSize;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.jpa.repository.ReadOnlyQuery;
 import org.springframework.data.repository.Repository;
 import org.springframework.data.repository.core.support.DefaultRepositoryMetadata;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Integration test for {@link AbstractJpaQuery}.
@@ -172,6 +177,130 @@ public class AbstractJpaQueryTests {
 		verify(result).setHint("javax.persistence.loadgraph", entityGraph);
 	}
 
+	@Test
+	public void appliesReadOnlyHintsForReadOnlyQueryMethods() throws Exception {
+
+		Map<String, Object> hints = PersistenceProvider.fromEntityManager(em).getReadOnlyHints();
+		Assume.assumeTrue(!hints.isEmpty());
+
+		Query result = createJpaQuery("findByEmailAddress", String.class).createQuery(new Object[] { "foo" });
+
+		verifyHintsApplied(result, hints);
+	}
+
+	@Test
+	public void appliesReadOnlyHintsWithinReadOnlyTransactionsIfEnabled() throws Exception {
+
+		Map<String, Object> hints = PersistenceProvider.fromEntityManager(em).getReadOnlyHints();
+		Assume.assumeTrue(!hints.isEmpty());
+
+		AbstractJpaQuery jpaQuery = createJpaQuery("findByLastname", String.class);
+		jpaQuery.setReadOnlyQueries(true);
+
+		Query result = jpaQuery.createQuery(new Object[] { "Matthews" });
+		verifyHintsNotApplied(result, hints);
+
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		try {
+			result = jpaQuery.createQuery(new Object[] { "Matthews" });
+		} finally {
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		}
+
+		verifyHintsApplied(result, hints);
+	}
+
+	@Test
+	public void skipsReadOnlyHintsForLockingQueries() throws Exception {
+
+		Map<String, Object> hints = PersistenceProvider.fromEntityManager(em).getReadOnlyHints();
+		Assume.assumeTrue(!hints.isEmpty());
+
+		when(query.setLockMode(any(LockModeType.class))).thenReturn(query);
+
+		Query result = createJpaQuery("findOneLockedReadOnly", Integer.class).createQuery(new Object[] { 1 });
+
+		verify(result).setLockMode(LockModeType.PESSIMISTIC_WRITE);
+		verifyHintsNotApplied(result, hints);
+	}
+
+	@Test
+	public void appliesFetchSizeOfQueryMethodOverConfiguredOne() throws Exception {
+
+		Map<String, Object> hints = PersistenceProvider.fromEntityManager(em).getFetchSizeHints(50);
+		Assume.assumeTrue(!hints.isEmpty());
+
+		AbstractJpaQuery jpaQuery = createJpaQuery("findByFirstnameAndLastname", String.class, String.class);
+		jpaQuery.setFetchSize(100);
+
+		Query result = jpaQuery.createQuery(new Object[] { "Dave", "Matthews" });
+
+		verifyHintsApplied(result, hints);
+		verifyHintsNotApplied(result, PersistenceProvider.fromEntityManager(em).getFetchSizeHints(100));
+	}
+
+	@Test
+	public void appliesConfiguredFetchSize() throws Exception {
+
+		Map<String, Object> hints = PersistenceProvider.fromEntityManager(em).getFetchSizeHints(100);
+		Assume.assumeTrue(!hints.isEmpty());
+
+		AbstractJpaQuery jpaQuery = createJpaQuery("findByLastname", String.class);
+		jpaQuery.setFetchSize(100);
+
+		verifyHintsApplied(jpaQuery.createQuery(new Object[] { "Matthews" }), hints);
+	}
+
+	@Test
+	public void skipsReadOnlyHintsAndFetchSizeForModifyingQueries() throws Exception {
+
+		PersistenceProvider provider = PersistenceProvider.fromEntityManager(em);
+		Assume.assumeTrue(!provider.getReadOnlyHints().isEmpty() && !provider.getFetchSizeHints(50).isEmpty());
+
+		AbstractJpaQuery jpaQuery = createJpaQuery("deactivateAll");
+		jpaQuery.setFetchSize(100);
+		jpaQuery.setReadOnlyQueries(true);
+
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		Query result;
+
+		try {
+			result = jpaQuery.createQuery(new Object[0]);
+		} finally {
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		}
+
+		verifyHintsNotApplied(result, provider.getReadOnlyHints());
+		verifyHintsNotApplied(result, provider.getFetchSizeHints(50));
+		verifyHintsNotApplied(result, provider.getFetchSizeHints(100));
+	}
+
+	private AbstractJpaQuery createJpaQuery(String methodName, Class<?>... parameterTypes) throws Exception {
+
+		Method method = SampleRepository.class.getMethod(methodName, parameterTypes);
+		QueryExtractor provider = PersistenceProvider.fromEntityManager(em);
+		JpaQueryMethod queryMethod = new JpaQueryMethod(method, new DefaultRepositoryMetadata(SampleRepository.class),
+				provider);
+
+		return new DummyJpaQuery(queryMethod, em);
+	}
+
+	private static void verifyHintsApplied(Query query, Map<String, Object> hints) {
+
+		for (Map.Entry<String, Object> hint : hints.entrySet()) {
+			verify(query).setHint(hint.getKey(), hint.getValue());
+		}
+	}
+
+	private static void verifyHintsNotApplied(Query query, Map<String, Object> hints) {
+
+		for (Map.Entry<String, Object> hint : hints.entrySet()) {
+			verify(query, never()).setHint(hint.getKey(), hint.getValue());
+		}
+	}
+
 	interface SampleRepository extends Repository<User, Integer> {
 
 		@QueryHints({ @QueryHint(name = "foo", value = "bar") })
@@ -195,6 +324,23 @@ public class AbstractJpaQueryTests {
 		 */
 		@EntityGraph("User.overview")
 		List<User> findAll();
+
+		@ReadOnlyQuery
+		List<User> findByEmailAddress(String emailAddress);
+
+		@ReadOnlyQuery
+		@Lock(LockModeType.PESSIMISTIC_WRITE)
+		@org.springframework.data.jpa.repository.Query("select u from User u where u.id = ?1")
+		List<User> findOneLockedReadOnly(Integer primaryKey);
+
+		@FetchSize(50)
+		List<User> findByFirstnameAndLastname(String firstname, String lastname);
+
+		@ReadOnlyQuery
+		@FetchSize(50)
+		@Modifying
+		@org.springframework.data.jpa.repository.Query("update User u set u.active = false")
+		int deactivateAll();
 	}
 
 	class DummyJpaQuery extends AbstractJpaQuery {
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link AdaptiveFetchSize}.
+ * 
+ * @author agent
+ */
+public class AdaptiveFetchSizeUnitTests {
+
+	AdaptiveFetchSize fetchSize = new AdaptiveFetchSize();
+
+	@Test
+	public void usesDefaultAsLongAsNoResultWasRecorded() {
+		assertThat(fetchSize.getFetchSize(42), is(42));
+	}
+
+	@Test
+	public void suggestsFetchSizeSlightlyAboveObservedResultSize() {
+
+		fetchSize.record(100);
+
+		assertThat(fetchSize.getFetchSize(0), is(126));
+	}
+
+	@Test
+	public void keepsFetchSizeWithinBounds() {
+
+		fetchSize.record(0);
+
+		assertThat(fetchSize.getFetchSize(0), is(AdaptiveFetchSize.MINIMUM_FETCH_SIZE));
+
+		AdaptiveFetchSize large = new AdaptiveFetchSize();
+		large.record(1000000);
+
+		assertThat(large.getFetchSize(0), is(AdaptiveFetchSize.MAXIMUM_FETCH_SIZE));
+	}
+
+	@Test
+	public void adaptsToChangingResultSizesGradually() {
+
+		fetchSize.record(800);
+		fetchSize.record(0);
+
+		assertThat(fetchSize.getFetchSize(0), is(876));
+	}
+}
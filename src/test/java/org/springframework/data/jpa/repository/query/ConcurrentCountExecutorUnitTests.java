@@ -0,0 +1,206 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.LockModeType;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.query.PageableExecutionUtils.CancellableTotalSupplier;
+import org.springframework.data.jpa.repository.query.PageableExecutionUtils.TotalSupplier;
+import org.springframework.orm.jpa.EntityManagerProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for {@link ConcurrentCountExecutor}.
+ * 
+ * @author agent
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ConcurrentCountExecutorUnitTests {
+
+	@Mock EntityManagerProxy em;
+	@Mock EntityManager target;
+	@Mock EntityManagerFactory factory;
+
+	ConcurrentCountExecutor executor;
+	RecordingTotalSupplier totalSupplier;
+
+	@Before
+	public void setUp() {
+
+		this.executor = new ConcurrentCountExecutor(1);
+		this.totalSupplier = new RecordingTotalSupplier();
+
+		when(em.getEntityManagerFactory()).thenReturn(factory);
+		when(factory.createEntityManager()).thenReturn(target);
+		when(target.isOpen()).thenReturn(true);
+		when(target.getDelegate()).thenReturn(target);
+		when(em.getTargetEntityManager()).thenAnswer(new Answer<EntityManager>() {
+
+			public EntityManager answer(InvocationOnMock invocation) throws Throwable {
+				return TransactionSynchronizationManager.hasResource(factory) ? target : null;
+			}
+		});
+	}
+
+	@After
+	public void tearDown() {
+
+		executor.destroy();
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		TransactionSynchronizationManager.setCurrentTransactionIsolationLevel(null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsInvalidParallelism() {
+		new ConcurrentCountExecutor(0);
+	}
+
+	@Test
+	public void executesCountInSeparateEntityManagerOnWorkerThread() {
+
+		TotalSupplier result = executor.submit(em, null, totalSupplier);
+
+		assertThat(result, is(not((TotalSupplier) totalSupplier)));
+		assertThat(result.get(), is(42L));
+		assertThat(totalSupplier.thread.get(), is(not(Thread.currentThread())));
+		assertThat(TransactionSynchronizationManager.hasResource(factory), is(false));
+		verify(target).close();
+	}
+
+	@Test
+	public void executesCountSequentiallyForNonSharedEntityManager() {
+
+		EntityManager plain = mock(EntityManager.class);
+
+		assertThat(executor.submit(plain, null, totalSupplier), is((TotalSupplier) totalSupplier));
+	}
+
+	@Test
+	public void executesCountSequentiallyForPessimisticLocks() {
+		assertThat(executor.submit(em, LockModeType.PESSIMISTIC_WRITE, totalSupplier), is((TotalSupplier) totalSupplier));
+	}
+
+	@Test
+	public void executesCountSequentiallyInsideWritingTransaction() {
+
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+
+		assertThat(executor.submit(em, null, totalSupplier), is((TotalSupplier) totalSupplier));
+	}
+
+	@Test
+	public void executesCountConcurrentlyInsideReadOnlyTransaction() {
+
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertThat(executor.submit(em, null, totalSupplier), is(not((TotalSupplier) totalSupplier)));
+	}
+
+	@Test
+	public void executesCountConcurrentlyInsideReadCommittedReadOnlyTransaction() {
+
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		TransactionSynchronizationManager.setCurrentTransactionIsolationLevel(Connection.TRANSACTION_READ_COMMITTED);
+
+		assertThat(executor.submit(em, null, totalSupplier), is(not((TotalSupplier) totalSupplier)));
+	}
+
+	@Test
+	public void executesCountSequentiallyInsideRepeatableReadTransaction() {
+
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		TransactionSynchronizationManager.setCurrentTransactionIsolationLevel(Connection.TRANSACTION_REPEATABLE_READ);
+
+		assertThat(executor.submit(em, null, totalSupplier), is((TotalSupplier) totalSupplier));
+	}
+
+	@Test
+	public void fallsBackToCallingThreadIfEntityManagerDoesNotDelegateToBoundOne() {
+
+		when(em.getTargetEntityManager()).thenReturn(mock(EntityManager.class));
+
+		TotalSupplier result = executor.submit(em, null, totalSupplier);
+
+		assertThat(result.get(), is(42L));
+		assertThat(totalSupplier.thread.get(), is(Thread.currentThread()));
+	}
+
+	@Test
+	public void returnsCancellableTotalSupplierForConcurrentCount() {
+		assertThat(executor.submit(em, null, totalSupplier), is(instanceOf(CancellableTotalSupplier.class)));
+	}
+
+	@Test
+	public void cancelsConcurrentCountIfTotalIsDerivedFromContent() {
+
+		CancellableTotalSupplier concurrentCount = mock(CancellableTotalSupplier.class);
+
+		Page<Object> page = PageableExecutionUtils.getPage(Arrays.<Object> asList("first", "second"),
+				new PageRequest(0, 10), concurrentCount);
+
+		assertThat(page.getTotalElements(), is(2L));
+		verify(concurrentCount).cancel();
+		verify(concurrentCount, never()).get();
+	}
+
+	@Test
+	public void usesConcurrentCountIfTotalCannotBeDerivedFromContent() {
+
+		CancellableTotalSupplier concurrentCount = mock(CancellableTotalSupplier.class);
+		when(concurrentCount.get()).thenReturn(20L);
+
+		Page<Object> page = PageableExecutionUtils.getPage(Arrays.<Object> asList("first", "second"),
+				new PageRequest(0, 2), concurrentCount);
+
+		assertThat(page.getTotalElements(), is(20L));
+		verify(concurrentCount, never()).cancel();
+	}
+
+	static class RecordingTotalSupplier implements TotalSupplier {
+
+		final AtomicReference<Thread> thread = new AtomicReference<Thread>();
+
+		public long get() {
+
+			thread.set(Thread.currentThread());
+			return 42L;
+		}
+	}
+}
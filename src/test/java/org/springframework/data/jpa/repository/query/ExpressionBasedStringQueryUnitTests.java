@@ -23,6 +23,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.jpa.repository.query.StringQuery.ParameterBinding;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 
 /**
@@ -64,4 +65,17 @@ public class ExpressionBasedStringQueryUnitTests {
 		assertThat(query.getQueryString(), is("select u from User u"));
 	}
 
+	@Test
+	public void parsesExpressionOfParameterBindingOnCreation() {
+
+		when(metadata.getEntityName()).thenReturn("User");
+
+		StringQuery query = new ExpressionBasedStringQuery("select u from User u where u.firstname = ?#{[0]}", metadata,
+				SPEL_PARSER);
+		ParameterBinding binding = query.getParameterBindings().get(0);
+
+		assertThat(binding.isExpression(), is(true));
+		assertThat(binding.getParsedExpression().getExpressionString(), is("[0]"));
+		assertThat(binding.getParsedExpression(), is(sameInstance(binding.getParsedExpression())));
+	}
 }
@@ -31,8 +31,11 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.KeysetPageRequest;
 import org.springframework.data.jpa.repository.query.JpaQueryExecution.ModifyingExecution;
 import org.springframework.data.jpa.repository.query.JpaQueryExecution.PagedExecution;
 import org.springframework.data.repository.query.DefaultParameters;
@@ -113,38 +116,48 @@ public class JpaQueryExecutionUnitTests {
 		new ModifyingExecution(method, em);
 	}
 
-	/**
-	 * @see DATAJPA-124
-	 */
 	@Test
-	public void pagedExecutionDoesNotRetrieveObjectsForPageableOutOfRange() throws Exception {
+	public void pagedExecutionDerivesTotalFromShortPageWithoutCountQuery() throws Exception {
 
 		Parameters<?, ?> parameters = new DefaultParameters(getClass().getMethod("sampleMethod", Pageable.class));
-		when(jpaQuery.createCountQuery(Mockito.any(Object[].class))).thenReturn(countQuery);
 		when(jpaQuery.createQuery(Mockito.any(Object[].class))).thenReturn(query);
-		when(countQuery.getResultList()).thenReturn(Arrays.asList(20L));
+		when(query.getResultList()).thenReturn(Arrays.asList(new Object(), new Object()));
 
 		PagedExecution execution = new PagedExecution(parameters);
-		execution.doExecute(jpaQuery, new Object[] { new PageRequest(2, 10) });
+		Page<?> page = (Page<?>) execution.doExecute(jpaQuery, new Object[] { new PageRequest(1, 10) });
 
-		verify(query, times(0)).getResultList();
+		assertThat(page.getTotalElements(), is(12L));
+		verify(jpaQuery, times(0)).createCountQuery((Object[]) any());
 	}
 
-	/**
-	 * @see DATAJPA-477
-	 */
 	@Test
-	public void pagedExecutionShouldNotGenerateUnecessaryQueryIfCountReportedNoResults() throws Exception {
+	public void pagedExecutionExecutesCountQueryIfTotalCannotBeDerived() throws Exception {
 
 		Parameters<?, ?> parameters = new DefaultParameters(getClass().getMethod("sampleMethod", Pageable.class));
+		when(jpaQuery.createQuery(Mockito.any(Object[].class))).thenReturn(query);
 		when(jpaQuery.createCountQuery(Mockito.any(Object[].class))).thenReturn(countQuery);
-		when(countQuery.getResultList()).thenReturn(Arrays.asList(0L));
+		when(query.getResultList()).thenReturn(Arrays.asList(new Object(), new Object()));
+		when(countQuery.getResultList()).thenReturn(Arrays.asList(20L));
 
 		PagedExecution execution = new PagedExecution(parameters);
-		execution.doExecute(jpaQuery, new Object[] { new PageRequest(0, 10) });
+		Page<?> page = (Page<?>) execution.doExecute(jpaQuery, new Object[] { new PageRequest(0, 2) });
+
+		verify(countQuery, times(1)).getResultList();
+
+		assertThat(page.getTotalElements(), is(20L));
+		assertThat(page.getTotalPages(), is(10));
+		assertThat(page.hasNext(), is(true));
+		assertThat(page.equals(page), is(true));
+		verify(countQuery, times(1)).getResultList();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void pagedExecutionRejectsKeysetPageRequest() throws Exception {
+
+		Parameters<?, ?> parameters = new DefaultParameters(getClass().getMethod("sampleMethod", Pageable.class));
 
-		verify(query, times(0)).getResultList();
-		verify(jpaQuery, times(0)).createQuery((Object[]) any());
+		new PagedExecution(parameters).doExecute(jpaQuery,
+				new Object[] { new KeysetPageRequest(10, new Sort("firstname")) });
 	}
 
 	public static void sampleMethod(Pageable pageable) {
@@ -44,6 +44,7 @@ import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.jpa.repository.ReadOnlyQuery;
 import org.springframework.data.jpa.repository.sample.UserRepository;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.core.support.DefaultRepositoryMetadata;
@@ -358,6 +359,15 @@ public class JpaQueryMethodUnitTests {
 		assertThat(method.getEntityGraph().getType(), is(EntityGraphType.FETCH));
 	}
 
+	@Test
+	public void detectsReadOnlyQueryAnnotation() throws Exception {
+
+		Method readOnly = ValidRepository.class.getMethod("findReadOnly");
+
+		assertThat(new JpaQueryMethod(readOnly, metadata, extractor).isReadOnlyQuery(), is(true));
+		assertThat(new JpaQueryMethod(repositoryMethod, metadata, extractor).isReadOnlyQuery(), is(false));
+	}
+
 	/**
 	 * Interface to define invalid repository methods for testing.
 	 * 
@@ -418,6 +428,9 @@ public class JpaQueryMethodUnitTests {
 		 */
 		@EntityGraph(value = "User.propertyLoadPath", type = EntityGraphType.LOAD)
 		User queryMethodWithCustomEntityFetchGraph(Integer id);
+
+		@ReadOnlyQuery
+		List<User> findReadOnly();
 	}
 
 	static interface JpaRepositoryOverride extends JpaRepository<User, Long> {
@@ -24,6 +24,7 @@ import static org.mockito.Mockito.*;
 import java.lang.reflect.Method;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.persistence.Embeddable;
 import javax.persistence.Query;
@@ -37,6 +38,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.Temporal;
+import org.springframework.data.jpa.repository.query.ParameterBinder.BindInstruction;
 import org.springframework.data.repository.query.Param;
 
 /**
@@ -75,6 +77,8 @@ public class ParameterBinderUnitTests {
 
 		User valid(@Param("username") String username);
 
+		User validWithTwoParameters(@Param("username") String username, @Param("lastname") String lastname);
+
 		User validWithPageable(@Param("username") String username, Pageable pageable);
 
 		User validWithSort(@Param("username") String username, Sort sort);
@@ -158,6 +162,40 @@ public class ParameterBinderUnitTests {
 		verify(query).setParameter(eq("username"), anyObject());
 	}
 
+	@Test
+	public void inspectsQueryForNamedParametersOnlyOnce() throws Exception {
+
+		Method method = SampleRepository.class.getMethod("validWithTwoParameters", String.class, String.class);
+		final AtomicInteger inspections = new AtomicInteger();
+
+		new ParameterBinder(new JpaParameters(method), new Object[] { "foo", "bar" }) {
+
+			@Override
+			boolean hasNamedParameter(Query query) {
+
+				inspections.incrementAndGet();
+				return true;
+			}
+		}.bind(query);
+
+		verify(query).setParameter("username", "foo");
+		verify(query).setParameter("lastname", "bar");
+		assertThat(inspections.get(), is(1));
+	}
+
+	@Test
+	public void reusesBindInstructionsForSubsequentInvocations() throws Exception {
+
+		JpaParameters parameters = new JpaParameters(useIndexedParameters);
+		BindInstruction[] instructions = new ParameterBinder(parameters, new Object[] { "foo" }).getInstructions();
+
+		new ParameterBinder(parameters, new Object[] { "bar" }, instructions).bind(query);
+
+		assertThat(instructions.length, is(1));
+		assertThat(instructions[0].getPosition(), is(1));
+		verify(query).setParameter(1, "bar");
+	}
+
 	@Test
 	public void bindsEmbeddableCorrectly() throws Exception {
 
@@ -4,12 +4,18 @@ import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
 
 import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Set;
 
 import javax.persistence.EntityManager;
+import javax.persistence.Parameter;
 import javax.persistence.PersistenceContext;
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Root;
 
+import org.junit.Assume;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.data.jpa.domain.sample.User;
@@ -51,8 +57,40 @@ public class ParameterExpressionProviderTests {
 		assertThat(expression.getParameterType(), is(typeCompatibleWith(int.class)));
 	}
 
+	@Test
+	public void namesParametersDistinctFromLiteralsRenderedByProvider() throws Exception {
+
+		Method method = SampleRepository.class.getMethod("findByFirstname", String.class);
+		Parameters<?, ?> parameters = new DefaultParameters(method);
+		Part part = new Part("Firstname", User.class);
+
+		CriteriaBuilder builder = em.getCriteriaBuilder();
+		PersistenceProvider persistenceProvider = PersistenceProvider.fromEntityManager(em);
+		ParameterMetadataProvider provider = new ParameterMetadataProvider(builder, parameters, persistenceProvider, true);
+		ParameterExpression<? extends String> expression = provider.next(part, String.class).getExpression();
+
+		CriteriaQuery<User> criteriaQuery = builder.createQuery(User.class);
+		Root<User> root = criteriaQuery.from(User.class);
+		criteriaQuery.where(builder.equal(root.get("lastname"), builder.literal("Matthews")),
+				builder.equal(root.get("firstname"), expression));
+
+		String queryString = persistenceProvider.renderCriteriaQuery(em.createQuery(criteriaQuery));
+		Assume.assumeTrue(queryString != null);
+
+		Set<String> parameterNames = new HashSet<String>();
+
+		for (Parameter<?> parameter : em.createQuery(queryString, User.class).getParameters()) {
+			parameterNames.add(parameter.getName());
+		}
+
+		assertThat(parameterNames.size(), is(2));
+		assertThat(parameterNames, hasItem(ParameterMetadataProvider.getParameterName(0)));
+	}
+
 	interface SampleRepository {
 
 		User findByIdGreaterThan(int id);
+
+		User findByFirstname(String firstname);
 	}
 }
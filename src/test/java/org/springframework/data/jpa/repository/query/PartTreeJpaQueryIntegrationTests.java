@@ -26,14 +26,13 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
 import javax.persistence.TemporalType;
 
-import org.hibernate.Version;
-import org.hibernate.ejb.HibernateQuery;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -41,6 +40,7 @@ import org.junit.runner.RunWith;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.jpa.domain.sample.User;
 import org.springframework.data.jpa.provider.PersistenceProvider;
 import org.springframework.data.jpa.repository.Temporal;
@@ -106,13 +106,67 @@ public class PartTreeJpaQueryIntegrationTests {
 
 		Query query = jpaQuery.createQuery(new Object[] { "Matthews", new PageRequest(0, 1) });
 
-		HibernateQuery hibernateQuery = getValue(query, "h.target." + (isHibernate43() ? "jpqlQuery" : "val$jpaqlQuery"));
-		assertThat(hibernateQuery.getHibernateQuery().getQueryString(), endsWith("firstname=:param0"));
+		assertThat(getQueryString(query), endsWith("firstname=:" + ParameterMetadataProvider.getParameterName(0)));
 
 		query = jpaQuery.createQuery(new Object[] { null, new PageRequest(0, 1) });
 
-		hibernateQuery = getValue(query, "h.target." + (isHibernate43() ? "jpqlQuery" : "val$jpaqlQuery"));
-		assertThat(hibernateQuery.getHibernateQuery().getQueryString(), endsWith("firstname is null"));
+		assertThat(getQueryString(query), endsWith("firstname is null"));
+	}
+
+	@Test
+	public void cachesQueryVariantsForNullValues() throws Exception {
+
+		Method method = UserRepository.class.getMethod("findByFirstnameAndLastname", String.class, String.class);
+		JpaQueryMethod queryMethod = new JpaQueryMethod(method, new DefaultRepositoryMetadata(UserRepository.class),
+				PersistenceProvider.fromEntityManager(entityManager));
+		PartTreeJpaQuery jpaQuery = new PartTreeJpaQuery(queryMethod, entityManager);
+
+		jpaQuery.createQuery(new Object[] { null, "Matthews" });
+		jpaQuery.createQuery(new Object[] { null, "Beauford" });
+
+		Query query = jpaQuery.createQuery(new Object[] { "Dave", null });
+
+		assertThat(getQueryString(query), endsWith("lastname is null"));
+
+		Map<?, ?> variants = getValue(jpaQuery, "query.nullValueVariants");
+		assertThat(variants.size(), is(2));
+	}
+
+	@Test
+	public void doesNotCacheQueryVariantsForNullValuesExceedingConfiguredMaximum() throws Exception {
+
+		Method method = UserRepository.class.getMethod("findByFirstnameAndLastname", String.class, String.class);
+		JpaQueryMethod queryMethod = new JpaQueryMethod(method, new DefaultRepositoryMetadata(UserRepository.class),
+				PersistenceProvider.fromEntityManager(entityManager));
+		PartTreeJpaQuery jpaQuery = new PartTreeJpaQuery(queryMethod, entityManager);
+		jpaQuery.setMaxNullValueVariants(1);
+
+		jpaQuery.createQuery(new Object[] { null, "Matthews" });
+		jpaQuery.createQuery(new Object[] { "Dave", null });
+
+		Map<?, ?> variants = getValue(jpaQuery, "query.nullValueVariants");
+		assertThat(variants.size(), is(1));
+	}
+
+	@Test
+	public void rendersCachedQueriesIntoJpql() throws Exception {
+
+		Method method = UserRepository.class.getMethod("findByFirstname", String.class, Pageable.class);
+		JpaQueryMethod queryMethod = new JpaQueryMethod(method, new DefaultRepositoryMetadata(UserRepository.class),
+				PersistenceProvider.fromEntityManager(entityManager));
+		PartTreeJpaQuery jpaQuery = new PartTreeJpaQuery(queryMethod, entityManager);
+
+		String queryString = getValue(jpaQuery, "query.defaultVariant.queryString");
+		assertThat(queryString, endsWith("firstname=:" + ParameterMetadataProvider.getParameterName(0)));
+
+		Query query = jpaQuery.createQuery(new Object[] { "Matthews", new PageRequest(0, 1, Direction.ASC, "lastname") });
+
+		assertThat(getQueryString(query), endsWith("order by generatedAlias0.lastname asc"));
+
+		jpaQuery.createQuery(new Object[] { "Dave", new PageRequest(1, 1, Direction.ASC, "lastname") });
+
+		Map<?, ?> variants = getValue(jpaQuery, "query.sortVariants");
+		assertThat(variants.size(), is(1));
 	}
 
 	private void testIgnoreCase(String methodName, Object... values) throws Exception {
@@ -128,6 +182,10 @@ public class PartTreeJpaQueryIntegrationTests {
 		jpaQuery.createQuery(values);
 	}
 
+	private static String getQueryString(Query query) {
+		return query.unwrap(org.hibernate.Query.class).getQueryString();
+	}
+
 	@SuppressWarnings("unchecked")
 	private static <T> T getValue(Object source, String path) {
 
@@ -141,14 +199,12 @@ public class PartTreeJpaQueryIntegrationTests {
 		return (T) result;
 	}
 
-	private static boolean isHibernate43() {
-		return Version.getVersionString().startsWith("4.3");
-	}
-
 	interface UserRepository extends Repository<User, Long> {
 
 		Page<User> findByFirstname(String firstname, Pageable pageable);
 
+		List<User> findByFirstnameAndLastname(String firstname, String lastname);
+
 		User findByIdIgnoringCase(Integer id);
 
 		User findByIdAllIgnoringCase(Integer id);
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.data.jpa.repository.query.QueryResultCache.Loader;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit tests for {@link QueryResultCache}.
+ * 
+ * @author agent
+ */
+public class QueryResultCacheUnitTests {
+
+	QueryResultCache cache = new QueryResultCache(10, 1, TimeUnit.MINUTES);
+
+	@After
+	public void tearDown() {
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		for (Object key : new ArrayList<Object>(TransactionSynchronizationManager.getResourceMap().keySet())) {
+			TransactionSynchronizationManager.unbindResourceIfPossible(key);
+		}
+	}
+
+	@Test
+	public void cachesLoadedValueAndRecordsHitsAndMisses() {
+
+		CountingLoader loader = new CountingLoader(42L);
+
+		assertThat(cache.get(Parent.class, "key", loader), is(42L));
+		assertThat(cache.get(Parent.class, "key", loader), is(42L));
+
+		assertThat(loader.invocations, is(1));
+		assertThat(cache.getMissCount(), is(1L));
+		assertThat(cache.getHitCount(), is(1L));
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedEntriesExceedingMaximumSize() {
+
+		QueryResultCache cache = new QueryResultCache(1, 1, TimeUnit.MINUTES);
+
+		cache.put(Parent.class, "first", 1L);
+		cache.put(Parent.class, "second", 2L);
+
+		assertThat(cache.size(), is(1));
+		assertThat(cache.getEvictionCount(), is(1L));
+		assertThat(cache.lookup(Parent.class, "first").isHit(), is(false));
+		assertThat(cache.lookup(Parent.class, "second").getValue(), is((Object) 2L));
+	}
+
+	@Test
+	public void doesNotReturnExpiredEntries() throws Exception {
+
+		QueryResultCache cache = new QueryResultCache(10, 1, TimeUnit.MILLISECONDS);
+		cache.put(Parent.class, "key", 1L);
+
+		Thread.sleep(10);
+
+		assertThat(cache.lookup(Parent.class, "key").isHit(), is(false));
+		assertThat(cache.size(), is(0));
+	}
+
+	@Test
+	public void evictionInvalidatesEntriesOfTypeAndRelatedTypes() {
+
+		cache.put(Parent.class, "key", 1L);
+		cache.put(Child.class, "key", 2L);
+		cache.put(Unrelated.class, "key", 3L);
+
+		cache.evict(Child.class);
+
+		assertThat(cache.lookup(Parent.class, "key").isHit(), is(false));
+		assertThat(cache.lookup(Child.class, "key").isHit(), is(false));
+		assertThat(cache.lookup(Unrelated.class, "key").isHit(), is(true));
+
+		cache.put(Child.class, "key", 2L);
+		cache.evict(Parent.class);
+
+		assertThat(cache.lookup(Child.class, "key").isHit(), is(false));
+	}
+
+	@Test
+	public void evictsIndividualKeys() {
+
+		cache.put(Parent.class, "first", 1L);
+		cache.put(Parent.class, "second", 2L);
+
+		cache.evict(Parent.class, "first");
+
+		assertThat(cache.lookup(Parent.class, "first").isHit(), is(false));
+		assertThat(cache.lookup(Parent.class, "second").isHit(), is(true));
+	}
+
+	@Test
+	public void evictingKeysNotCachedDoesNotTakeUpCapacity() {
+
+		QueryResultCache cache = new QueryResultCache(1, 1, TimeUnit.MINUTES);
+		cache.put(Parent.class, "cached", 1L);
+
+		cache.evict(Parent.class, "first");
+		cache.evict(Parent.class, "second");
+
+		assertThat(cache.size(), is(1));
+		assertThat(cache.getEvictionCount(), is(0L));
+		assertThat(cache.lookup(Parent.class, "cached").isHit(), is(true));
+	}
+
+	@Test
+	public void evictingKeysWithinTransactionDoesNotTakeUpCapacity() {
+
+		QueryResultCache cache = new QueryResultCache(1, 1, TimeUnit.MINUTES);
+		cache.put(Parent.class, "cached", 1L);
+
+		TransactionSynchronizationManager.initSynchronization();
+
+		cache.evict(Parent.class, "first");
+
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+		}
+
+		assertThat(cache.size(), is(1));
+		assertThat(cache.getEvictionCount(), is(0L));
+		assertThat(cache.lookup(Parent.class, "cached").isHit(), is(true));
+	}
+
+	@Test
+	public void doesNotCacheValueLoadedDuringKeyEviction() {
+
+		cache.get(Parent.class, "key", new Loader<Long>() {
+
+			public Long load() {
+
+				cache.evict(Parent.class, "key");
+				return 1L;
+			}
+		});
+
+		assertThat(cache.lookup(Parent.class, "key").isHit(), is(false));
+
+		cache.get(Parent.class, "key", new CountingLoader(1L));
+
+		assertThat(cache.lookup(Parent.class, "key").isHit(), is(true));
+	}
+
+	@Test
+	public void regionsShareEvictionsOfDomainTypes() {
+
+		QueryResultCache region = cache.createRegion(10, 1, TimeUnit.MINUTES);
+		region.put(Parent.class, "key", 1L);
+
+		cache.evict(Parent.class);
+
+		assertThat(region.lookup(Parent.class, "key").isHit(), is(false));
+	}
+
+	@Test
+	public void doesNotCacheValueLoadedDuringEviction() {
+
+		cache.get(Parent.class, "key", new Loader<Long>() {
+
+			public Long load() {
+
+				cache.evict(Parent.class);
+				return 1L;
+			}
+		});
+
+		assertThat(cache.lookup(Parent.class, "key").isHit(), is(false));
+	}
+
+	@Test
+	public void doesNotCacheValuesWithinTransactionAfterEviction() {
+
+		TransactionSynchronizationManager.initSynchronization();
+
+		cache.evict(Parent.class);
+		cache.put(Unrelated.class, "key", 1L);
+
+		assertThat(cache.lookup(Unrelated.class, "key").isHit(), is(false));
+
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+		}
+
+		cache.put(Unrelated.class, "key", 1L);
+
+		assertThat(cache.lookup(Unrelated.class, "key").isHit(), is(true));
+	}
+
+	@Test
+	public void invalidatesEntriesCachedConcurrentlyToTransactionOnCompletion() throws Exception {
+
+		TransactionSynchronizationManager.initSynchronization();
+
+		cache.evict(Parent.class);
+
+		Thread thread = new Thread(new Runnable() {
+
+			public void run() {
+				cache.put(Parent.class, "key", 1L);
+			}
+		});
+
+		thread.start();
+		thread.join();
+
+		assertThat(cache.size(), is(1));
+
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+		}
+
+		assertThat(cache.lookup(Parent.class, "key").isHit(), is(false));
+	}
+
+	static class CountingLoader implements Loader<Long> {
+
+		final Long value;
+		int invocations;
+
+		CountingLoader(Long value) {
+			this.value = value;
+		}
+
+		public Long load() {
+
+			invocations++;
+			return value;
+		}
+	}
+
+	static class Parent {}
+
+	static class Child extends Parent {}
+
+	static class Unrelated {}
+}
@@ -32,6 +32,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -48,6 +49,7 @@ import org.springframework.data.repository.query.DefaultEvaluationContextProvide
 import org.springframework.data.repository.query.EvaluationContextProvider;
 import org.springframework.data.repository.query.RepositoryQuery;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 /**
  * Unit test for {@link SimpleJpaQuery}.
@@ -205,12 +207,55 @@ public class SimpleJpaQueryUnitTests {
 		assertThat(query instanceof NativeJpaQuery, is(true));
 	}
 
+	@Test
+	public void reusesSortedQueryStringForEqualSorts() throws Exception {
+
+		Method method = SampleRepository.class.getMethod("findWithManager", Sort.class);
+		AbstractJpaQuery jpaQuery = (AbstractJpaQuery) createJpaQuery(method);
+
+		jpaQuery.createQuery(new Object[] { new Sort("m.lastname", "firstname") });
+		jpaQuery.createQuery(new Object[] { new Sort("m.lastname", "firstname") });
+
+		ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+		verify(em, times(2)).createQuery(captor.capture());
+
+		List<String> queryStrings = captor.getAllValues();
+
+		assertThat(queryStrings.get(0), endsWith("order by m.lastname asc, u.firstname asc"));
+		assertThat(queryStrings.get(1), is(sameInstance(queryStrings.get(0))));
+	}
+
 	private RepositoryQuery createJpaQuery(Method method) {
 
 		JpaQueryMethod queryMethod = new JpaQueryMethod(method, metadata, extractor);
 		return JpaQueryFactory.INSTANCE.fromQueryAnnotation(queryMethod, em, EVALUATION_CONTEXT_PROVIDER);
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void includesValuesOfExpressionsInCacheKey() throws Exception {
+
+		StandardEvaluationContext firstTenant = new StandardEvaluationContext();
+		firstTenant.setVariable("tenant", "first");
+
+		StandardEvaluationContext secondTenant = new StandardEvaluationContext();
+		secondTenant.setVariable("tenant", "second");
+
+		EvaluationContextProvider provider = mock(EvaluationContextProvider.class);
+		when(provider.getEvaluationContext(any(JpaParameters.class), any(Object[].class))).thenReturn(firstTenant,
+				secondTenant, secondTenant);
+
+		AbstractJpaQuery jpaQuery = new SimpleJpaQuery(method, em,
+				"select u from User u where u.lastname = ?1 and u.firstname = ?#{#tenant}", provider, PARSER);
+
+		Object[] values = new Object[] { "Matthews" };
+		Object first = jpaQuery.getCacheKey(method.getParameters(), values);
+		Object second = jpaQuery.getCacheKey(method.getParameters(), values);
+
+		assertThat(first, is(not(second)));
+		assertThat(jpaQuery.getCacheKey(method.getParameters(), values), is(second));
+	}
+
 	interface SampleRepository {
 
 		@Query(value = "SELECT u FROM User u WHERE u.lastname = ?1", nativeQuery = true)
@@ -227,5 +272,8 @@ public class SimpleJpaQueryUnitTests {
 
 		@Query(USER_QUERY)
 		Page<User> pageByAnnotatedQuery(Pageable pageable);
+
+		@Query("select u from User u left join u.manager m")
+		List<User> findWithManager(Sort sort);
 	}
 }
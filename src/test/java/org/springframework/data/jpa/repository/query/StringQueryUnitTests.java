@@ -313,6 +313,14 @@ public class StringQueryUnitTests {
 		new StringQuery("select u from User u where u.firstname like ?1 and u.lastname like %?1");
 	}
 
+	@Test(expected = IllegalStateException.class)
+	public void doesNotParseExpressionsOfBindingsWithoutParser() {
+
+		StringQuery query = new StringQuery("select u from User u where u.firstname = ?#{[0]}");
+
+		query.getParameterBindings().get(0).getParsedExpression();
+	}
+
 	private void assertPositionalBinding(Class<? extends ParameterBinding> bindingType, Integer position,
 			ParameterBinding expectedBinding) {
 
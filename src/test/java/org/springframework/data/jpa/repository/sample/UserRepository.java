@@ -326,6 +326,8 @@ public interface UserRepository extends JpaRepository<User, Integer>, JpaSpecifi
 	 */
 	Slice<User> findSliceByLastname(String lastname, Pageable pageable);
 
+	Slice<User> findSliceByAgeGreaterThan(int age, Pageable pageable);
+
 	/**
 	 * @see DATAJPA-496
 	 */
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link CachedPropertyAccessor}.
+ * 
+ * @author agent
+ */
+public class CachedPropertyAccessorUnitTests {
+
+	@Test
+	public void prefersAccessorMethods() {
+
+		CachedPropertyAccessor accessor = CachedPropertyAccessor.forProperty(Sample.class, "name");
+		Sample sample = new Sample();
+
+		accessor.setValue(sample, "value");
+
+		assertThat(sample.name, is("set:value"));
+		assertThat(accessor.getValue(sample), is((Object) "get:set:value"));
+	}
+
+	@Test
+	public void fallsBackToFieldAccess() {
+
+		CachedPropertyAccessor accessor = CachedPropertyAccessor.forProperty(Sample.class, "id");
+		Sample sample = new Sample();
+
+		accessor.setValue(sample, 42L);
+
+		assertThat(sample.id, is(42L));
+		assertThat(accessor.getValue(sample), is((Object) 42L));
+	}
+
+	@Test
+	public void returnsNullForUnknownProperty() {
+		assertThat(CachedPropertyAccessor.forProperty(Sample.class, "unknown"), is(nullValue()));
+	}
+
+	static class Sample {
+
+		Long id;
+		String name;
+
+		public String getName() {
+			return "get:" + name;
+		}
+
+		public void setName(String name) {
+			this.name = "set:" + name;
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceException;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.jpa.domain.sample.User;
+import org.springframework.data.jpa.provider.PersistenceProvider;
+import org.springframework.data.jpa.repository.sample.UserRepository;
+
+/**
+ * Unit tests for {@link CrudStatements}.
+ * 
+ * @author agent
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CrudStatementsUnitTests {
+
+	@Mock EntityManager em;
+	@Mock EntityManager target;
+	@Mock EntityManagerFactory factory;
+	@Mock JpaEntityInformation<User, Integer> information;
+	@Mock Query query;
+	@Mock TypedQuery<Long> countQuery;
+
+	@Before
+	public void setUp() {
+
+		when(information.getEntityName()).thenReturn("User");
+		when(em.getEntityManagerFactory()).thenReturn(factory);
+		when(factory.createEntityManager()).thenReturn(target);
+		when(target.createQuery(Mockito.anyString())).thenReturn(query);
+	}
+
+	@Test
+	public void registersStatementsAsNamedQueries() {
+
+		new CrudStatements(information, PersistenceProvider.GENERIC_JPA, em, UserRepository.class);
+
+		verify(target).createQuery("select count(x) from User x");
+		verify(factory).addNamedQuery(UserRepository.class.getName() + ".User.count", query);
+		verify(factory).addNamedQuery(UserRepository.class.getName() + ".User.deleteAll", query);
+		verify(target).close();
+	}
+
+	@Test
+	public void namesStatementsAfterSimpleJpaRepositoryWithoutRepositoryInterface() {
+
+		new CrudStatements(information, PersistenceProvider.GENERIC_JPA, em, null);
+
+		verify(factory).addNamedQuery(SimpleJpaRepository.class.getName() + ".User.count", query);
+		verify(target).close();
+	}
+
+	@Test
+	public void usesNamedQueryIfRegistered() {
+
+		when(em.createNamedQuery(UserRepository.class.getName() + ".User.count", Long.class)).thenReturn(countQuery);
+
+		CrudStatements statements = new CrudStatements(information, PersistenceProvider.GENERIC_JPA, em, UserRepository.class);
+
+		assertThat(statements.createCountQuery(em), is(countQuery));
+	}
+
+	@Test
+	public void fallsBackToQueryStringIfRegistrationFails() {
+
+		doThrow(new PersistenceException()).when(factory).addNamedQuery(Mockito.anyString(), Mockito.any(Query.class));
+		when(em.createQuery("select count(x) from User x", Long.class)).thenReturn(countQuery);
+
+		CrudStatements statements = new CrudStatements(information, PersistenceProvider.GENERIC_JPA, em, UserRepository.class);
+
+		assertThat(statements.createCountQuery(em), is(countQuery));
+		verify(em, never()).createNamedQuery(Mockito.anyString(), Mockito.eq(Long.class));
+	}
+
+	@Test
+	public void doesNotCreateExistsQueryForEntityWithoutIdAttribute() {
+
+		CrudStatements statements = new CrudStatements(information, PersistenceProvider.GENERIC_JPA, em, UserRepository.class);
+
+		assertThat(statements.createExistsQuery(em), is(nullValue()));
+		assertThat(statements.createDeleteByIdQuery(em), is(nullValue()));
+	}
+}
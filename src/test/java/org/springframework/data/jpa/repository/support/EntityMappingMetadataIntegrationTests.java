@@ -0,0 +1,95 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.metamodel.Metamodel;
+
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLUpdate;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.data.jpa.domain.sample.MailMessage;
+import org.springframework.data.jpa.domain.sample.Role;
+import org.springframework.data.jpa.domain.sample.User;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+/**
+ * Integration tests for {@link EntityMappingMetadata}.
+ * 
+ * @author agent
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration({ "classpath:infrastructure.xml" })
+public class EntityMappingMetadataIntegrationTests {
+
+	@PersistenceContext EntityManager em;
+
+	@Test
+	public void supportsBulkRemovalForSimpleEntity() {
+		assertThat(new EntityMappingMetadata(Role.class, em.getMetamodel()).supportsBulkRemoval(), is(true));
+	}
+
+	@Test
+	public void doesNotSupportBulkRemovalForEntityWithCollectionValuedAttributes() {
+		assertThat(new EntityMappingMetadata(User.class, em.getMetamodel()).supportsBulkRemoval(), is(false));
+	}
+
+	@Test
+	public void doesNotSupportBulkRemovalForEntityCascadingRemovals() {
+		assertThat(new EntityMappingMetadata(MailMessage.class, em.getMetamodel()).supportsBulkRemoval(), is(false));
+	}
+
+	@Test
+	public void doesNotSupportBulkRemovalWithoutMetamodel() {
+		assertThat(new EntityMappingMetadata(Role.class, null).supportsBulkRemoval(), is(false));
+	}
+
+	@Test
+	public void doesNotSupportBulkRemovalForEntityWithCustomDeleteStatement() {
+
+		Metamodel metamodel = mock(Metamodel.class);
+		doReturn(em.getMetamodel().managedType(Role.class)).when(metamodel).managedType(SoftDeletedRole.class);
+
+		assertThat(new EntityMappingMetadata(SoftDeletedRole.class, metamodel).supportsBulkRemoval(), is(false));
+	}
+
+	@Test
+	public void supportsStatementUpdatesForPlainEntity() {
+		assertThat(new EntityMappingMetadata(Role.class, em.getMetamodel()).supportsStatementUpdates(), is(true));
+	}
+
+	@Test
+	public void doesNotSupportStatementUpdatesForEntityWithCustomUpdateStatement() {
+
+		Metamodel metamodel = mock(Metamodel.class);
+		doReturn(em.getMetamodel().managedType(Role.class)).when(metamodel).managedType(CustomUpdatedRole.class);
+
+		assertThat(new EntityMappingMetadata(CustomUpdatedRole.class, metamodel).supportsStatementUpdates(), is(false));
+	}
+
+	@SQLDelete(sql = "update Role set name = 'deleted' where id = ?")
+	static class SoftDeletedRole extends Role {}
+
+	@SQLUpdate(sql = "update Role set name = upper(?) where id = ?")
+	static class CustomUpdatedRole extends Role {}
+}
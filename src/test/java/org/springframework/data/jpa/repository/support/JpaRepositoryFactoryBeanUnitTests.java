@@ -15,6 +15,7 @@
  */
 package org.springframework.data.jpa.repository.support;
 
+import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
@@ -33,6 +34,7 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.dao.support.PersistenceExceptionTranslator;
 import org.springframework.data.domain.Persistable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -101,6 +103,24 @@ public class JpaRepositoryFactoryBeanUnitTests {
 		factoryBean.setBeanFactory(mock(BeanFactory.class));
 	}
 
+	@Test
+	public void sharesDefaultQueryCacheBetweenFactoryBeansOfTheSameBeanFactory() {
+
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+		JpaRepositoryFactoryBean<SimpleSampleRepository, User, Integer> first = //
+		new JpaRepositoryFactoryBean<SimpleSampleRepository, User, Integer>();
+		first.setBeanFactory(beanFactory);
+		JpaRepositoryFactoryBean<SimpleSampleRepository, User, Integer> second = //
+		new JpaRepositoryFactoryBean<SimpleSampleRepository, User, Integer>();
+		second.setBeanFactory(beanFactory);
+
+		assertThat(first.getDefaultQueryCache(), is(notNullValue()));
+		assertThat(first.getDefaultQueryCache(), is(sameInstance(second.getDefaultQueryCache())));
+		assertThat(new JpaRepositoryFactoryBean<SimpleSampleRepository, User, Integer>().getDefaultQueryCache(),
+				is(nullValue()));
+	}
+
 	/**
 	 * Assert that the factory rejects calls to {@code JpaRepositoryFactoryBean#setRepositoryInterface(Class)} with
 	 * {@literal null} or any other parameter instance not implementing {@code Repository}.
@@ -38,6 +38,7 @@ import org.springframework.data.jpa.repository.custom.UserCustomExtendedReposito
 import org.springframework.data.querydsl.QueryDslPredicateExecutor;
 import org.springframework.data.repository.core.support.DefaultRepositoryMetadata;
 import org.springframework.data.repository.query.QueryLookupStrategy.Key;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -127,6 +128,24 @@ public class JpaRepositoryFactoryUnitTests {
 		repository.throwingCheckedException();
 	}
 
+	@Test
+	public void appliesRepositoryConfigurationToTargetRepositories() {
+
+		factory.setBatchSize(20);
+		factory.setMaxBindParameters(100);
+		factory.setStreamingDeletes(true);
+		factory.setBulkDeletesById(true);
+		factory.setVersionedUpdates(true);
+
+		Object repository = factory.getTargetRepository(new DefaultRepositoryMetadata(SimpleSampleRepository.class));
+
+		assertThat(ReflectionTestUtils.getField(repository, "batchSize"), is((Object) 20));
+		assertThat(ReflectionTestUtils.getField(repository, "maxBindParameters"), is((Object) 100));
+		assertThat(ReflectionTestUtils.getField(repository, "streamingDeletes"), is((Object) true));
+		assertThat(ReflectionTestUtils.getField(repository, "bulkDeletesById"), is((Object) true));
+		assertThat(ReflectionTestUtils.getField(repository, "versionedUpdates"), is((Object) true));
+	}
+
 	@Test(expected = UnsupportedOperationException.class)
 	public void createsProxyWithCustomBaseClass() {
 
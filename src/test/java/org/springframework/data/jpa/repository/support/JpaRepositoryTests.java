@@ -18,20 +18,39 @@ package org.springframework.data.jpa.repository.support;
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import javax.persistence.EntityManager;
+import javax.persistence.OptimisticLockException;
 import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.domain.sample.SampleEntity;
 import org.springframework.data.jpa.domain.sample.SampleEntityPK;
 import org.springframework.data.jpa.domain.sample.PersistableWithIdClass;
 import org.springframework.data.jpa.domain.sample.PersistableWithIdClassPK;
+import org.springframework.data.jpa.domain.sample.PrimitiveVersionProperty;
+import org.springframework.data.jpa.domain.sample.Role;
+import org.springframework.data.jpa.domain.sample.User;
+import org.springframework.data.jpa.domain.sample.VersionedUser;
+import org.springframework.data.jpa.repository.CachedQuery;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.query.QueryResultCache;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.util.CloseableIterator;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.transaction.annotation.Transactional;
@@ -121,10 +140,350 @@ public class JpaRepositoryTests {
 		assertThat(idClassRepository.exists(id), is(true));
 	}
 
+	@Test
+	public void deletesAllEntitiesChunkByChunkInStreamingMode() {
+
+		SimpleJpaRepository<User, Integer> userRepository = new SimpleJpaRepository<User, Integer>(User.class, em);
+		userRepository.setStreamingDeletes(true);
+		userRepository.setBatchSize(2);
+
+		for (int i = 0; i < 5; i++) {
+			userRepository.save(new User("Dave", "Matthews", String.format("dave%s@dmband.com", i)));
+		}
+
+		userRepository.deleteAll();
+
+		assertThat(userRepository.count(), is(0L));
+	}
+
+	@Test
+	public void flushesAndDetachesManagedEntitiesWhenDeletingAllInBulkInStreamingMode() {
+
+		SimpleJpaRepository<Role, Integer> roleRepository = new SimpleJpaRepository<Role, Integer>(Role.class, em);
+		roleRepository.setStreamingDeletes(true);
+
+		Role flushed = roleRepository.saveAndFlush(new Role("flushed"));
+		Role pending = roleRepository.save(new Role("pending"));
+
+		roleRepository.deleteAll();
+
+		assertThat(em.contains(flushed), is(false));
+		assertThat(em.contains(pending), is(false));
+		assertThat(roleRepository.count(), is(0L));
+		assertThat(roleRepository.findOne(flushed.getId()), is(nullValue()));
+	}
+
+	@Test
+	public void deletesGivenEntitiesInBulkInStreamingMode() {
+
+		SimpleJpaRepository<Role, Integer> roleRepository = new SimpleJpaRepository<Role, Integer>(Role.class, em);
+		roleRepository.setStreamingDeletes(true);
+		roleRepository.setBatchSize(2);
+
+		Role first = roleRepository.save(new Role("first"));
+		Role second = roleRepository.save(new Role("second"));
+		Role third = roleRepository.save(new Role("third"));
+		roleRepository.flush();
+
+		roleRepository.delete(Arrays.asList(first, second, third));
+
+		assertThat(roleRepository.count(), is(0L));
+	}
+
+	@Test
+	public void deletesDetachedEntityByIdWithoutLoadingIt() {
+
+		SimpleJpaRepository<Role, Integer> roleRepository = new SimpleJpaRepository<Role, Integer>(Role.class, em);
+		roleRepository.setBulkDeletesById(true);
+
+		Role role = roleRepository.saveAndFlush(new Role("role"));
+		em.clear();
+
+		roleRepository.delete(role.getId());
+
+		assertThat(roleRepository.exists(role.getId()), is(false));
+	}
+
+	@Test
+	public void deletesManagedEntityById() {
+
+		SimpleJpaRepository<Role, Integer> roleRepository = new SimpleJpaRepository<Role, Integer>(Role.class, em);
+		roleRepository.setBulkDeletesById(true);
+
+		Role role = roleRepository.saveAndFlush(new Role("role"));
+
+		roleRepository.delete(role.getId());
+		roleRepository.flush();
+
+		assertThat(em.contains(role), is(false));
+		assertThat(roleRepository.exists(role.getId()), is(false));
+	}
+
+	@Test(expected = EmptyResultDataAccessException.class)
+	public void rejectsDeletionOfUnknownIdWithoutLoadingIt() {
+
+		SimpleJpaRepository<Role, Integer> roleRepository = new SimpleJpaRepository<Role, Integer>(Role.class, em);
+		roleRepository.setBulkDeletesById(true);
+		roleRepository.delete(4711);
+	}
+
+	@Test
+	public void updatesDetachedVersionedEntityWithoutMerge() {
+
+		SimpleJpaRepository<VersionedUser, Long> userRepository = new SimpleJpaRepository<VersionedUser, Long>(
+				VersionedUser.class, em);
+		userRepository.setVersionedUpdates(true);
+
+		VersionedUser user = userRepository.saveAndFlush(new VersionedUser());
+		Long version = user.getVersion();
+		em.clear();
+
+		VersionedUser result = userRepository.save(user);
+
+		assertThat(result, is(sameInstance(user)));
+		assertThat(em.contains(user), is(false));
+		assertThat(user.getVersion(), is(version + 1));
+		assertThat(userRepository.findOne(user.getId()).getVersion(), is(version + 1));
+	}
+
+	@Test
+	public void mergesDetachedVersionedEntityIfInstanceWithSameIdIsManaged() {
+
+		SimpleJpaRepository<VersionedUser, Long> userRepository = new SimpleJpaRepository<VersionedUser, Long>(
+				VersionedUser.class, em);
+		userRepository.setVersionedUpdates(true);
+
+		VersionedUser user = userRepository.saveAndFlush(new VersionedUser());
+		em.clear();
+
+		VersionedUser managed = userRepository.findOne(user.getId());
+		VersionedUser result = userRepository.save(user);
+
+		assertThat(result, is(sameInstance(managed)));
+		assertThat(em.contains(user), is(false));
+
+		userRepository.flush();
+	}
+
+	@Test(expected = OptimisticLockException.class)
+	public void rejectsVersionedUpdateOfStaleEntity() {
+
+		SimpleJpaRepository<VersionedUser, Long> userRepository = new SimpleJpaRepository<VersionedUser, Long>(
+				VersionedUser.class, em);
+		userRepository.setVersionedUpdates(true);
+
+		VersionedUser user = userRepository.saveAndFlush(new VersionedUser());
+		em.clear();
+
+		user.setVersion(user.getVersion() - 1);
+		userRepository.save(user);
+	}
+
+	@Test
+	public void streamsEntitiesDetachingProcessedOnes() {
+
+		SimpleJpaRepository<User, Integer> userRepository = new SimpleJpaRepository<User, Integer>(User.class, em);
+		userRepository.setBatchSize(2);
+
+		for (int i = 0; i < 5; i++) {
+			userRepository.save(new User("Dave", "Matthews", String.format("dave%s@dmband.com", i)));
+		}
+
+		userRepository.flush();
+
+		List<User> result = new ArrayList<User>();
+		CloseableIterator<User> iterator = userRepository.stream(null, new Sort("emailAddress"));
+
+		try {
+			while (iterator.hasNext()) {
+				result.add(iterator.next());
+			}
+		} finally {
+			iterator.close();
+		}
+
+		assertThat(result.size(), is(5));
+		assertThat(result.get(0).getEmailAddress(), is("dave0@dmband.com"));
+		assertThat(em.contains(result.get(0)), is(false));
+		assertThat(em.contains(result.get(3)), is(false));
+		assertThat(em.contains(result.get(4)), is(true));
+	}
+
+	@Test
+	public void streamsEntitiesDetachingEagerlyLoadedAssociations() {
+
+		SimpleJpaRepository<User, Integer> userRepository = new SimpleJpaRepository<User, Integer>(User.class, em);
+		userRepository.setBatchSize(2);
+
+		for (int i = 0; i < 3; i++) {
+
+			User manager = userRepository.save(new User("Carter", "Beauford", String.format("carter%s@dmband.com", i)));
+			User user = new User("Dave", "Matthews", String.format("dave%s@dmband.com", i));
+			user.setManager(manager);
+
+			userRepository.save(user);
+		}
+
+		userRepository.flush();
+		em.clear();
+
+		List<User> result = new ArrayList<User>();
+		CloseableIterator<User> iterator = userRepository.stream(new Specification<User>() {
+
+			public Predicate toPredicate(Root<User> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+				return cb.isNotNull(root.get("manager"));
+			}
+		}, new Sort("emailAddress"));
+
+		try {
+			while (iterator.hasNext()) {
+				result.add(iterator.next());
+			}
+		} finally {
+			iterator.close();
+		}
+
+		assertThat(result.size(), is(3));
+		assertThat(em.contains(result.get(0)), is(false));
+		assertThat(em.contains(result.get(0).getManager()), is(false));
+		assertThat(em.contains(result.get(2)), is(true));
+	}
+
+	@Test
+	public void incrementsVersionOfEntitiesUpdatedInBulk() {
+
+		SimpleJpaRepository<PrimitiveVersionProperty, Long> repository = new SimpleJpaRepository<PrimitiveVersionProperty, Long>(
+				PrimitiveVersionProperty.class, em);
+
+		PrimitiveVersionProperty entity = repository.saveAndFlush(new PrimitiveVersionProperty());
+		long version = entity.version;
+
+		assertThat(repository.update(null, Collections.singletonMap("someValue", "updated"), true), is(1));
+
+		PrimitiveVersionProperty reloaded = repository.findOne(entity.id);
+
+		assertThat(reloaded.someValue, is("updated"));
+		assertThat(reloaded.version, is(version + 1));
+	}
+
+	@Test
+	public void cachesCountsUntilRepositoryModifiesEntities() {
+
+		QueryResultCache cache = new QueryResultCache(10, 1, TimeUnit.MINUTES);
+
+		SimpleJpaRepository<User, Integer> userRepository = new SimpleJpaRepository<User, Integer>(User.class, em);
+		userRepository.setCountCache(cache);
+
+		assertThat(userRepository.count(), is(0L));
+		assertThat(userRepository.count(), is(0L));
+		assertThat(cache.getHitCount(), is(1L));
+
+		userRepository.save(new User("Dave", "Matthews", "dave@dmband.com"));
+		userRepository.flush();
+
+		assertThat(userRepository.count(), is(1L));
+		assertThat(cache.getMissCount(), is(2L));
+	}
+
+	@Test
+	@Transactional(readOnly = true)
+	public void servesEntitiesLookedUpByIdFromEntityCache() {
+
+		Role role = new Role("USER");
+		em.persist(role);
+		em.flush();
+
+		QueryResultCache cache = new QueryResultCache(10, 1, TimeUnit.MINUTES);
+
+		SimpleJpaRepository<Role, Integer> roleRepository = new SimpleJpaRepository<Role, Integer>(Role.class, em);
+		roleRepository.setEntityCache(cache);
+
+		assertThat(roleRepository.findOne(role.getId()), is(role));
+
+		Role cached = roleRepository.findOne(role.getId());
+
+		assertThat(cached, is(not(role)));
+		assertThat(cached.getId(), is(role.getId()));
+		assertThat(cached.getName(), is("USER"));
+		assertThat(roleRepository.exists(role.getId()), is(true));
+		assertThat(roleRepository.findAll(Arrays.asList(role.getId())).get(0).getName(), is("USER"));
+		assertThat(cache.getHitCount(), is(3L));
+	}
+
+	@Test
+	@Transactional(readOnly = true)
+	public void keepsEntitiesCachedByIdWhenSavingNewEntities() {
+
+		Role role = new Role("USER");
+		em.persist(role);
+		em.flush();
+
+		QueryResultCache cache = new QueryResultCache(10, 1, TimeUnit.MINUTES);
+
+		SimpleJpaRepository<Role, Integer> roleRepository = new SimpleJpaRepository<Role, Integer>(Role.class, em);
+		roleRepository.setEntityCache(cache);
+
+		roleRepository.findOne(role.getId());
+		roleRepository.save(new Role("ADMIN"));
+		roleRepository.findOne(role.getId());
+
+		assertThat(cache.getHitCount(), is(1L));
+	}
+
+	@Test
+	@Transactional(readOnly = true)
+	public void servesResultsOfCachedQueryMethodsAsDetachedCopies() {
+
+		em.persist(new Role("USER"));
+		em.flush();
+
+		CachedRoleRepository roleRepository = new JpaRepositoryFactory(em).getRepository(CachedRoleRepository.class);
+
+		Role role = roleRepository.findByName("USER").get(0);
+		Role cached = roleRepository.findByName("USER").get(0);
+
+		assertThat(em.contains(role), is(false));
+		assertThat(em.contains(cached), is(false));
+		assertThat(cached, is(not(role)));
+		assertThat(cached.getName(), is("USER"));
+	}
+
+	@Test
+	@Transactional(readOnly = true)
+	public void invalidatesResultsOfCachedQueryMethodsOnWritesThroughRepositoriesCreatedBefore() {
+
+		QueryResultCache queryCache = new QueryResultCache(1, 1, TimeUnit.MINUTES);
+
+		JpaRepositoryFactory plainFactory = new JpaRepositoryFactory(em);
+		plainFactory.setQueryCache(queryCache);
+		JpaRepositoryFactory cachedFactory = new JpaRepositoryFactory(em);
+		cachedFactory.setQueryCache(queryCache);
+
+		PlainRoleRepository plainRepository = plainFactory.getRepository(PlainRoleRepository.class);
+		CachedRoleRepository cachedRepository = cachedFactory.getRepository(CachedRoleRepository.class);
+
+		assertThat(cachedRepository.findByName("ADMIN").size(), is(0));
+
+		plainRepository.save(new Role("ADMIN"));
+		em.flush();
+
+		assertThat(cachedRepository.findByName("ADMIN").size(), is(1));
+	}
+
 	private static interface SampleEntityRepository extends JpaRepository<SampleEntity, SampleEntityPK> {
 
 	}
 
+	private static interface CachedRoleRepository extends CrudRepository<Role, Integer> {
+
+		@CachedQuery
+		List<Role> findByName(String name);
+	}
+
+	private static interface PlainRoleRepository extends CrudRepository<Role, Integer> {
+
+	}
+
 	private static interface SampleWithIdClassRepository extends CrudRepository<PersistableWithIdClass, PersistableWithIdClassPK> {
 
 	}
@@ -16,8 +16,13 @@
 package org.springframework.data.jpa.repository.support;
 
 import static java.util.Collections.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
+import java.util.Arrays;
+import java.util.List;
+
 import javax.persistence.EntityGraph;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
@@ -27,10 +32,16 @@ import javax.persistence.criteria.CriteriaQuery;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.KeysetPageRequest;
 import org.springframework.data.jpa.domain.sample.User;
 import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.query.JpaEntityGraph;
@@ -74,16 +85,37 @@ public class SimpleJpaRepositoryUnitTests {
 		repo.setRepositoryMethodMetadata(metadata);
 	}
 
-	/**
-	 * @see DATAJPA-124
-	 */
 	@Test
-	public void doesNotActuallyRetrieveObjectsForPageableOutOfRange() {
+	public void doesNotExecuteCountQueryIfFirstPageIsNotFull() {
+
+		when(query.getResultList()).thenReturn(Arrays.asList(new User(), new User()));
+
+		Page<User> page = repo.findAll(new PageRequest(0, 10));
+
+		assertThat(page.getTotalElements(), is(2L));
+		verify(countQuery, times(0)).getResultList();
+	}
+
+	@Test
+	public void executesCountQueryWithinExecutionIfTotalCannotBeDerived() {
+
+		when(query.getResultList()).thenReturn(Arrays.asList(new User(), new User()));
+		when(countQuery.getResultList()).thenReturn(Arrays.asList(20L));
+
+		Page<User> page = repo.findAll(new PageRequest(0, 2));
+
+		verify(countQuery, times(1)).getResultList();
 
-		when(countQuery.getSingleResult()).thenReturn(20L);
-		repo.findAll(new PageRequest(2, 10));
+		assertThat(page.getTotalElements(), is(20L));
+		assertThat(page.getTotalPages(), is(10));
+		assertThat(page.equals(page), is(true));
 
-		verify(query, times(0)).getResultList();
+		verify(countQuery, times(1)).getResultList();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsKeysetPageRequestForPages() {
+		repo.findAll((Pageable) new KeysetPageRequest(10, new Sort("firstname")));
 	}
 
 	/**
@@ -111,4 +143,35 @@ public class SimpleJpaRepositoryUnitTests {
 
 		verify(em).find(User.class, id, singletonMap(EntityGraphType.LOAD.getKey(), (Object) entityGraph));
 	}
+
+	@Test
+	public void flushesAndClearsEntityManagerAfterEachChunkWhenSavingInBatch() {
+
+		User first = new User();
+		User second = new User();
+		User third = new User();
+
+		when(information.isNew(Mockito.any(User.class))).thenReturn(true);
+		when(information.getId(first)).thenReturn(1L);
+		when(information.getId(second)).thenReturn(2L);
+		when(information.getId(third)).thenReturn(3L);
+
+		List<Integer> ids = repo.saveInBatch(Arrays.asList(first, second, third), 2);
+
+		assertThat(ids, hasSize(3));
+
+		InOrder inOrder = inOrder(em);
+		inOrder.verify(em).persist(first);
+		inOrder.verify(em).persist(second);
+		inOrder.verify(em).flush();
+		inOrder.verify(em).clear();
+		inOrder.verify(em).persist(third);
+		inOrder.verify(em).flush();
+		inOrder.verify(em).clear();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsInvalidBatchSize() {
+		repo.saveInBatch(Arrays.asList(new User()), 0);
+	}
 }
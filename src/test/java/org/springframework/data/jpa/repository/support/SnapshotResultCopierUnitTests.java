@@ -0,0 +1,85 @@
+/*
+ * Copyright 2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import javax.persistence.metamodel.Metamodel;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/**
+ * Unit tests for {@link SnapshotResultCopier}.
+ * 
+ * @author agent
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SnapshotResultCopierUnitTests {
+
+	@Mock Metamodel metamodel;
+
+	SnapshotResultCopier copier;
+
+	@Before
+	public void setUp() {
+
+		when(metamodel.entity(any(Class.class))).thenThrow(new IllegalArgumentException());
+		this.copier = new SnapshotResultCopier(metamodel);
+	}
+
+	@Test
+	public void copiesCollectionsOfScalarValues() {
+
+		Date date = new Date();
+		List<?> result = Arrays.asList("value", 1L, new Object[] { date, new byte[] { 1 } });
+
+		assertThat(copier.supports(result), is(true));
+
+		List<?> copy = (List<?>) copier.copy(result);
+		Object[] row = (Object[]) copy.get(2);
+
+		assertThat(copy, is(not(sameInstance((Object) result))));
+		assertThat(copy.get(0), is((Object) "value"));
+		assertThat(row[0], is((Object) date));
+		assertThat(row[0], is(not(sameInstance((Object) date))));
+		assertThat(((byte[]) row[1])[0], is((byte) 1));
+	}
+
+	@Test
+	public void rejectsResultsContainingUnknownTypes() {
+
+		assertThat(copier.supports(new Object()), is(false));
+		assertThat(copier.supports(Arrays.asList("value", new Object())), is(false));
+	}
+
+	@Test
+	public void supportsNullResult() {
+
+		assertThat(copier.supports(null), is(true));
+		assertThat(copier.copy(null), is(nullValue()));
+	}
+}